@@ -0,0 +1,502 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency;
+
+import javax.inject.Inject;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.maven.RepositoryUtils;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Extension;
+import org.apache.maven.model.InputLocation;
+import org.apache.maven.model.InputSource;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.ReportPlugin;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.plugins.dependency.utils.DeleteUtil;
+import org.apache.maven.plugins.dependency.utils.LocalRepositoryUtil;
+import org.apache.maven.plugins.dependency.utils.LocalRepositoryUtil.VersionDirectory;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.utils.logging.MessageUtils;
+import org.eclipse.aether.AbstractRepositoryListener;
+import org.eclipse.aether.DefaultRepositoryCache;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositoryEvent;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.ArtifactTypeRegistry;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.DependencyCollectionException;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.repository.LocalRepositoryManager;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.util.graph.visitor.PreorderNodeListGenerator;
+import org.eclipse.aether.util.listener.ChainedRepositoryListener;
+import org.eclipse.aether.util.repository.SimpleArtifactDescriptorPolicy;
+
+/**
+ * Deletes the least recently used versions from the local repository until it fits in a size budget. Unlike the
+ * <a href="purge-local-repository-mojo.html">purge-local-repository</a> goal, which deletes the dependencies of the
+ * project, it considers every version directory of the local repository, such as
+ * <code>org/example/foo/1.0</code>, and ranks them by the latest access or modification time of their files. The
+ * versions used by the projects of the reactor are never deleted: their dependencies, parents, imported
+ * dependency management POMs, build extensions, and build and report plugins with their transitive dependencies, as
+ * well as the parents and imported POMs of all these dependencies. The dependencies are only collected, offline, not
+ * downloaded. With a split local repository, both the installed and the downloaded copies of a version are kept.
+ * <p>
+ * The local repository is scanned and the versions are deleted concurrently. With <code>dryRun</code>, the versions
+ * which would be deleted are only listed.
+ *
+ * @since 3.8.2
+ */
+@Mojo(
+        name = "gc-local-repository",
+        aggregator = true,
+        requiresProject = false,
+        requiresDependencyCollection = ResolutionScope.TEST,
+        threadSafe = true)
+public class GcLocalRepositoryMojo extends AbstractMojo {
+
+    private final MavenSession session;
+
+    private final RepositorySystem repositorySystem;
+
+    /**
+     * The Maven projects in the reactor, whose versions are kept.
+     */
+    @Parameter(defaultValue = "${reactorProjects}", readonly = true, required = true)
+    private List<MavenProject> reactorProjects;
+
+    /**
+     * The artifacts of this plugin, which are kept.
+     */
+    @Parameter(defaultValue = "${plugin.artifacts}", readonly = true, required = true)
+    private List<Artifact> pluginArtifacts;
+
+    /**
+     * The size budget of the local repository, in bytes, optionally followed by a binary unit: <code>k</code>,
+     * <code>M</code>, <code>G</code> or <code>T</code>, such as <code>40G</code>. Only the version directories are
+     * counted.
+     */
+    @Parameter(property = "mdep.gc.maxSize", required = true)
+    private String maxSize;
+
+    /**
+     * Whether to only list the versions which would be deleted, without deleting them.
+     */
+    @Parameter(property = "mdep.gc.dryRun", defaultValue = "false")
+    private boolean dryRun;
+
+    /**
+     * Number of threads used to scan the local repository and to delete the versions. A value of <code>0</code> or
+     * less uses the number of available processors.
+     */
+    @Parameter(property = "mdep.gc.threads", defaultValue = "0")
+    private int threads;
+
+    /**
+     * Whether to list every deleted version.
+     */
+    @Parameter(property = "verbose", defaultValue = "false")
+    private boolean verbose;
+
+    /**
+     * Skip plugin execution completely.
+     */
+    @Parameter(property = "skip", defaultValue = "false")
+    private boolean skip;
+
+    @Inject
+    public GcLocalRepositoryMojo(MavenSession session, RepositorySystem repositorySystem) {
+        this.session = session;
+        this.repositorySystem = repositorySystem;
+    }
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (skip) {
+            getLog().info("Skipping plugin execution");
+            return;
+        }
+
+        long budget;
+        try {
+            budget = LocalRepositoryUtil.parseSize(maxSize);
+        } catch (IllegalArgumentException e) {
+            throw new MojoFailureException(e.getMessage(), e);
+        }
+
+        LocalRepositoryManager manager = session.getRepositorySession().getLocalRepositoryManager();
+        File basedir = manager.getRepository().getBasedir();
+        List<VersionDirectory> versions;
+        try {
+            versions = LocalRepositoryUtil.scan(basedir, threads, getLog());
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to scan local repository " + basedir, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while scanning local repository " + basedir, e);
+        }
+
+        long size = 0;
+        for (VersionDirectory version : versions) {
+            size += version.getSize();
+        }
+        getLog().info(MessageUtils.buffer()
+                .a("Local repository ")
+                .strong(basedir)
+                .a(" holds ")
+                .strong(versions.size())
+                .a(" versions using ")
+                .strong(DeleteUtil.formatSize(size))
+                .a(", budget ")
+                .strong(DeleteUtil.formatSize(budget))
+                .build());
+        if (size <= budget) {
+            getLog().info("Nothing to delete");
+            return;
+        }
+
+        Set<Path> protectedPaths = getProtectedPaths(manager, basedir);
+        List<VersionDirectory> evictions = LocalRepositoryUtil.selectEvictions(versions, budget, protectedPaths);
+        long evicted = 0;
+        List<File> targets = new ArrayList<>(evictions.size());
+        for (VersionDirectory eviction : evictions) {
+            evicted += eviction.getSize();
+            targets.add(eviction.getPath().toFile());
+            String message = basedir.toPath().relativize(eviction.getPath()) + " ("
+                    + DeleteUtil.formatSize(eviction.getSize()) + ", last used "
+                    + Instant.ofEpochMilli(eviction.getLastUsed()) + ")";
+            if (dryRun) {
+                getLog().info("Would delete " + message);
+            } else if (verbose || getLog().isDebugEnabled()) {
+                getLog().info("Deleting " + message);
+            }
+        }
+
+        if (size - evicted > budget) {
+            getLog().warn("The versions used by the reactor exceed the budget, " + DeleteUtil.formatSize(size - evicted)
+                    + " are kept");
+        }
+        if (dryRun) {
+            getLog().info(MessageUtils.buffer()
+                    .a("Dry run: deleting ")
+                    .strong(evictions.size())
+                    .a(" least recently used versions would free ")
+                    .strong(DeleteUtil.formatSize(evicted))
+                    .build());
+            return;
+        }
+
+        DeleteUtil.Result result;
+        try {
+            result = DeleteUtil.delete(targets, threads);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while deleting from local repository " + basedir, e);
+        }
+        for (File failure : result.getFailures()) {
+            getLog().warn("Unable to delete local repository location: " + failure);
+        }
+        getLog().info(MessageUtils.buffer()
+                .a("Deleted ")
+                .strong(evictions.size())
+                .a(" least recently used versions, freed ")
+                .strong(DeleteUtil.formatSize(result.getBytes()))
+                .a(" in ")
+                .strong(result.getFiles())
+                .a(result.getFiles() != 1 ? " files" : " file")
+                .build());
+    }
+
+    /**
+     * @return the version directories of the projects of the reactor, of their dependencies, parents, imported POMs,
+     *         extensions and plugins, and of this plugin
+     */
+    private Set<Path> getProtectedPaths(LocalRepositoryManager manager, File basedir) {
+        ProtectedPaths paths = new ProtectedPaths(manager, basedir, getRemoteRepositories());
+        for (MavenProject reactorProject : reactorProjects) {
+            paths.add(reactorProject.getArtifact());
+            for (Artifact artifact : reactorProject.getArtifacts()) {
+                paths.add(artifact);
+            }
+            for (MavenProject parent = reactorProject.getParent(); parent != null; parent = parent.getParent()) {
+                paths.add(parent.getGroupId(), parent.getArtifactId(), parent.getVersion());
+            }
+            addImportedPaths(paths, reactorProject);
+            for (Extension extension : reactorProject.getBuildExtensions()) {
+                paths.add(extension.getGroupId(), extension.getArtifactId(), extension.getVersion());
+            }
+            for (Plugin plugin : reactorProject.getBuildPlugins()) {
+                paths.add(plugin.getGroupId(), plugin.getArtifactId(), plugin.getVersion());
+                for (Dependency dependency : plugin.getDependencies()) {
+                    paths.add(dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersion());
+                }
+            }
+            for (ReportPlugin plugin : reactorProject.getReportPlugins()) {
+                paths.add(plugin.getGroupId(), plugin.getArtifactId(), plugin.getVersion());
+            }
+        }
+        for (Artifact artifact : pluginArtifacts) {
+            paths.add(artifact);
+        }
+        addCollectedPaths(paths);
+        return paths.getPaths();
+    }
+
+    /**
+     * @return the remote repositories of the projects of the reactor, whose artifacts may be stored apart from the
+     *         installed ones by the local repository manager
+     */
+    private List<RemoteRepository> getRemoteRepositories() {
+        Set<RemoteRepository> repositories = new LinkedHashSet<>();
+        for (MavenProject reactorProject : reactorProjects) {
+            if (reactorProject.getRemoteProjectRepositories() != null) {
+                repositories.addAll(reactorProject.getRemoteProjectRepositories());
+            }
+            if (reactorProject.getRemotePluginRepositories() != null) {
+                repositories.addAll(reactorProject.getRemotePluginRepositories());
+            }
+        }
+        return new ArrayList<>(repositories);
+    }
+
+    /**
+     * Adds the POMs imported in the dependency management of a project. The effective model no longer holds the
+     * <code>import</code> dependencies, but its managed dependencies record the POM they were read from, which also
+     * covers the POMs imported by imported POMs and their parents. The <code>import</code> dependencies of the
+     * original model with a literal version are added too, in case the locations were not tracked.
+     */
+    private void addImportedPaths(ProtectedPaths paths, MavenProject reactorProject) {
+        DependencyManagement management = reactorProject.getDependencyManagement();
+        if (management != null) {
+            for (Dependency dependency : management.getDependencies()) {
+                InputLocation location = dependency.getLocation("");
+                InputSource source = location != null ? location.getSource() : null;
+                String[] modelId = source != null && source.getModelId() != null
+                        ? source.getModelId().split(":")
+                        : new String[0];
+                if (modelId.length == 3) {
+                    paths.add(modelId[0], modelId[1], modelId[2]);
+                }
+            }
+        }
+        Model originalModel = reactorProject.getOriginalModel();
+        if (originalModel != null && originalModel.getDependencyManagement() != null) {
+            for (Dependency dependency : originalModel.getDependencyManagement().getDependencies()) {
+                if ("import".equals(dependency.getScope())
+                        && dependency.getVersion() != null
+                        && !dependency.getVersion().contains("${")) {
+                    paths.add(dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersion());
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects again the dependencies of the projects, and the transitive dependencies of their extensions and
+     * plugins, adding the nodes of the graphs and every POM read meanwhile: the parents and the imported POMs of the
+     * dependencies are only seen while their descriptors are read. The collection does not use the descriptors cached
+     * by the build, is offline as only the POMs of the local repository matter, and ignores missing or invalid
+     * descriptors.
+     */
+    private void addCollectedPaths(ProtectedPaths paths) {
+        RepositorySystemSession repositorySession = session.getRepositorySession();
+        DefaultRepositorySystemSession collectSession = new DefaultRepositorySystemSession(repositorySession);
+        collectSession.setCache(new DefaultRepositoryCache());
+        collectSession.setOffline(true);
+        collectSession.setArtifactDescriptorPolicy(new SimpleArtifactDescriptorPolicy(true, true));
+        collectSession.setRepositoryListener(ChainedRepositoryListener.newInstance(
+                repositorySession.getRepositoryListener(), new AbstractRepositoryListener() {
+                    @Override
+                    public void artifactResolved(RepositoryEvent event) {
+                        paths.add(event.getFile());
+                    }
+                }));
+
+        for (CollectRequest request : getCollectRequests(repositorySession.getArtifactTypeRegistry())) {
+            DependencyNode root;
+            try {
+                root = repositorySystem
+                        .collectDependencies(collectSession, request)
+                        .getRoot();
+            } catch (DependencyCollectionException e) {
+                getLog().debug("Unable to collect every dependency: " + e.getMessage());
+                root = e.getResult().getRoot();
+            }
+            if (root != null) {
+                PreorderNodeListGenerator nodes = new PreorderNodeListGenerator();
+                root.accept(nodes);
+                for (DependencyNode node : nodes.getNodes()) {
+                    org.eclipse.aether.artifact.Artifact artifact = node.getArtifact();
+                    if (artifact != null) {
+                        paths.add(artifact.getGroupId(), artifact.getArtifactId(), artifact.getBaseVersion());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the requests collecting the dependencies of the projects of the reactor, and of their extensions and
+     *         plugins
+     */
+    private List<CollectRequest> getCollectRequests(ArtifactTypeRegistry types) {
+        List<CollectRequest> requests = new ArrayList<>();
+        for (MavenProject reactorProject : reactorProjects) {
+            CollectRequest request = new CollectRequest();
+            request.setRootArtifact(RepositoryUtils.toArtifact(reactorProject.getArtifact()));
+            request.setRequestContext("project");
+            request.setRepositories(reactorProject.getRemoteProjectRepositories());
+            for (Dependency dependency : reactorProject.getDependencies()) {
+                request.addDependency(RepositoryUtils.toDependency(dependency, types));
+            }
+            DependencyManagement management = reactorProject.getDependencyManagement();
+            if (management != null) {
+                for (Dependency dependency : management.getDependencies()) {
+                    request.addManagedDependency(RepositoryUtils.toDependency(dependency, types));
+                }
+            }
+            requests.add(request);
+
+            List<RemoteRepository> pluginRepositories = reactorProject.getRemotePluginRepositories();
+            for (Extension extension : reactorProject.getBuildExtensions()) {
+                addPluginRequest(
+                        requests,
+                        extension.getGroupId(),
+                        extension.getArtifactId(),
+                        extension.getVersion(),
+                        Collections.emptyList(),
+                        pluginRepositories);
+            }
+            for (Plugin plugin : reactorProject.getBuildPlugins()) {
+                List<org.eclipse.aether.graph.Dependency> dependencies = new ArrayList<>();
+                for (Dependency dependency : plugin.getDependencies()) {
+                    dependencies.add(RepositoryUtils.toDependency(dependency, types));
+                }
+                addPluginRequest(
+                        requests,
+                        plugin.getGroupId(),
+                        plugin.getArtifactId(),
+                        plugin.getVersion(),
+                        dependencies,
+                        pluginRepositories);
+            }
+            for (ReportPlugin plugin : reactorProject.getReportPlugins()) {
+                addPluginRequest(
+                        requests,
+                        plugin.getGroupId(),
+                        plugin.getArtifactId(),
+                        plugin.getVersion(),
+                        Collections.emptyList(),
+                        pluginRepositories);
+            }
+        }
+        return requests;
+    }
+
+    private static void addPluginRequest(
+            List<CollectRequest> requests,
+            String groupId,
+            String artifactId,
+            String version,
+            List<org.eclipse.aether.graph.Dependency> dependencies,
+            List<RemoteRepository> repositories) {
+        if (groupId == null || artifactId == null || version == null || version.isEmpty()) {
+            return;
+        }
+        org.eclipse.aether.graph.Dependency root =
+                new org.eclipse.aether.graph.Dependency(new DefaultArtifact(groupId, artifactId, "jar", version), null);
+        CollectRequest request = new CollectRequest(root, dependencies, repositories);
+        request.setRequestContext("plugin");
+        requests.add(request);
+    }
+
+    /**
+     * The version directories to keep, found with the paths of the installed artifacts and of the artifacts
+     * downloaded from each remote repository, which a split local repository stores apart. Paths may be added
+     * concurrently by the repository listener.
+     */
+    private static final class ProtectedPaths {
+
+        private final LocalRepositoryManager manager;
+
+        private final File basedir;
+
+        private final List<RemoteRepository> repositories;
+
+        private final Set<Path> paths = ConcurrentHashMap.newKeySet();
+
+        ProtectedPaths(LocalRepositoryManager manager, File basedir, List<RemoteRepository> repositories) {
+            this.manager = manager;
+            this.basedir = basedir;
+            this.repositories = repositories;
+        }
+
+        void add(Artifact artifact) {
+            if (artifact != null) {
+                add(artifact.getGroupId(), artifact.getArtifactId(), artifact.getBaseVersion());
+            }
+        }
+
+        void add(String groupId, String artifactId, String version) {
+            if (groupId == null || artifactId == null || version == null || version.isEmpty()) {
+                return;
+            }
+            DefaultArtifact pom = new DefaultArtifact(groupId, artifactId, "pom", version);
+            add(new File(basedir, manager.getPathForLocalArtifact(pom)));
+            for (RemoteRepository repository : repositories) {
+                add(new File(basedir, manager.getPathForRemoteArtifact(pom, repository, "")));
+            }
+        }
+
+        /**
+         * @param file a file of the local repository, or <code>null</code>
+         */
+        void add(File file) {
+            if (file != null) {
+                paths.add(file.toPath().toAbsolutePath().normalize().getParent());
+            }
+        }
+
+        Set<Path> getPaths() {
+            return paths;
+        }
+    }
+}
@@ -22,16 +22,21 @@ import javax.inject.Inject;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.Enumeration;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
+import java.util.concurrent.ExecutionException;
 
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.dependency.utils.ClassesUtil;
+import org.apache.maven.plugins.dependency.utils.ParallelUtil;
 import org.apache.maven.plugins.dependency.utils.ParamArtifact;
 import org.apache.maven.plugins.dependency.utils.ResolverUtil;
 import org.eclipse.aether.artifact.Artifact;
@@ -46,6 +51,12 @@ import org.eclipse.aether.resolution.DependencyResolutionException;
 @Mojo(name = "list-classes", requiresProject = false, threadSafe = true)
 public class ListClassesMojo extends AbstractMojo {
 
+    private static final String CLASSES = "classes";
+
+    private static final String PACKAGES = "packages";
+
+    private static final String SUMMARY = "summary";
+
     private final ResolverUtil resolverUtil;
 
     private ParamArtifact paramArtifact = new ParamArtifact();
@@ -134,6 +145,33 @@ public class ListClassesMojo extends AbstractMojo {
     @Parameter(property = "transitive", defaultValue = "false")
     private boolean transitive = false;
 
+    /**
+     * If specified, the listing is written to this file instead of the console.
+     *
+     * @since 3.8.2
+     */
+    @Parameter(property = "outputFile")
+    private File outputFile;
+
+    /**
+     * What is listed for every artifact: <code>classes</code> (default) lists the name of every class,
+     * <code>packages</code> the distinct packages of these classes, and <code>summary</code> a single line with the
+     * number of classes and packages.
+     *
+     * @since 3.8.2
+     */
+    @Parameter(property = "mdep.outputMode", defaultValue = "classes")
+    private String outputMode = "classes";
+
+    /**
+     * Number of artifacts scanned concurrently. A value of <code>0</code> or less uses the number of available
+     * processors. The listing keeps the order of the artifacts whatever this value.
+     *
+     * @since 3.8.2
+     */
+    @Parameter(property = "mdep.scanThreads", defaultValue = "0")
+    private int scanThreads;
+
     /**
      * Skip plugin execution completely.
      *
@@ -155,45 +193,72 @@ public class ListClassesMojo extends AbstractMojo {
                     + "-DgroupId=org.apache.maven.plugins -DartifactId=maven-downloader-plugin -Dversion=1.0");
         }
 
+        if (!CLASSES.equals(outputMode) && !PACKAGES.equals(outputMode) && !SUMMARY.equals(outputMode)) {
+            throw new MojoExecutionException("Unknown outputMode '" + outputMode + "', expected one of " + CLASSES
+                    + ", " + PACKAGES + " or " + SUMMARY);
+        }
+
         Artifact artifact = resolverUtil.createArtifactFromParams(paramArtifact);
 
         try {
+            List<Artifact> artifacts;
             if (transitive) {
-                List<Artifact> artifacts =
+                artifacts =
                         resolverUtil.resolveDependencies(artifact, resolverUtil.remoteRepositories(remoteRepositories));
+            } else {
+                artifacts = Collections.singletonList(
+                        resolverUtil.resolveArtifact(artifact, resolverUtil.remoteRepositories(remoteRepositories)));
+            }
 
-                for (Artifact a : artifacts) {
-                    printClassesFromArtifactResult(a.getFile());
+            if (outputFile != null) {
+                Files.createDirectories(
+                        outputFile.getAbsoluteFile().getParentFile().toPath());
+                try (Writer writer = Files.newBufferedWriter(outputFile.toPath(), StandardCharsets.UTF_8)) {
+                    listArtifacts(artifacts, listing -> {
+                        for (String line : listing) {
+                            writer.write(line);
+                            writer.write(System.lineSeparator());
+                        }
+                    });
                 }
+                getLog().info("Wrote classes to: " + outputFile);
             } else {
-                Artifact a =
-                        resolverUtil.resolveArtifact(artifact, resolverUtil.remoteRepositories(remoteRepositories));
-                printClassesFromArtifactResult(a.getFile());
+                listArtifacts(artifacts, listing -> listing.forEach(getLog()::info));
             }
         } catch (IOException | ArtifactResolutionException | DependencyResolutionException e) {
             throw new MojoExecutionException("Couldn't download artifact: " + e.getMessage(), e);
         }
     }
 
-    private void printClassesFromArtifactResult(File file) throws IOException {
-        // open jar file in try-with-resources statement to guarantee the file closes after use regardless of errors
-        try (JarFile jarFile = new JarFile(file)) {
-            Enumeration<JarEntry> entries = jarFile.entries();
-
-            while (entries.hasMoreElements()) {
-                JarEntry entry = entries.nextElement();
-                String entryName = entry.getName();
-
-                // filter out files that do not end in .class
-                if (!entryName.endsWith(".class")) {
-                    continue;
-                }
-
-                // remove .class from the end and change format to use periods instead of forward slashes
-                String className =
-                        entryName.substring(0, entryName.length() - 6).replace('/', '.');
-                getLog().info(className);
+    /**
+     * Scans the artifacts on a pool of {@link #scanThreads} workers, handing the lines listed for every artifact to
+     * {@code output} in the order of the artifacts, as soon as they are available.
+     */
+    private void listArtifacts(List<Artifact> artifacts, ParallelUtil.ResultHandler<List<String>> output)
+            throws IOException, MojoExecutionException {
+        try {
+            ParallelUtil.apply(artifacts, scanThreads, "list-classes", this::listArtifact, output);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
             }
+            throw new MojoExecutionException(e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while listing classes", e);
+        }
+    }
+
+    private List<String> listArtifact(Artifact artifact) throws IOException {
+        List<String> classNames = ClassesUtil.getClassNames(artifact.getFile());
+        switch (outputMode) {
+            case PACKAGES:
+                return new ArrayList<>(ClassesUtil.getPackageNames(classNames));
+            case SUMMARY:
+                return Collections.singletonList(artifact + ": " + classNames.size() + " classes in "
+                        + ClassesUtil.getPackageNames(classNames).size() + " packages");
+            default:
+                return classNames;
         }
     }
 }
@@ -21,7 +21,6 @@ package org.apache.maven.plugins.dependency;
 import javax.inject.Inject;
 
 import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
@@ -29,6 +28,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
+import org.apache.maven.RepositoryUtils;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.ArtifactUtils;
 import org.apache.maven.artifact.handler.manager.ArtifactHandlerManager;
@@ -44,6 +44,8 @@ import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.dependency.utils.DeleteUtil;
+import org.apache.maven.plugins.dependency.utils.ResolverUtil;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.shared.artifact.filter.resolve.AbstractFilter;
 import org.apache.maven.shared.artifact.filter.resolve.AndFilter;
@@ -54,7 +56,6 @@ import org.apache.maven.shared.artifact.filter.resolve.ScopeFilter;
 import org.apache.maven.shared.artifact.filter.resolve.TransformableFilter;
 import org.apache.maven.shared.artifact.filter.resolve.transform.ArtifactIncludeFilterTransformer;
 import org.apache.maven.shared.transfer.artifact.DefaultArtifactCoordinate;
-import org.apache.maven.shared.transfer.artifact.TransferUtils;
 import org.apache.maven.shared.transfer.artifact.resolve.ArtifactResolver;
 import org.apache.maven.shared.transfer.artifact.resolve.ArtifactResolverException;
 import org.apache.maven.shared.transfer.artifact.resolve.ArtifactResult;
@@ -62,7 +63,8 @@ import org.apache.maven.shared.transfer.dependencies.resolve.DependencyResolver;
 import org.apache.maven.shared.transfer.dependencies.resolve.DependencyResolverException;
 import org.apache.maven.shared.utils.logging.MessageBuilder;
 import org.apache.maven.shared.utils.logging.MessageUtils;
-import org.codehaus.plexus.util.FileUtils;
+import org.eclipse.aether.util.artifact.ArtifactIdUtils;
+import org.eclipse.aether.util.artifact.SubArtifact;
 
 /**
  * When run on a project, remove the project dependencies from the local repository, and optionally re-resolve them.
@@ -98,10 +100,15 @@ public class PurgeLocalRepositoryMojo extends AbstractMojo {
     private final DependencyResolver dependencyResolver;
 
     /**
-     * The artifact resolver used to re-resolve dependencies, if that option is enabled.
+     * The artifact resolver used to resolve the direct dependencies when the dependency tree cannot be resolved.
      */
     private final ArtifactResolver artifactResolver;
 
+    /**
+     * The resolver utility used to re-resolve dependencies, if that option is enabled.
+     */
+    private final ResolverUtil resolverUtil;
+
     /**
      * The Maven projects in the reactor.
      */
@@ -220,18 +227,29 @@ public class PurgeLocalRepositoryMojo extends AbstractMojo {
     @Parameter(property = "skip", defaultValue = "false")
     private boolean skip;
 
+    /**
+     * Number of threads used to delete the files from the local repository. A value of <code>0</code> or less uses the
+     * number of available processors, <code>1</code> deletes the files one after the other.
+     *
+     * @since 3.8.2
+     */
+    @Parameter(property = "mdep.purgeThreads", defaultValue = "0")
+    private int purgeThreads;
+
     @Inject
     public PurgeLocalRepositoryMojo(
             MavenProject project,
             MavenSession session,
             ArtifactHandlerManager artifactHandlerManager,
             DependencyResolver dependencyResolver,
-            ArtifactResolver artifactResolver) {
+            ArtifactResolver artifactResolver,
+            ResolverUtil resolverUtil) {
         this.session = session;
         this.project = project;
         this.artifactHandlerManager = artifactHandlerManager;
         this.dependencyResolver = dependencyResolver;
         this.artifactResolver = artifactResolver;
+        this.resolverUtil = resolverUtil;
     }
 
     /**
@@ -342,10 +360,11 @@ public class PurgeLocalRepositoryMojo extends AbstractMojo {
      *
      * @param theProject Maven project.
      * @param purgedArtifacts The artifacts that were already purged.
+     * @throws MojoExecutionException if interrupted during the purge.
      * @throws MojoFailureException in case of errors during the purge.
      */
     private void purgeLocalRepository(MavenProject theProject, Set<Artifact> purgedArtifacts)
-            throws MojoFailureException {
+            throws MojoExecutionException, MojoFailureException {
         List<Dependency> dependencies = theProject.getDependencies();
 
         TransformableFilter dependencyFilter = createPurgeArtifactsFilter(theProject, dependencies, purgedArtifacts);
@@ -390,6 +409,7 @@ public class PurgeLocalRepositoryMojo extends AbstractMojo {
                 .strong(localRepository.getBasedir())
                 .build());
 
+        List<File> purgeDirs = new ArrayList<>();
         for (String gavPattern : theIncludes) {
             if (gavPattern == null || gavPattern.isEmpty()) {
                 getLog().debug("Skipping empty gav pattern");
@@ -405,15 +425,17 @@ public class PurgeLocalRepositoryMojo extends AbstractMojo {
             File purgeDir = new File(localRepository.getBasedir(), relativePath);
             if (purgeDir.exists()) {
                 getLog().debug("Deleting directory: " + purgeDir);
-                try {
-                    FileUtils.deleteDirectory(purgeDir);
-                } catch (IOException e) {
-                    throw new MojoExecutionException("Unable to purge directory: " + purgeDir);
-                }
+                purgeDirs.add(purgeDir);
             } else {
                 getLog().debug("Directory: " + purgeDir + " doesn't exist");
             }
         }
+
+        DeleteUtil.Result result = delete(purgeDirs);
+        if (!result.getFailures().isEmpty()) {
+            throw new MojoExecutionException(
+                    "Unable to purge directory: " + result.getFailures().get(0));
+        }
     }
 
     /**
@@ -563,7 +585,7 @@ public class PurgeLocalRepositoryMojo extends AbstractMojo {
         return resolvedArtifacts;
     }
 
-    private void purgeArtifacts(MavenProject theProject, Set<Artifact> artifacts) {
+    private void purgeArtifacts(MavenProject theProject, Set<Artifact> artifacts) throws MojoExecutionException {
         MessageBuilder messageBuilder = MessageUtils.buffer();
 
         getLog().info(messageBuilder
@@ -581,6 +603,7 @@ public class PurgeLocalRepositoryMojo extends AbstractMojo {
                 .a(" resolution fuzziness")
                 .build());
 
+        List<File> deleteTargets = new ArrayList<>(artifacts.size());
         for (Artifact artifact : artifacts) {
             verbose("Purging artifact: " + artifact.getId());
 
@@ -588,46 +611,77 @@ public class PurgeLocalRepositoryMojo extends AbstractMojo {
 
             verbose("Deleting: " + deleteTarget);
 
-            if (deleteTarget.isDirectory()) {
-                try {
-                    FileUtils.deleteDirectory(deleteTarget);
-                } catch (IOException e) {
-                    getLog().warn("Unable to purge local repository location: " + deleteTarget, e);
-                }
+            deleteTargets.add(deleteTarget);
+            artifact.setResolved(false);
+        }
+
+        for (File failure : delete(deleteTargets).getFailures()) {
+            if (failure.isFile()) {
+                failure.deleteOnExit();
+                getLog().warn("Unable to purge local repository location immediately: " + failure);
             } else {
-                if (!deleteTarget.delete()) {
-                    deleteTarget.deleteOnExit();
-                    getLog().warn("Unable to purge local repository location immediately: " + deleteTarget);
-                }
+                getLog().warn("Unable to purge local repository location: " + failure);
             }
-            artifact.setResolved(false);
         }
     }
 
-    private void reResolveArtifacts(MavenProject theProject, Set<Artifact> artifacts)
-            throws ArtifactResolutionException {
+    /**
+     * Deletes files and directories of the local repository, concurrently, and reports what was freed.
+     *
+     * @param targets the files or directories to delete, possibly nested
+     * @return what was deleted, and what could not be
+     * @throws MojoExecutionException if interrupted
+     */
+    private DeleteUtil.Result delete(List<File> targets) throws MojoExecutionException {
+        DeleteUtil.Result result;
+        try {
+            result = DeleteUtil.delete(targets, purgeThreads);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while purging the local repository", e);
+        }
+        getLog().info(MessageUtils.buffer()
+                .a("Freed ")
+                .strong(DeleteUtil.formatSize(result.getBytes()))
+                .a(" in ")
+                .strong(result.getFiles())
+                .a(result.getFiles() != 1 ? " files" : " file")
+                .build());
+        return result;
+    }
+
+    void reResolveArtifacts(MavenProject theProject, Set<Artifact> artifacts) throws ArtifactResolutionException {
         // Always need to re-resolve the poms in case they were purged along with the artifact
-        // because Maven 2 will not automatically re-resolve them when resolving the artifact
+        // because Maven 2 will not automatically re-resolve them when resolving the artifact.
+        // All are requested in one batch, so that the repository system downloads them concurrently.
+        List<org.eclipse.aether.artifact.Artifact> requests = new ArrayList<>(artifacts.size() * 2);
         for (Artifact artifact : artifacts) {
             verbose("Resolving artifact: " + artifact.getId());
 
-            try {
-                // CHECKSTYLE_OFF: LineLength
-                artifactResolver.resolveArtifact(
-                        session.getProjectBuildingRequest(), TransferUtils.toArtifactCoordinate(artifact));
-                // CHECKSTYLE_ON: LineLength
-            } catch (ArtifactResolverException e) {
-                verbose(e.getMessage());
+            org.eclipse.aether.artifact.Artifact aArtifact =
+                    RepositoryUtils.toArtifact(artifact).setFile(null);
+            if (!"pom".equals(aArtifact.getExtension())) {
+                requests.add(new SubArtifact(aArtifact, null, "pom"));
             }
+            requests.add(aArtifact);
         }
 
-        List<Artifact> missingArtifacts = new ArrayList<>();
+        List<org.eclipse.aether.resolution.ArtifactResult> results =
+                resolverUtil.resolveArtifacts(requests, theProject.getRemoteProjectRepositories());
+
+        Set<String> unresolved = new HashSet<>();
+        for (org.eclipse.aether.resolution.ArtifactResult result : results) {
+            if (!result.isResolved()) {
+                for (Exception exception : result.getExceptions()) {
+                    verbose(exception.getMessage());
+                }
+                unresolved.add(ArtifactIdUtils.toId(result.getRequest().getArtifact()));
+            }
+        }
 
+        List<Artifact> missingArtifacts = new ArrayList<>();
         for (Artifact artifact : artifacts) {
-            try {
-                artifactResolver.resolveArtifact(session.getProjectBuildingRequest(), artifact);
-            } catch (ArtifactResolverException e) {
-                verbose(e.getMessage());
+            if (unresolved.contains(ArtifactIdUtils.toId(RepositoryUtils.toArtifact(artifact)))) {
                 missingArtifacts.add(artifact);
             }
         }
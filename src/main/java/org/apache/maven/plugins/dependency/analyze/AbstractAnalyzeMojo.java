@@ -19,15 +19,20 @@
 package org.apache.maven.plugins.dependency.analyze;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
@@ -35,11 +40,12 @@ import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.dependency.utils.ClassesCache;
+import org.apache.maven.plugins.dependency.utils.ParallelUtil;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.shared.artifact.filter.StrictPatternExcludesArtifactFilter;
 import org.apache.maven.shared.dependency.analyzer.ProjectDependencyAnalysis;
 import org.apache.maven.shared.dependency.analyzer.ProjectDependencyAnalyzer;
-import org.apache.maven.shared.dependency.analyzer.ProjectDependencyAnalyzerException;
 import org.codehaus.plexus.PlexusContainer;
 import org.codehaus.plexus.component.repository.exception.ComponentLookupException;
 import org.codehaus.plexus.util.xml.PrettyPrintXMLWriter;
@@ -59,6 +65,11 @@ public abstract class AbstractAnalyzeMojo extends AbstractMojo {
      * <a href="/shared/maven-dependency-analyzer/">maven-dependency-analyzer</a> is used. To use this, you must declare
      * a dependency for this plugin that contains the code for the analyzer. The analyzer must have a declared Plexus
      * role name, and you specify the role name here.
+     * <p>
+     * The <code>constant-pool</code> analyzer, bundled with this plugin, finds the classes used by the project from the
+     * constant pool of its class files only, which is faster than the default analyzer and finds the same classes for
+     * the class files produced by <code>javac</code>. It only differs on descriptors which are not referenced anymore
+     * and on string annotation values looking like descriptors, which it takes as uses.
      *
      * @since 2.2
      */
@@ -257,6 +268,35 @@ public abstract class AbstractAnalyzeMojo extends AbstractMojo {
     @Parameter(property = "mdep.analyze.excludedClasses")
     private Set<String> excludedClasses;
 
+    /**
+     * The file caching the classes of the released dependency jars, by path, size and timestamp, so that they are not
+     * scanned again by later builds. SNAPSHOT jars and class directories are always scanned. Only used by the
+     * <code>default</code> and <code>constant-pool</code> analyzers.
+     * <p>
+     * Not set by default, as reading the central directory of a jar is cheap and the file keeps the classes of every
+     * released jar analyzed until the jar is deleted: the classes are then only cached in memory during the
+     * execution, so that the jars shared by the projects of an aggregated analysis are read once. It can be shared by several projects and concurrent builds, for
+     * instance <code>${settings.localRepository}/.cache/maven-dependency-plugin/analyze-classes.cache</code>: the
+     * entries of each build are merged into the file under a file lock.
+     * </p>
+     *
+     * @since 3.8.2
+     */
+    @Parameter(property = "mdep.analyze.classesCache")
+    private File classesCache;
+
+    /**
+     * The file caching the classes used by each class file of the project, by path and checksum, so that only the
+     * class files changed since the previous build are parsed. Only used by the <code>default</code> and
+     * <code>constant-pool</code> analyzers.
+     *
+     * @since 3.8.2
+     */
+    @Parameter(
+            property = "mdep.analyze.usagesCache",
+            defaultValue = "${project.build.directory}/dependency-usages.cache")
+    private File usagesCache;
+
     /**
      * The plexusContainer to look up the {@link ProjectDependencyAnalyzer} implementation depending on the mojo
      * configuration.
@@ -285,23 +325,71 @@ public abstract class AbstractAnalyzeMojo extends AbstractMojo {
             return;
         }
 
-        if (ignoredPackagings.contains(project.getPackaging())) {
-            getLog().info("Skipping " + project.getPackaging() + " project");
+        List<MavenProject> projects = new ArrayList<>();
+        for (MavenProject theProject : getProjects()) {
+            File buildDirectory = theProject == project
+                    ? outputDirectory
+                    : new File(theProject.getBuild().getDirectory());
+            if (ignoredPackagings.contains(theProject.getPackaging())) {
+                getLog().info("Skipping " + theProject.getPackaging() + " project");
+            } else if (buildDirectory == null || !buildDirectory.exists()) {
+                getLog().info("Skipping project with no build directory");
+            } else {
+                projects.add(theProject);
+            }
+        }
+        if (projects.isEmpty()) {
             return;
         }
 
-        if (outputDirectory == null || !outputDirectory.exists()) {
-            getLog().info("Skipping project with no build directory");
-            return;
+        List<ProjectDependencyAnalysis> analyses = analyze(projects);
+
+        List<MavenProject> warnings = new ArrayList<>();
+        for (int i = 0; i < projects.size(); i++) {
+            MavenProject theProject = projects.get(i);
+            if (projects.size() > 1) {
+                getLog().info("Dependencies of " + theProject.getId() + ":");
+            }
+            if (checkDependencies(theProject, analyses.get(i))) {
+                warnings.add(theProject);
+            }
         }
 
-        boolean warning = checkDependencies();
+        if (projects.size() > 1) {
+            if (warnings.isEmpty()) {
+                getLog().info("No dependency problems found in " + projects.size() + " projects");
+            } else {
+                logDependencyWarning(
+                        "Dependency problems found in " + warnings.size() + " of " + projects.size() + " projects:");
+                for (MavenProject theProject : warnings) {
+                    logDependencyWarning("   " + theProject.getId());
+                }
+            }
+        }
 
-        if (warning && failOnWarning) {
+        if (!warnings.isEmpty() && failOnWarning) {
             throw new MojoExecutionException("Dependency problems found");
         }
     }
 
+    /**
+     * @return the projects to analyze, the current project by default
+     * @since 3.8.2
+     */
+    protected List<MavenProject> getProjects() {
+        return Collections.singletonList(project);
+    }
+
+    /**
+     * @return the number of projects analyzed concurrently, see {@link ParallelUtil#getThreadCount(int)}; only used
+     *         with the <code>default</code> and <code>constant-pool</code> analyzers, whose caches are shared by the
+     *         analyses
+     * @since 3.8.2
+     */
+    protected int getAnalyzeThreads() {
+        return 1;
+    }
+
     /**
      * @return {@link ProjectDependencyAnalyzer}
      * @throws MojoExecutionException in case of an error.
@@ -309,6 +397,11 @@ public abstract class AbstractAnalyzeMojo extends AbstractMojo {
     protected ProjectDependencyAnalyzer createProjectDependencyAnalyzer() throws MojoExecutionException {
 
         try {
+            // without cache files, the classes of the jars are still cached in memory
+            if ("default".equals(analyzer)) {
+                return plexusContainer.lookup(
+                        ProjectDependencyAnalyzer.class, CachingProjectDependencyAnalyzer.ROLE_HINT);
+            }
             return plexusContainer.lookup(ProjectDependencyAnalyzer.class, analyzer);
         } catch (ComponentLookupException exception) {
             throw new MojoExecutionException(
@@ -325,18 +418,95 @@ public abstract class AbstractAnalyzeMojo extends AbstractMojo {
 
     // private methods --------------------------------------------------------
 
-    private boolean checkDependencies() throws MojoExecutionException {
-        ProjectDependencyAnalysis analysis;
+    private List<ProjectDependencyAnalysis> analyze(List<MavenProject> projects) throws MojoExecutionException {
+        List<ProjectDependencyAnalyzer> analyzers = new ArrayList<>(projects.size());
+        for (int i = 0; i < projects.size(); i++) {
+            analyzers.add(createProjectDependencyAnalyzer());
+        }
+
+        // the analyzers of all projects share the caches of the jars, each project has its own class usages cache
+        ClassesCache cache = null;
+        List<ClassUsagesCache> usages = new ArrayList<>(Collections.nCopies(projects.size(), null));
+        boolean caching = analyzers.get(0) instanceof CachingProjectDependencyAnalyzer;
+        if (caching) {
+            cache = loadClassesCache();
+            Map<String, Collection<String>> snapshotClasses = new ConcurrentHashMap<>();
+            for (int i = 0; i < projects.size(); i++) {
+                CachingProjectDependencyAnalyzer cachingAnalyzer = (CachingProjectDependencyAnalyzer) analyzers.get(i);
+                cachingAnalyzer.setClassesCache(cache);
+                cachingAnalyzer.setSnapshotClasses(snapshotClasses);
+                usages.set(
+                        i,
+                        loadClassUsagesCache(
+                                getUsagesCacheFile(projects.get(i)), cachingAnalyzer.getClassFileParser()));
+                cachingAnalyzer.setClassUsagesCache(usages.get(i));
+                // the class files are parsed concurrently unless the projects are analyzed concurrently
+                cachingAnalyzer.setParseThreads(projects.size() > 1 && getAnalyzeThreads() != 1 ? 1 : 0);
+            }
+        }
+
+        List<Integer> indexes = new ArrayList<>(projects.size());
+        for (int i = 0; i < projects.size(); i++) {
+            indexes.add(i);
+        }
+        int threads = caching ? getAnalyzeThreads() : 1;
+        List<ProjectDependencyAnalysis> analyses;
         try {
-            analysis = createProjectDependencyAnalyzer().analyze(project, excludedClasses);
+            if (caching && projects.size() > 1) {
+                readDependencyJars(projects, (CachingProjectDependencyAnalyzer) analyzers.get(0), threads);
+            }
+            analyses = ParallelUtil.apply(indexes, threads, "analyze", i -> {
+                ProjectDependencyAnalysis analysis = analyzers.get(i).analyze(projects.get(i), excludedClasses);
+                if (usedDependencies != null) {
+                    analysis = analysis.forceDeclaredDependenciesUsage(usedDependencies);
+                }
+                return analysis;
+            });
+        } catch (ExecutionException e) {
+            throw new MojoExecutionException("Cannot analyze dependencies", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while analyzing dependencies", e);
+        }
+
+        if (cache != null) {
+            saveClassesCache(cache);
+        }
+        for (int i = 0; i < projects.size(); i++) {
+            if (usages.get(i) != null) {
+                saveClassUsagesCache(usages.get(i), getUsagesCacheFile(projects.get(i)));
+            }
+        }
+        return analyses;
+    }
 
-            if (usedDependencies != null) {
-                analysis = analysis.forceDeclaredDependenciesUsage(usedDependencies);
+    /**
+     * Reads every distinct dependency jar of the projects once, concurrently, before the projects are analyzed with
+     * the jars read from the caches.
+     */
+    private void readDependencyJars(List<MavenProject> projects, CachingProjectDependencyAnalyzer analyzer, int threads)
+            throws ExecutionException, InterruptedException {
+        Map<String, Artifact> jars = new LinkedHashMap<>();
+        for (MavenProject theProject : projects) {
+            for (Artifact artifact : theProject.getArtifacts()) {
+                File file = artifact.getFile();
+                if (file != null && file.getName().endsWith(".jar")) {
+                    jars.putIfAbsent(file.getAbsolutePath(), artifact);
+                }
             }
-        } catch (ProjectDependencyAnalyzerException exception) {
-            throw new MojoExecutionException("Cannot analyze dependencies", exception);
         }
+        ParallelUtil.apply(jars.values(), threads, "scan", analyzer::getClassNames);
+        getLog().debug("Read " + jars.size() + " distinct dependency jars of " + projects.size() + " projects");
+    }
 
+    private File getUsagesCacheFile(MavenProject theProject) {
+        if (usagesCache == null || theProject == project) {
+            return usagesCache;
+        }
+        return new File(theProject.getBuild().getDirectory(), usagesCache.getName());
+    }
+
+    private boolean checkDependencies(MavenProject theProject, ProjectDependencyAnalysis analysis) {
         if (ignoreNonCompile) {
             analysis = analysis.ignoreNonCompile();
         }
@@ -433,7 +603,7 @@ public abstract class AbstractAnalyzeMojo extends AbstractMojo {
         }
 
         if (scriptableOutput) {
-            writeScriptableOutput(usedUndeclaredWithClasses.keySet());
+            writeScriptableOutput(theProject, usedUndeclaredWithClasses.keySet());
         }
 
         if (!reported) {
@@ -443,6 +613,56 @@ public abstract class AbstractAnalyzeMojo extends AbstractMojo {
         return warning;
     }
 
+    private ClassesCache loadClassesCache() {
+        ClassesCache cache = new ClassesCache(classesCache);
+        if (classesCache == null) {
+            return cache;
+        }
+        try {
+            cache.load();
+        } catch (IOException e) {
+            getLog().warn("Ignoring unreadable classes cache " + classesCache + ": " + e.getMessage());
+        }
+        return cache;
+    }
+
+    private ClassUsagesCache loadClassUsagesCache(File cacheFile, ClassFileParser parser) {
+        if (cacheFile == null) {
+            return null;
+        }
+        ClassUsagesCache usages = new ClassUsagesCache(cacheFile, parser);
+        try {
+            usages.load();
+        } catch (IOException e) {
+            getLog().warn("Ignoring unreadable class usages cache " + cacheFile + ": " + e.getMessage());
+        }
+        return usages;
+    }
+
+    private void saveClassesCache(ClassesCache cache) {
+        if (classesCache == null) {
+            getLog().debug("Scanned " + cache.getScanned() + " released dependencies");
+            return;
+        }
+        getLog().debug("Scanned " + cache.getScanned() + " released dependencies, the others were read from "
+                + classesCache);
+        try {
+            cache.save();
+        } catch (IOException e) {
+            getLog().warn("Unable to write classes cache " + classesCache + ": " + e.getMessage());
+        }
+    }
+
+    private void saveClassUsagesCache(ClassUsagesCache usages, File cacheFile) {
+        getLog().debug("Parsed " + usages.getScanned() + " changed class files, the others were read from "
+                + cacheFile);
+        try {
+            usages.save();
+        } catch (IOException e) {
+            getLog().warn("Unable to write class usages cache " + cacheFile + ": " + e.getMessage());
+        }
+    }
+
     private void filterArtifactsByScope(Set<Artifact> artifacts, String scope) {
         artifacts.removeIf(artifact -> artifact.getScope().equals(scope));
     }
@@ -532,10 +752,11 @@ public abstract class AbstractAnalyzeMojo extends AbstractMojo {
         }
     }
 
-    private void writeScriptableOutput(Set<Artifact> artifacts) {
+    private void writeScriptableOutput(MavenProject theProject, Set<Artifact> artifacts) {
         if (!artifacts.isEmpty()) {
             getLog().info("Missing dependencies: ");
-            String pomFile = baseDir.getAbsolutePath() + File.separatorChar + "pom.xml";
+            File projectDirectory = theProject == project ? baseDir : theProject.getBasedir();
+            String pomFile = projectDirectory.getAbsolutePath() + File.separatorChar + "pom.xml";
             StringBuilder buf = new StringBuilder();
 
             for (Artifact artifact : artifacts) {
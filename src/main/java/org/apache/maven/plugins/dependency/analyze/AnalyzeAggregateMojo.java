@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.analyze;
+
+import javax.inject.Inject;
+
+import java.util.List;
+
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.PlexusContainer;
+
+/**
+ * Analyzes the dependencies of all the projects of the reactor, in a single execution, and reports the problems of
+ * each project followed by the list of projects with problems. Like the <code>dependency:analyze-only</code> goal, it
+ * assumes that the <code>test-compile</code> phase has been executed for every project, i.e. it is meant to be run as
+ * <code>mvn verify dependency:analyze-aggregate</code>.
+ * <p>
+ * With the default analyzer, every distinct dependency jar of the reactor is read once, and the projects are then
+ * analyzed concurrently. Each project has its own class usages cache, named as <code>usagesCache</code>, in its build
+ * directory. It supports the same parameters as the <a href="analyze-only-mojo.html">analyze-only</a> goal, which
+ * apply to every project.
+ *
+ * @since 3.8.2
+ */
+@Mojo(
+        name = "analyze-aggregate",
+        aggregator = true,
+        requiresDependencyResolution = ResolutionScope.TEST,
+        threadSafe = true)
+public class AnalyzeAggregateMojo extends AbstractAnalyzeMojo {
+
+    /**
+     * The Maven projects in the reactor.
+     */
+    @Parameter(defaultValue = "${reactorProjects}", readonly = true, required = true)
+    private List<MavenProject> reactorProjects;
+
+    /**
+     * Number of projects analyzed concurrently, and of jars read concurrently before. A value of <code>0</code> or
+     * less uses the number of available processors.
+     *
+     * @since 3.8.2
+     */
+    @Parameter(property = "mdep.analyzeThreads", defaultValue = "0")
+    private int analyzeThreads;
+
+    @Inject
+    public AnalyzeAggregateMojo(PlexusContainer plexusContainer, MavenProject project) {
+        super(plexusContainer, project);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected List<MavenProject> getProjects() {
+        return reactorProjects;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int getAnalyzeThreads() {
+        return analyzeThreads;
+    }
+}
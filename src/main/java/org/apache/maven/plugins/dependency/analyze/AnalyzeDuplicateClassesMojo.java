@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.analyze;
+
+import javax.inject.Inject;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.resolver.filter.ScopeArtifactFilter;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.plugins.dependency.utils.ClassesCache;
+import org.apache.maven.plugins.dependency.utils.ClassesUtil;
+import org.apache.maven.plugins.dependency.utils.ParallelUtil;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Analyzes the classes of the dependencies of this project and determines the classes provided by more than one
+ * dependency, and the packages split across several dependencies. Classes with the same name but a different content
+ * are reported as conflicting, as the one loaded depends on the order of the classpath.
+ * <p>
+ * The classes of every jar are kept in a cache, so that only new or changed jars are scanned again.
+ *
+ * @since 3.8.2
+ */
+@Mojo(name = "analyze-duplicate-classes", requiresDependencyResolution = ResolutionScope.TEST, threadSafe = true)
+public class AnalyzeDuplicateClassesMojo extends AbstractMojo {
+
+    private static final String VERSIONED_CLASS_PREFIX = "META-INF.versions.";
+
+    private static final String MODULE_INFO = "module-info";
+
+    /**
+     * Skip plugin execution completely.
+     *
+     * @since 3.8.2
+     */
+    @Parameter(property = "mdep.analyze.skip", defaultValue = "false")
+    private boolean skip;
+
+    /**
+     * The scope of the classpath to analyze, i.e. <code>compile</code> or <code>runtime</code>. The default,
+     * <code>test</code>, includes the dependencies of all scopes.
+     *
+     * @since 3.8.2
+     */
+    @Parameter(property = "mdep.analyze.scope", defaultValue = "test")
+    private String scope;
+
+    /**
+     * Fail the build if conflicting classes or split packages are found.
+     *
+     * @since 3.8.2
+     */
+    @Parameter(property = "failOnWarning", defaultValue = "false")
+    private boolean failOnWarning;
+
+    /**
+     * Number of jars scanned concurrently. A value of <code>0</code> or less uses the number of available processors.
+     *
+     * @since 3.8.2
+     */
+    @Parameter(property = "mdep.scanThreads", defaultValue = "0")
+    private int scanThreads;
+
+    /**
+     * The file caching the classes of the scanned jars, by path, size and timestamp, so that they are not scanned
+     * again by later builds.
+     * <p>
+     * Not set by default, as reading the central directory of a jar is cheap and the file keeps the classes of every
+     * jar scanned until the jar is deleted. It can be shared by several projects and concurrent builds, for instance
+     * <code>${settings.localRepository}/.cache/maven-dependency-plugin/dependency-classes.cache</code>: the entries of
+     * each build are merged into the file under a file lock.
+     * </p>
+     *
+     * @since 3.8.2
+     */
+    @Parameter(property = "mdep.classesCache")
+    private File classesCache;
+
+    /**
+     * The Maven project to analyze.
+     */
+    private final MavenProject project;
+
+    @Inject
+    public AnalyzeDuplicateClassesMojo(MavenProject project) {
+        this.project = project;
+    }
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (skip) {
+            getLog().info("Skipping plugin execution");
+            return;
+        }
+
+        List<Artifact> artifacts = new ArrayList<>();
+        ScopeArtifactFilter scopeFilter = new ScopeArtifactFilter(scope);
+        for (Artifact artifact : project.getArtifacts()) {
+            if (scopeFilter.include(artifact)
+                    && artifact.getFile() != null
+                    && artifact.getFile().isFile()) {
+                artifacts.add(artifact);
+            }
+        }
+
+        ClassesCache cache = new ClassesCache(classesCache);
+        try {
+            cache.load();
+        } catch (IOException e) {
+            getLog().warn("Ignoring unreadable classes cache " + classesCache + ": " + e.getMessage());
+        }
+
+        List<Map<String, Long>> classes;
+        try {
+            classes = ParallelUtil.apply(
+                    artifacts, scanThreads, "scan", artifact -> cache.getClassChecksums(artifact.getFile()));
+        } catch (ExecutionException e) {
+            throw new MojoExecutionException(
+                    "Unable to scan dependencies: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while scanning dependencies", e);
+        }
+        if (classesCache != null) {
+            getLog().debug("Scanned " + cache.getScanned() + " of " + artifacts.size()
+                    + " dependencies, the others were read from " + classesCache);
+            try {
+                cache.save();
+            } catch (IOException e) {
+                getLog().warn("Unable to write classes cache " + classesCache + ": " + e.getMessage());
+            }
+        }
+
+        // class name -> artifact index -> checksum, and package name -> artifact indexes
+        Map<String, Map<Integer, Long>> classIndex = new TreeMap<>();
+        Map<String, Set<Integer>> packageIndex = new TreeMap<>();
+        for (int i = 0; i < artifacts.size(); i++) {
+            for (Map.Entry<String, Long> clazz : classes.get(i).entrySet()) {
+                String className = clazz.getKey();
+                // versioned classes of multi-release jars are alternatives of the base ones
+                if (className.startsWith(VERSIONED_CLASS_PREFIX) || className.equals(MODULE_INFO)) {
+                    continue;
+                }
+                classIndex.computeIfAbsent(className, k -> new TreeMap<>()).put(i, clazz.getValue());
+                String packageName = ClassesUtil.getPackageName(className);
+                if (!packageName.isEmpty()) {
+                    packageIndex
+                            .computeIfAbsent(packageName, k -> new TreeSet<>())
+                            .add(i);
+                }
+            }
+        }
+
+        // the duplicate classes grouped by the artifacts providing them
+        Map<String, Set<String>> conflicting = new TreeMap<>();
+        Map<String, Set<String>> identical = new TreeMap<>();
+        for (Map.Entry<String, Map<Integer, Long>> clazz : classIndex.entrySet()) {
+            Map<Integer, Long> providers = clazz.getValue();
+            if (providers.size() > 1) {
+                String artifactIds = getArtifactIds(artifacts, providers.keySet());
+                boolean same = new LinkedHashSet<>(providers.values()).size() == 1;
+                (same ? identical : conflicting)
+                        .computeIfAbsent(artifactIds, k -> new TreeSet<>())
+                        .add(clazz.getKey());
+            }
+        }
+
+        Map<String, String> splitPackages = new TreeMap<>();
+        for (Map.Entry<String, Set<Integer>> pkg : packageIndex.entrySet()) {
+            if (pkg.getValue().size() > 1) {
+                splitPackages.put(pkg.getKey(), getArtifactIds(artifacts, pkg.getValue()));
+            }
+        }
+
+        boolean warning = !conflicting.isEmpty() || !splitPackages.isEmpty();
+        if (!conflicting.isEmpty()) {
+            getLog().warn("Conflicting classes found in several dependencies:");
+            for (Map.Entry<String, Set<String>> group : conflicting.entrySet()) {
+                getLog().warn("   " + group.getKey());
+                for (String className : group.getValue()) {
+                    getLog().warn("      " + className);
+                }
+            }
+        }
+        if (!identical.isEmpty()) {
+            getLog().info("Identical classes found in several dependencies:");
+            for (Map.Entry<String, Set<String>> group : identical.entrySet()) {
+                getLog().info("   " + group.getValue().size() + " classes in " + group.getKey());
+                for (String className : group.getValue()) {
+                    getLog().debug("      " + className);
+                }
+            }
+        }
+        if (!splitPackages.isEmpty()) {
+            getLog().warn("Split packages found in several dependencies:");
+            for (Map.Entry<String, String> pkg : splitPackages.entrySet()) {
+                getLog().warn("   " + pkg.getKey() + ": " + pkg.getValue());
+            }
+        }
+        if (!warning && identical.isEmpty()) {
+            getLog().info("No duplicate classes or split packages found");
+        }
+
+        if (warning && failOnWarning) {
+            throw new MojoExecutionException("Conflicting classes or split packages found");
+        }
+    }
+
+    /**
+     * @return the ids of the artifacts, in classpath order
+     */
+    private static String getArtifactIds(List<Artifact> artifacts, Set<Integer> indexes) {
+        List<String> ids = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            ids.add(artifacts.get(index).getId());
+        }
+        return String.join(", ", ids);
+    }
+}
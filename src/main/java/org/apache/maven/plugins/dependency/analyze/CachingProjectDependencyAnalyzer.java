@@ -0,0 +1,279 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.analyze;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.plugins.dependency.utils.ClassesCache;
+import org.apache.maven.plugins.dependency.utils.ClassesUtil;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.dependency.analyzer.ClassAnalyzer;
+import org.apache.maven.shared.dependency.analyzer.ClassesPatterns;
+import org.apache.maven.shared.dependency.analyzer.DefaultProjectDependencyAnalyzer;
+import org.apache.maven.shared.dependency.analyzer.DependencyUsage;
+import org.apache.maven.shared.dependency.analyzer.ProjectDependencyAnalysis;
+import org.apache.maven.shared.dependency.analyzer.ProjectDependencyAnalyzerException;
+
+/**
+ * The default project dependency analyzer, reading the classes of released jars from a {@link ClassesCache} rather
+ * than scanning them on every build. SNAPSHOT jars and class directories, whose content changes from one build to the
+ * next, are always scanned. The classes used by the project are read from a {@link ClassUsagesCache}, which only
+ * parses the class files changed since the previous build, concurrently. Without caches, it behaves exactly as the
+ * default analyzer.
+ * <p>
+ * A new instance is created on each lookup, as its caches are set by the mojo.
+ *
+ * @since 3.8.2
+ */
+@Named(CachingProjectDependencyAnalyzer.ROLE_HINT)
+class CachingProjectDependencyAnalyzer extends DefaultProjectDependencyAnalyzer {
+
+    static final String ROLE_HINT = "cached";
+
+    private static final String JAR_SUFFIX = ".jar";
+
+    private final ClassAnalyzer classAnalyzer;
+
+    private ClassesCache classesCache;
+
+    private ClassUsagesCache classUsagesCache;
+
+    private Map<String, Collection<String>> snapshotClasses;
+
+    private int parseThreads = 1;
+
+    @Inject
+    CachingProjectDependencyAnalyzer(ClassAnalyzer classAnalyzer) {
+        this.classAnalyzer = classAnalyzer;
+    }
+
+    /**
+     * @param classesCache the cache of the classes of released jars, or null to scan every jar
+     */
+    void setClassesCache(ClassesCache classesCache) {
+        this.classesCache = classesCache;
+    }
+
+    /**
+     * @param snapshotClasses the classes of the SNAPSHOT jars read during this build, by path, shared by the analyzers
+     *            of several projects so that a jar is only read once, or null to read SNAPSHOT jars for every project
+     */
+    void setSnapshotClasses(Map<String, Collection<String>> snapshotClasses) {
+        this.snapshotClasses = snapshotClasses;
+    }
+
+    /**
+     * @param classUsagesCache the cache of the classes used by the project, or null to parse every class file
+     */
+    void setClassUsagesCache(ClassUsagesCache classUsagesCache) {
+        this.classUsagesCache = classUsagesCache;
+    }
+
+    /**
+     * @param parseThreads the number of threads parsing the class files of the project, see
+     *            {@link org.apache.maven.plugins.dependency.utils.ParallelUtil#getThreadCount(int)}
+     */
+    void setParseThreads(int parseThreads) {
+        this.parseThreads = parseThreads;
+    }
+
+    /**
+     * @return the parser finding the classes used by the class files of the project
+     */
+    ClassFileParser getClassFileParser() {
+        return VisitorClassFileParser.INSTANCE;
+    }
+
+    /**
+     * Same analysis as the default analyzer, reading the classes used by the project from the class usages cache.
+     */
+    @Override
+    public ProjectDependencyAnalysis analyze(MavenProject project, Collection<String> excludedClasses)
+            throws ProjectDependencyAnalyzerException {
+        ClassUsagesCache usagesCache = classUsagesCache;
+        if (usagesCache == null) {
+            if (getClassFileParser() == VisitorClassFileParser.INSTANCE) {
+                return super.analyze(project, excludedClasses);
+            }
+            usagesCache = new ClassUsagesCache(null, getClassFileParser());
+        }
+
+        try {
+            ClassesPatterns excludedClassesPatterns = new ClassesPatterns(excludedClasses);
+            Map<Artifact, Set<String>> artifactClassMap = buildArtifactClassMap(project, excludedClassesPatterns);
+
+            Set<DependencyUsage> mainDependencyClasses = usagesCache.getDependencyUsages(
+                    new File(project.getBuild().getOutputDirectory()), excludedClassesPatterns, parseThreads);
+            Set<DependencyUsage> testDependencyClasses = usagesCache.getDependencyUsages(
+                    new File(project.getBuild().getTestOutputDirectory()), excludedClassesPatterns, parseThreads);
+
+            Set<DependencyUsage> dependencyClasses = new HashSet<>(mainDependencyClasses);
+            dependencyClasses.addAll(testDependencyClasses);
+
+            Set<String> mainClasses = mainDependencyClasses.stream()
+                    .map(DependencyUsage::getDependencyClass)
+                    .collect(Collectors.toSet());
+            Set<DependencyUsage> testOnlyDependencyClasses = new HashSet<>(testDependencyClasses);
+            testOnlyDependencyClasses.removeIf(usage -> mainClasses.contains(usage.getDependencyClass()));
+
+            Map<Artifact, Set<DependencyUsage>> usedArtifacts = buildUsedArtifacts(artifactClassMap, dependencyClasses);
+            Set<Artifact> mainUsedArtifacts =
+                    buildUsedArtifacts(artifactClassMap, mainDependencyClasses).keySet();
+            Set<Artifact> testArtifacts = buildUsedArtifacts(artifactClassMap, testOnlyDependencyClasses)
+                    .keySet();
+            Set<Artifact> testOnlyArtifacts = removeAll(testArtifacts, mainUsedArtifacts);
+
+            Set<Artifact> declaredArtifacts = project.getDependencyArtifacts();
+            if (declaredArtifacts == null) {
+                declaredArtifacts = Collections.emptySet();
+            }
+
+            Set<Artifact> usedDeclaredArtifacts = new LinkedHashSet<>(declaredArtifacts);
+            usedDeclaredArtifacts.retainAll(usedArtifacts.keySet());
+            Map<Artifact, Set<DependencyUsage>> usedDeclaredWithClasses = new LinkedHashMap<>();
+            for (Artifact artifact : usedDeclaredArtifacts) {
+                usedDeclaredWithClasses.put(artifact, usedArtifacts.get(artifact));
+            }
+
+            Map<Artifact, Set<DependencyUsage>> usedUndeclaredWithClasses = new LinkedHashMap<>(usedArtifacts);
+            usedUndeclaredWithClasses.keySet().retainAll(removeAll(usedArtifacts.keySet(), declaredArtifacts));
+
+            Set<Artifact> unusedDeclaredArtifacts = removeAll(declaredArtifacts, usedArtifacts.keySet());
+
+            Set<Artifact> testArtifactsWithNonTestScope = new LinkedHashSet<>();
+            for (Artifact artifact : testOnlyArtifacts) {
+                if (Artifact.SCOPE_COMPILE.equals(artifact.getScope())) {
+                    testArtifactsWithNonTestScope.add(artifact);
+                }
+            }
+
+            return new ProjectDependencyAnalysis(
+                    usedDeclaredWithClasses,
+                    usedUndeclaredWithClasses,
+                    unusedDeclaredArtifacts,
+                    testArtifactsWithNonTestScope);
+        } catch (IOException exception) {
+            throw new ProjectDependencyAnalyzerException("Cannot analyze dependencies", exception);
+        }
+    }
+
+    private static Map<Artifact, Set<DependencyUsage>> buildUsedArtifacts(
+            Map<Artifact, Set<String>> artifactClassMap, Set<DependencyUsage> dependencyClasses) {
+        Map<Artifact, Set<DependencyUsage>> usedArtifacts = new HashMap<>();
+        for (DependencyUsage classUsage : dependencyClasses) {
+            Artifact artifact = findArtifactForClassName(artifactClassMap, classUsage.getDependencyClass());
+            if (artifact != null) {
+                usedArtifacts.computeIfAbsent(artifact, key -> new HashSet<>()).add(classUsage);
+            }
+        }
+        return usedArtifacts;
+    }
+
+    private static Artifact findArtifactForClassName(Map<Artifact, Set<String>> artifactClassMap, String className) {
+        for (Map.Entry<Artifact, Set<String>> entry : artifactClassMap.entrySet()) {
+            if (entry.getValue().contains(className)) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the artifacts of start which have no artifact of remove with the same dependency conflict id
+     */
+    private static Set<Artifact> removeAll(Set<Artifact> start, Set<Artifact> remove) {
+        Set<Artifact> results = new LinkedHashSet<>(start.size());
+        for (Artifact artifact : start) {
+            boolean found = false;
+            for (Artifact artifactToRemove : remove) {
+                if (artifact.getDependencyConflictId().equals(artifactToRemove.getDependencyConflictId())) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                results.add(artifact);
+            }
+        }
+        return results;
+    }
+
+    @Override
+    protected Map<Artifact, Set<String>> buildArtifactClassMap(MavenProject project, ClassesPatterns excludedClasses)
+            throws IOException {
+        if (classesCache == null) {
+            return super.buildArtifactClassMap(project, excludedClasses);
+        }
+
+        // same order and content as the default analyzer, the first artifact containing a class is the one using it
+        Map<Artifact, Set<String>> artifactClassMap = new LinkedHashMap<>();
+        for (Artifact artifact : project.getArtifacts()) {
+            File file = artifact.getFile();
+            if (file != null && file.getName().endsWith(JAR_SUFFIX)) {
+                Set<String> classes = new HashSet<>();
+                for (String className : getClassNames(artifact)) {
+                    if (!excludedClasses.isMatch(className)) {
+                        classes.add(className);
+                    }
+                }
+                artifactClassMap.put(artifact, classes);
+            } else if (file != null && file.isDirectory()) {
+                artifactClassMap.put(
+                        artifact, classAnalyzer.analyze(file.toURI().toURL(), excludedClasses));
+            }
+        }
+        return artifactClassMap;
+    }
+
+    /**
+     * @param artifact an artifact whose file is a jar
+     * @return the names of the classes of the jar, read from the caches if possible
+     * @throws IOException if the jar could not be read
+     */
+    Collection<String> getClassNames(Artifact artifact) throws IOException {
+        File file = artifact.getFile();
+        if (!artifact.isSnapshot()) {
+            return classesCache.getClassChecksums(file).keySet();
+        }
+        if (snapshotClasses == null) {
+            return ClassesUtil.getClassNames(file);
+        }
+        String path = file.getAbsolutePath();
+        Collection<String> classNames = snapshotClasses.get(path);
+        if (classNames == null) {
+            classNames = ClassesUtil.getClassNames(file);
+            snapshotClasses.put(path, classNames);
+        }
+        return classNames;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.analyze;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+
+import org.apache.maven.shared.dependency.analyzer.DependencyUsage;
+
+/**
+ * Finds the classes used by a class file.
+ *
+ * @since 3.8.2
+ */
+interface ClassFileParser {
+
+    /**
+     * @return the identifier of the parser, recorded in the class usages cache so that the usages found by another
+     *         parser are not reused
+     */
+    String getId();
+
+    /**
+     * Parses a class file. This method may be called concurrently.
+     *
+     * @param className the name of the class
+     * @param classFile the content of the class file, from its current position to its limit
+     * @return the classes used by the class, with the class as user
+     * @throws IOException if the class file could not be parsed
+     */
+    Collection<DependencyUsage> parse(String className, ByteBuffer classFile) throws IOException;
+}
@@ -0,0 +1,288 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.analyze;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.maven.plugins.dependency.utils.AtomicFileUtil;
+import org.apache.maven.plugins.dependency.utils.ParallelUtil;
+import org.apache.maven.shared.dependency.analyzer.ClassesPatterns;
+import org.apache.maven.shared.dependency.analyzer.DependencyUsage;
+
+/**
+ * Caches the classes used by each class file of class directories, as found by a {@link ClassFileParser}, in a binary
+ * file. An entry is keyed by the path of the class file and its CRC-32: a class file with the recorded size and
+ * timestamp is trusted without being read, a class file with another timestamp is digested, and only a class file
+ * with another content is parsed again. Entries of class files not visited since the cache was loaded, because they
+ * were removed, are dropped when saving. The entries found by another parser are ignored.
+ * <p>
+ * The class files of a directory are read and parsed concurrently, outside of any lock; large class files are
+ * memory-mapped rather than copied to the heap.
+ *
+ * @since 3.8.2
+ */
+class ClassUsagesCache {
+
+    private static final int MAGIC = 0x4d444355;
+
+    private static final int VERSION = 2;
+
+    private static final String CLASS_SUFFIX = ".class";
+
+    /**
+     * The size from which class files are memory-mapped: mapping a file costs more than reading a few pages.
+     */
+    private static final long MAPPING_THRESHOLD = 64 * 1024;
+
+    private final File cacheFile;
+
+    private final ClassFileParser parser;
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    private final Set<String> visited = new HashSet<>();
+
+    private int scanned;
+
+    private boolean modified;
+
+    /**
+     * @param cacheFile the cache file, which does not need to exist, or null to only cache in memory
+     * @param parser the parser of the class files
+     */
+    ClassUsagesCache(File cacheFile, ClassFileParser parser) {
+        this.cacheFile = cacheFile;
+        this.parser = parser;
+    }
+
+    /**
+     * Reads the cache file, if it exists.
+     *
+     * @throws IOException if the cache file exists but is not a readable cache, the cache is then empty
+     */
+    synchronized void load() throws IOException {
+        entries.clear();
+        visited.clear();
+        if (cacheFile == null || !cacheFile.isFile()) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new GZIPInputStream(Files.newInputStream(cacheFile.toPath()))))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unsupported cache format");
+            }
+            if (!parser.getId().equals(in.readUTF())) {
+                // written by another parser, its entries are replaced
+                modified = true;
+                return;
+            }
+            int entryCount = in.readInt();
+            for (int i = 0; i < entryCount; i++) {
+                String path = in.readUTF();
+                long size = in.readLong();
+                long lastModified = in.readLong();
+                long crc = in.readLong();
+                int usageCount = in.readInt();
+                List<DependencyUsage> usages = new ArrayList<>(usageCount);
+                for (int j = 0; j < usageCount; j++) {
+                    usages.add(new DependencyUsage(in.readUTF(), in.readUTF()));
+                }
+                entries.put(path, new Entry(size, lastModified, crc, usages));
+            }
+        } catch (IOException e) {
+            entries.clear();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the cache file, if a class file was parsed, digested or removed since it was loaded. The file is replaced
+     * atomically.
+     *
+     * @throws IOException if the cache file could not be written
+     */
+    synchronized void save() throws IOException {
+        modified |= entries.keySet().retainAll(visited);
+        if (!modified || cacheFile == null) {
+            return;
+        }
+        AtomicFileUtil.write(cacheFile, stream -> {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(stream)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(parser.getId());
+                out.writeInt(entries.size());
+                for (Map.Entry<String, Entry> pathEntry : entries.entrySet()) {
+                    Entry entry = pathEntry.getValue();
+                    out.writeUTF(pathEntry.getKey());
+                    out.writeLong(entry.size);
+                    out.writeLong(entry.lastModified);
+                    out.writeLong(entry.crc);
+                    out.writeInt(entry.usages.size());
+                    for (DependencyUsage usage : entry.usages) {
+                        out.writeUTF(usage.getDependencyClass());
+                        out.writeUTF(usage.getUsedBy());
+                    }
+                }
+            }
+        });
+        modified = false;
+    }
+
+    /**
+     * @param directory a class directory, which does not need to exist
+     * @param excludedClasses the classes whose usages are ignored
+     * @param threads the number of threads reading the class files, see {@link ParallelUtil#getThreadCount(int)}
+     * @return the classes used by the classes of the directory
+     * @throws IOException if the directory could not be read
+     */
+    Set<DependencyUsage> getDependencyUsages(File directory, ClassesPatterns excludedClasses, int threads)
+            throws IOException {
+        Set<DependencyUsage> usages = new HashSet<>();
+        if (!directory.isDirectory()) {
+            return usages;
+        }
+
+        Path root = directory.toPath();
+        List<Path> classFiles;
+        try (Stream<Path> paths = Files.walk(root)) {
+            classFiles = paths.filter(path -> path.getFileName().toString().endsWith(CLASS_SUFFIX))
+                    .filter(Files::isRegularFile)
+                    .filter(path -> !excludedClasses.isMatch(getClassName(root, path)))
+                    .collect(Collectors.toList());
+        }
+        try {
+            for (List<DependencyUsage> classUsages : ParallelUtil.apply(
+                    classFiles, threads, "parse", path -> getDependencyUsages(path, getClassName(root, path)))) {
+                usages.addAll(classUsages);
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Cannot parse the class files of " + directory, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while parsing the class files of " + directory);
+        }
+        return usages;
+    }
+
+    private static String getClassName(Path root, Path classFile) {
+        String relativePath = root.relativize(classFile).toString();
+        return relativePath
+                .substring(0, relativePath.length() - CLASS_SUFFIX.length())
+                .replace(File.separatorChar, '.');
+    }
+
+    private List<DependencyUsage> getDependencyUsages(Path classFile, String className) throws IOException {
+        String path = classFile.toAbsolutePath().toString();
+        long size = Files.size(classFile);
+        long lastModified = classFile.toFile().lastModified();
+        Entry cached;
+        synchronized (this) {
+            visited.add(path);
+            cached = entries.get(path);
+        }
+        if (cached != null && cached.size == size && cached.lastModified == lastModified) {
+            return cached.usages;
+        }
+
+        ByteBuffer bytes = read(classFile);
+        CRC32 crc = new CRC32();
+        crc.update(bytes.duplicate());
+        Entry entry;
+        if (cached != null && cached.size == bytes.remaining() && cached.crc == crc.getValue()) {
+            entry = new Entry(bytes.remaining(), lastModified, crc.getValue(), cached.usages);
+        } else {
+            entry = new Entry(
+                    bytes.remaining(), lastModified, crc.getValue(), new ArrayList<>(parser.parse(className, bytes)));
+            synchronized (this) {
+                scanned++;
+            }
+        }
+        synchronized (this) {
+            entries.put(path, entry);
+            modified = true;
+        }
+        return entry.usages;
+    }
+
+    private static ByteBuffer read(Path classFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(classFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size >= MAPPING_THRESHOLD) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // read until the end of the file
+            }
+            buffer.flip();
+            return buffer;
+        }
+    }
+
+    /**
+     * @return the number of class files parsed, because they were not in the cache or changed
+     */
+    synchronized int getScanned() {
+        return scanned;
+    }
+
+    private static class Entry {
+        private final long size;
+
+        private final long lastModified;
+
+        private final long crc;
+
+        private final List<DependencyUsage> usages;
+
+        Entry(long size, long lastModified, long crc, List<DependencyUsage> usages) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.crc = crc;
+            this.usages = usages;
+        }
+    }
+}
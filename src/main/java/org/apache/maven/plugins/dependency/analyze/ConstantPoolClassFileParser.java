@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.analyze;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.maven.shared.dependency.analyzer.DependencyUsage;
+
+/**
+ * Finds the classes used by a class file from its constant pool alone, without visiting its fields, methods and
+ * attributes. The used classes are the classes referenced by <code>CONSTANT_Class</code> entries, and the class types
+ * of the descriptors and generic signatures stored as <code>CONSTANT_Utf8</code> entries: fields, methods, invoked
+ * members, method types, annotations and local variables.
+ * <p>
+ * Names containing <code>$</code> are ignored, as done by the default dependency analyzer.
+ *
+ * @since 3.8.2
+ */
+class ConstantPoolClassFileParser implements ClassFileParser {
+
+    static final ConstantPoolClassFileParser INSTANCE = new ConstantPoolClassFileParser();
+
+    private static final int MAGIC = 0xcafebabe;
+
+    private static final byte CONSTANT_UTF8 = 1;
+
+    private static final byte CONSTANT_INTEGER = 3;
+
+    private static final byte CONSTANT_FLOAT = 4;
+
+    private static final byte CONSTANT_LONG = 5;
+
+    private static final byte CONSTANT_DOUBLE = 6;
+
+    private static final byte CONSTANT_CLASS = 7;
+
+    private static final byte CONSTANT_STRING = 8;
+
+    private static final byte CONSTANT_FIELDREF = 9;
+
+    private static final byte CONSTANT_METHODREF = 10;
+
+    private static final byte CONSTANT_INTERFACEMETHODREF = 11;
+
+    private static final byte CONSTANT_NAME_AND_TYPE = 12;
+
+    private static final byte CONSTANT_METHOD_HANDLE = 15;
+
+    private static final byte CONSTANT_METHOD_TYPE = 16;
+
+    private static final byte CONSTANT_DYNAMIC = 17;
+
+    private static final byte CONSTANT_INVOKE_DYNAMIC = 18;
+
+    private static final byte CONSTANT_MODULE = 19;
+
+    private static final byte CONSTANT_PACKAGE = 20;
+
+    @Override
+    public String getId() {
+        return "constant-pool";
+    }
+
+    @Override
+    public Collection<DependencyUsage> parse(String className, ByteBuffer classFile) throws IOException {
+        try {
+            return parseConstantPool(className, classFile.slice().order(ByteOrder.BIG_ENDIAN));
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Truncated class file " + className, e);
+        }
+    }
+
+    private static Collection<DependencyUsage> parseConstantPool(String className, ByteBuffer buffer)
+            throws IOException {
+        if (buffer.remaining() < 10 || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a class file " + className);
+        }
+        buffer.getInt(); // minor and major versions
+        int count = buffer.getChar();
+
+        // offsets of the UTF-8 entries, the names of the classes and the string literals, by constant pool index
+        int[] utf8Offsets = new int[count];
+        boolean[] classNames = new boolean[count];
+        boolean[] strings = new boolean[count];
+        for (int index = 1; index < count; index++) {
+            byte tag = buffer.get();
+            switch (tag) {
+                case CONSTANT_UTF8:
+                    utf8Offsets[index] = buffer.position();
+                    buffer.position(buffer.position() + 2 + buffer.getChar(buffer.position()));
+                    break;
+                case CONSTANT_CLASS:
+                    classNames[buffer.getChar()] = true;
+                    break;
+                case CONSTANT_STRING:
+                    strings[buffer.getChar()] = true;
+                    break;
+                case CONSTANT_METHOD_TYPE:
+                case CONSTANT_MODULE:
+                case CONSTANT_PACKAGE:
+                    buffer.getChar();
+                    break;
+                case CONSTANT_METHOD_HANDLE:
+                    buffer.position(buffer.position() + 3);
+                    break;
+                case CONSTANT_INTEGER:
+                case CONSTANT_FLOAT:
+                case CONSTANT_FIELDREF:
+                case CONSTANT_METHODREF:
+                case CONSTANT_INTERFACEMETHODREF:
+                case CONSTANT_NAME_AND_TYPE:
+                case CONSTANT_DYNAMIC:
+                case CONSTANT_INVOKE_DYNAMIC:
+                    buffer.getInt();
+                    break;
+                case CONSTANT_LONG:
+                case CONSTANT_DOUBLE:
+                    buffer.getLong();
+                    index++;
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag + " in class file " + className);
+            }
+        }
+
+        Set<DependencyUsage> usages = new HashSet<>();
+        for (int index = 1; index < count; index++) {
+            int offset = utf8Offsets[index];
+            if (offset == 0) {
+                continue;
+            }
+            if (classNames[index]) {
+                addClassName(usages, className, decode(buffer, offset));
+            } else if (!strings[index] && containsSemicolon(buffer, offset)) {
+                addDescriptor(usages, className, decode(buffer, offset));
+            }
+        }
+        return usages;
+    }
+
+    /**
+     * @return whether the UTF-8 entry contains a <code>;</code>, as descriptors and signatures referencing classes do
+     *         while names do not, this byte being never part of a multibyte character in modified UTF-8
+     */
+    private static boolean containsSemicolon(ByteBuffer buffer, int offset) {
+        int end = offset + 2 + buffer.getChar(offset);
+        for (int i = offset + 2; i < end; i++) {
+            if (buffer.get(i) == ';') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Decodes a UTF-8 entry, in the modified UTF-8 encoding of class files.
+     */
+    private static String decode(ByteBuffer buffer, int offset) throws IOException {
+        int end = offset + 2 + buffer.getChar(offset);
+        StringBuilder value = new StringBuilder(end - offset);
+        int i = offset + 2;
+        while (i < end) {
+            int b = buffer.get(i++) & 0xff;
+            if (b < 0x80) {
+                value.append((char) b);
+            } else if ((b & 0xe0) == 0xc0) {
+                value.append((char) (((b & 0x1f) << 6) | (buffer.get(i++) & 0x3f)));
+            } else if ((b & 0xf0) == 0xe0) {
+                value.append((char) (((b & 0x0f) << 12) | ((buffer.get(i++) & 0x3f) << 6) | (buffer.get(i++) & 0x3f)));
+            } else {
+                throw new IOException("Malformed UTF-8 constant at offset " + offset);
+            }
+        }
+        return value.toString();
+    }
+
+    /**
+     * Adds the class named by a <code>CONSTANT_Class</code> entry, an internal name or an array descriptor.
+     */
+    private static void addClassName(Set<DependencyUsage> usages, String className, String name) {
+        if (name.charAt(0) == '[') {
+            int i = 1;
+            while (name.charAt(i) == '[') {
+                i++;
+            }
+            if (name.charAt(i) != 'L') {
+                return;
+            }
+            name = name.substring(i + 1, name.length() - 1);
+        }
+        add(usages, className, name);
+    }
+
+    /**
+     * Adds the class types of a field or method descriptor, or of a generic signature. Type variables, formal type
+     * parameter names and the names of inner classes of parameterized types are skipped.
+     */
+    private static void addDescriptor(Set<DependencyUsage> usages, String className, String descriptor) {
+        int length = descriptor.length();
+        int i = 0;
+        while (i < length) {
+            char c = descriptor.charAt(i);
+            if (c == 'L') {
+                int end = i + 1;
+                while (end < length && ";<:".indexOf(descriptor.charAt(end)) < 0) {
+                    end++;
+                }
+                // a formal type parameter name ends with ':', it is not a class
+                if (end < length && descriptor.charAt(end) != ':') {
+                    add(usages, className, descriptor.substring(i + 1, end));
+                }
+                i = end;
+            } else if (c == 'T' || c == '.') {
+                i++;
+                while (i < length && ";<:".indexOf(descriptor.charAt(i)) < 0) {
+                    i++;
+                }
+            } else {
+                i++;
+            }
+        }
+    }
+
+    private static void add(Set<DependencyUsage> usages, String className, String internalName) {
+        if (internalName.indexOf('$') < 0) {
+            usages.add(new DependencyUsage(internalName.replace('/', '.'), className));
+        }
+    }
+}
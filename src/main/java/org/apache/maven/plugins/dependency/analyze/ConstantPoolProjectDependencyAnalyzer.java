@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.analyze;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.apache.maven.shared.dependency.analyzer.ClassAnalyzer;
+
+/**
+ * A project dependency analyzer finding the classes used by the project from the constant pool of its class files,
+ * with a {@link ConstantPoolClassFileParser}, rather than visiting the whole classes as the default analyzer does.
+ * The class files are parsed concurrently and the classes of the dependencies are found as by the default analyzer,
+ * with the same caches.
+ * <p>
+ * Accuracy, compared to the default analyzer: every class reference the compiler writes to a class file is held by
+ * the constant pool, so the classes found are the same for the class files produced by <code>javac</code>, including
+ * the classes only used in member signatures, generic signatures, annotations and local variable tables. The
+ * differences are:
+ * <ul>
+ * <li>a string annotation value looking like a descriptor, such as <code>"Lcom/example/Foo;"</code>, is taken as a
+ * use of the class;</li>
+ * <li>a descriptor left in the constant pool but no longer referenced by the class, which <code>javac</code> does not
+ * write but bytecode generators or shrinkers may, is taken as a use;</li>
+ * <li>a string literal sharing its constant pool entry with a descriptor hides the classes of the descriptor.</li>
+ * </ul>
+ * As for the default analyzer, classes only used as compile time constants or through reflection are not found.
+ * <p>
+ * A new instance is created on each lookup, as its caches are set by the mojo.
+ *
+ * @since 3.8.2
+ */
+@Named(ConstantPoolProjectDependencyAnalyzer.ROLE_HINT)
+class ConstantPoolProjectDependencyAnalyzer extends CachingProjectDependencyAnalyzer {
+
+    static final String ROLE_HINT = "constant-pool";
+
+    @Inject
+    ConstantPoolProjectDependencyAnalyzer(ClassAnalyzer classAnalyzer) {
+        super(classAnalyzer);
+    }
+
+    @Override
+    ClassFileParser getClassFileParser() {
+        return ConstantPoolClassFileParser.INSTANCE;
+    }
+}
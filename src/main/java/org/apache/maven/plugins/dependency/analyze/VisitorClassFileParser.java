@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.analyze;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+
+import org.apache.maven.shared.dependency.analyzer.DependencyUsage;
+import org.apache.maven.shared.dependency.analyzer.asm.DependencyClassFileVisitor;
+
+/**
+ * Parses class files with the {@link DependencyClassFileVisitor} of the default dependency analyzer, which visits the
+ * whole class with ASM.
+ *
+ * @since 3.8.2
+ */
+class VisitorClassFileParser implements ClassFileParser {
+
+    static final VisitorClassFileParser INSTANCE = new VisitorClassFileParser();
+
+    @Override
+    public String getId() {
+        return "asm";
+    }
+
+    @Override
+    public Collection<DependencyUsage> parse(String className, ByteBuffer classFile) throws IOException {
+        byte[] bytes = new byte[classFile.remaining()];
+        classFile.duplicate().get(bytes);
+        DependencyClassFileVisitor visitor = new DependencyClassFileVisitor();
+        visitor.visitClass(className, new ByteArrayInputStream(bytes));
+        return visitor.getDependencyUsages();
+    }
+}
@@ -32,6 +32,7 @@ import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.dependency.utils.CopyStrategy;
 import org.apache.maven.plugins.dependency.utils.CopyUtil;
 import org.apache.maven.plugins.dependency.utils.filters.ArtifactItemFilter;
 import org.apache.maven.plugins.dependency.utils.filters.DestFileFilter;
@@ -79,6 +80,30 @@ public class CopyMojo extends AbstractFromConfigurationMojo {
     @Parameter(property = "mdep.useBaseVersion", defaultValue = "false")
     private boolean useBaseVersion = false;
 
+    /**
+     * How the artifacts are put into the output directory: <code>copy</code>, <code>hardlink</code>,
+     * <code>symlink</code> or <code>reflink</code> (a copy-on-write clone, on file systems supporting it). Links avoid
+     * copying the content of the artifact files from the local repository; a hard link requires the output directory
+     * to be on the same file system. When a link cannot be created the file is copied. A clone is made by the
+     * <code>cp</code> command, started once per file.
+     *
+     * @since 3.8.2
+     */
+    @Parameter(property = "mdep.copyStrategy", defaultValue = "copy")
+    private String copyStrategy;
+
+    /**
+     * Compare the size and SHA-1 digest of each artifact with its copy in the output directory, instead of their
+     * timestamps. An artifact is then copied again only when its content changed, whatever the timestamps of the
+     * files, which is reliable where timestamps are not, e.g. on CI servers restoring cached directories. As for the
+     * digest markers of the unpack goals, <code>overWriteIfNewer</code> is then ignored; the copy itself serves as
+     * the marker, so that no marker file is written.
+     *
+     * @since 3.8.2
+     */
+    @Parameter(property = "mdep.digestMarkers", defaultValue = "false")
+    private boolean digestMarkers;
+
     /**
      * The artifact to copy from command line. A string of the form groupId:artifactId:version[:packaging[:classifier]].
      * Use {@link #artifactItems} within the POM configuration.
@@ -130,7 +155,7 @@ public class CopyMojo extends AbstractFromConfigurationMojo {
      *
      * @param artifactItem containing the information about the artifact to copy
      * @throws MojoExecutionException with a message if an error occurs
-     * @see CopyUtil#copyArtifactFile(Artifact, File)
+     * @see CopyUtil#copyArtifactFile(Artifact, File, CopyStrategy)
      */
     protected void copyArtifact(ArtifactItem artifactItem) throws MojoExecutionException {
         File destFile = new File(artifactItem.getOutputDirectory(), artifactItem.getDestFileName());
@@ -138,7 +163,7 @@ public class CopyMojo extends AbstractFromConfigurationMojo {
             getLog().warn("Overwriting " + destFile);
         }
         try {
-            copyUtil.copyArtifactFile(artifactItem.getArtifact(), destFile);
+            copyUtil.copyArtifactFile(artifactItem.getArtifact(), destFile, CopyStrategy.forId(copyStrategy));
         } catch (IOException e) {
             throw new MojoExecutionException(
                     "Failed to copy artifact '" + artifactItem.getArtifact() + "' ("
@@ -149,7 +174,7 @@ public class CopyMojo extends AbstractFromConfigurationMojo {
 
     @Override
     protected ArtifactItemFilter getMarkedArtifactFilter(ArtifactItem item) {
-        return new DestFileFilter(
+        DestFileFilter filter = new DestFileFilter(
                 this.isOverWriteReleases(),
                 this.isOverWriteSnapshots(),
                 this.isOverWriteIfNewer(),
@@ -161,6 +186,8 @@ public class CopyMojo extends AbstractFromConfigurationMojo {
                 prependGroupId,
                 useBaseVersion,
                 item.getOutputDirectory());
+        filter.setCompareContent(digestMarkers);
+        return filter;
     }
 
     /**
@@ -197,4 +224,11 @@ public class CopyMojo extends AbstractFromConfigurationMojo {
     public void setUseBaseVersion(boolean useBaseVersion) {
         this.useBaseVersion = useBaseVersion;
     }
+
+    /**
+     * @param copyStrategy The copyStrategy to set.
+     */
+    public void setCopyStrategy(String copyStrategy) {
+        this.copyStrategy = copyStrategy;
+    }
 }
@@ -25,6 +25,7 @@ import java.util.List;
 
 import org.apache.maven.artifact.handler.manager.ArtifactHandlerManager;
 import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecution;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
@@ -33,7 +34,9 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.dependency.utils.UnpackUtil;
 import org.apache.maven.plugins.dependency.utils.filters.ArtifactItemFilter;
 import org.apache.maven.plugins.dependency.utils.filters.MarkerFileFilter;
+import org.apache.maven.plugins.dependency.utils.markers.IndexMarkerHandler;
 import org.apache.maven.plugins.dependency.utils.markers.MarkerHandler;
+import org.apache.maven.plugins.dependency.utils.markers.MarkerIndex;
 import org.apache.maven.plugins.dependency.utils.markers.UnpackFileMarkerHandler;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.shared.transfer.artifact.resolve.ArtifactResolver;
@@ -52,6 +55,8 @@ public class UnpackMojo extends AbstractFromConfigurationMojo {
 
     private final UnpackUtil unpackUtil;
 
+    private MarkerIndex markerIndex;
+
     /**
      * Directory to store flag files after unpack
      */
@@ -94,6 +99,33 @@ public class UnpackMojo extends AbstractFromConfigurationMojo {
     @Parameter(property = "mdep.unpack.filemappers")
     private FileMapper[] fileMappers;
 
+    /**
+     * Record the size and SHA-1 digest of each unpacked artifact in its marker file, along with the includes, excludes
+     * and file mappers. An artifact is then unpacked again only when its content or this configuration changed,
+     * whatever the timestamps of the files, which makes markers reliable where timestamps are not, e.g. on CI servers
+     * restoring cached directories.
+     *
+     * @since 3.8.2
+     */
+    @Parameter(property = "mdep.digestMarkers", defaultValue = "false")
+    private boolean digestMarkers;
+
+    /**
+     * Keep the markers of this execution in a single index file in the <code>markersDirectory</code>, instead of one
+     * file per artifact. The index is read once and written at the end of the execution, which saves many small file
+     * operations on large projects or network file systems.
+     *
+     * @since 3.8.2
+     */
+    @Parameter(property = "mdep.useMarkersIndex", defaultValue = "false")
+    private boolean useMarkersIndex;
+
+    /**
+     * This mojo execution, used to name the markers index.
+     */
+    @Parameter(defaultValue = "${mojo}", readonly = true)
+    private MojoExecution mojoExecution;
+
     /**
      * The artifact to unpack from command line. A string of the form
      * <code>groupId:artifactId:version[:packaging[:classifier]]</code>. Use {@link #artifactItems} within the POM
@@ -133,6 +165,9 @@ public class UnpackMojo extends AbstractFromConfigurationMojo {
 
         verifyRequirements();
 
+        markerIndex = useMarkersIndex
+                ? new MarkerIndex(MarkerIndex.getIndexFile(markersDirectory, getProject(), mojoExecution))
+                : null;
         List<ArtifactItem> processedItems = getProcessedArtifactItems(false);
         for (ArtifactItem artifactItem : processedItems) {
             if (artifactItem.isNeedsProcessing()) {
@@ -141,6 +176,10 @@ public class UnpackMojo extends AbstractFromConfigurationMojo {
                 this.getLog().info(artifactItem.getArtifact().getFile().getName() + " already unpacked.");
             }
         }
+
+        if (markerIndex != null) {
+            markerIndex.save();
+        }
     }
 
     /**
@@ -151,7 +190,7 @@ public class UnpackMojo extends AbstractFromConfigurationMojo {
      * @see #getArtifact
      */
     private void unpackArtifact(ArtifactItem artifactItem) throws MojoExecutionException {
-        MarkerHandler handler = new UnpackFileMarkerHandler(artifactItem, this.markersDirectory);
+        MarkerHandler handler = newMarkerHandler(artifactItem);
 
         unpackUtil.unpack(
                 artifactItem.getArtifact().getFile(),
@@ -168,12 +207,22 @@ public class UnpackMojo extends AbstractFromConfigurationMojo {
 
     @Override
     ArtifactItemFilter getMarkedArtifactFilter(ArtifactItem item) {
-        MarkerHandler handler = new UnpackFileMarkerHandler(item, this.markersDirectory);
+        MarkerHandler handler = newMarkerHandler(item);
 
         return new MarkerFileFilter(
                 this.isOverWriteReleases(), this.isOverWriteSnapshots(), this.isOverWriteIfNewer(), handler);
     }
 
+    private MarkerHandler newMarkerHandler(ArtifactItem item) {
+        UnpackFileMarkerHandler handler = new UnpackFileMarkerHandler(item, this.markersDirectory);
+        handler.setUseDigest(digestMarkers);
+        // the filter sees the item before the default includes and excludes are applied to it
+        String itemIncludes = item.getIncludes().isEmpty() ? getIncludes() : item.getIncludes();
+        String itemExcludes = item.getExcludes().isEmpty() ? getExcludes() : item.getExcludes();
+        handler.setConfiguration(UnpackUtil.getUnpackConfiguration(itemIncludes, itemExcludes, item.getFileMappers()));
+        return markerIndex != null ? new IndexMarkerHandler(handler, markerIndex) : handler;
+    }
+
     /**
      * @param removeVersion removeVersion.
      * @return list of {@link ArtifactItem}
@@ -23,11 +23,17 @@ import javax.inject.Inject;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 
 import org.apache.maven.RepositoryUtils;
 import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.ArtifactUtils;
 import org.apache.maven.artifact.handler.manager.ArtifactHandlerManager;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -35,12 +41,15 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.dependency.AbstractDependencyMojo;
 import org.apache.maven.plugins.dependency.utils.DependencyStatusSets;
 import org.apache.maven.plugins.dependency.utils.DependencyUtil;
+import org.apache.maven.plugins.dependency.utils.ParallelUtil;
 import org.apache.maven.plugins.dependency.utils.ResolverUtil;
 import org.apache.maven.plugins.dependency.utils.translators.ArtifactTranslator;
 import org.apache.maven.plugins.dependency.utils.translators.ClassifierTypeTranslator;
+import org.apache.maven.project.DefaultProjectBuildingRequest;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.ProjectBuilder;
 import org.apache.maven.project.ProjectBuildingException;
+import org.apache.maven.project.ProjectBuildingRequest;
 import org.apache.maven.shared.artifact.filter.collection.ArtifactFilterException;
 import org.apache.maven.shared.artifact.filter.collection.ArtifactIdFilter;
 import org.apache.maven.shared.artifact.filter.collection.ArtifactsFilter;
@@ -52,7 +61,9 @@ import org.apache.maven.shared.artifact.filter.collection.ScopeFilter;
 import org.apache.maven.shared.artifact.filter.collection.TypeFilter;
 import org.apache.maven.shared.transfer.dependencies.resolve.DependencyResolver;
 import org.apache.maven.shared.transfer.repository.RepositoryManager;
+import org.eclipse.aether.SessionData;
 import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
 import org.sonatype.plexus.build.incremental.BuildContext;
 
 /**
@@ -63,6 +74,11 @@ import org.sonatype.plexus.build.incremental.BuildContext;
  */
 public abstract class AbstractDependencyFilterMojo extends AbstractDependencyMojo {
 
+    private static final String PARENT_CHAINS_KEY = AbstractDependencyFilterMojo.class.getName() + ".parentChains";
+
+    private static final String DEPENDENCY_PARENTS_KEY =
+            AbstractDependencyFilterMojo.class.getName() + ".dependencyParents";
+
     /**
      * Overwrite release artifacts
      *
@@ -233,6 +249,16 @@ public abstract class AbstractDependencyFilterMojo extends AbstractDependencyMoj
     @Parameter(property = "mdep.prependGroupId", defaultValue = "false")
     protected boolean prependGroupId = false;
 
+    /**
+     * Number of dependencies resolved concurrently, for instance the projects built to find the parents of the
+     * dependencies with <code>includeParents</code>. A value of <code>0</code> or less uses the number of available
+     * processors, <code>1</code> resolves them one after the other.
+     *
+     * @since 3.8.2
+     */
+    @Parameter(property = "mdep.resolveThreads", defaultValue = "0")
+    protected int resolveThreads;
+
     private final ResolverUtil resolverUtil;
 
     private final DependencyResolver dependencyResolver;
@@ -338,13 +364,38 @@ public abstract class AbstractDependencyFilterMojo extends AbstractDependencyMoj
         Set<Artifact> artifacts = getProject().getArtifacts();
 
         if (includeParents) {
-            // add dependencies parents
-            for (Artifact dep : new ArrayList<>(artifacts)) {
-                addParentArtifacts(buildProjectFromArtifact(dep), artifacts);
+            // add dependencies parents: the dependencies are built concurrently, and every parent chain is
+            // resolved once per session however many dependencies and projects share it
+            ProjectBuildingRequest buildingRequest =
+                    new DefaultProjectBuildingRequest(session.getProjectBuildingRequest()).setProcessPlugins(false);
+            Map<String, List<Artifact>> parentChains = getSessionCache(PARENT_CHAINS_KEY);
+            Map<String, List<Artifact>> dependencyParents = getSessionCache(DEPENDENCY_PARENTS_KEY);
+            List<List<Artifact>> parents;
+            try {
+                parents = ParallelUtil.apply(new ArrayList<>(artifacts), resolveThreads, "parents", dep -> {
+                    String key = getKey(dep);
+                    List<Artifact> depParents = dependencyParents.get(key);
+                    if (depParents == null) {
+                        depParents = getParentArtifacts(buildProjectFromArtifact(dep, buildingRequest), parentChains);
+                        dependencyParents.putIfAbsent(key, depParents);
+                    }
+                    return depParents;
+                });
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof MojoExecutionException) {
+                    throw (MojoExecutionException) e.getCause();
+                }
+                throw new MojoExecutionException(e.getCause().getMessage(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MojoExecutionException("Interrupted while building parents", e);
+            }
+            for (List<Artifact> depParents : parents) {
+                artifacts.addAll(depParents);
             }
 
             // add current project parent
-            addParentArtifacts(getProject(), artifacts);
+            artifacts.addAll(getParentArtifacts(getProject(), parentChains));
         }
 
         // perform filtering
@@ -365,33 +416,65 @@ public abstract class AbstractDependencyFilterMojo extends AbstractDependencyMoj
         return status;
     }
 
-    private MavenProject buildProjectFromArtifact(Artifact artifact) throws MojoExecutionException {
+    private MavenProject buildProjectFromArtifact(Artifact artifact, ProjectBuildingRequest buildingRequest)
+            throws MojoExecutionException {
         try {
-            return projectBuilder
-                    .build(artifact, session.getProjectBuildingRequest().setProcessPlugins(false))
-                    .getProject();
+            return projectBuilder.build(artifact, buildingRequest).getProject();
         } catch (ProjectBuildingException e) {
             throw new MojoExecutionException("Coud not build project for " + artifact.getId(), e);
         }
     }
 
-    private void addParentArtifacts(MavenProject project, Set<Artifact> artifacts) throws MojoExecutionException {
-        while (project.hasParent()) {
-            project = project.getParent();
+    /**
+     * @return a map kept for the whole session under the given key, shared by all the projects of the reactor
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, List<Artifact>> getSessionCache(String cacheKey) {
+        SessionData data = session.getRepositorySession().getData();
+        Object cache = data.get(cacheKey);
+        while (cache == null) {
+            data.set(cacheKey, null, new ConcurrentHashMap<String, List<Artifact>>());
+            cache = data.get(cacheKey);
+        }
+        return (Map<String, List<Artifact>>) cache;
+    }
 
-            if (artifacts.contains(project.getArtifact())) {
-                // artifact already in the set
-                break;
-            }
-            try {
-                org.eclipse.aether.artifact.Artifact resolvedArtifact = resolverUtil.resolveArtifact(
-                        RepositoryUtils.toArtifact(project.getArtifact()), project.getRemoteProjectRepositories());
+    /**
+     * @return the resolved parents of the project, nearest first
+     */
+    private List<Artifact> getParentArtifacts(MavenProject project, Map<String, List<Artifact>> parentChains)
+            throws MojoExecutionException {
+        return project.hasParent() ? getParentChain(project.getParent(), parentChains) : Collections.emptyList();
+    }
 
-                artifacts.add(RepositoryUtils.toArtifact(resolvedArtifact));
-            } catch (ArtifactResolutionException e) {
-                throw new MojoExecutionException(e.getMessage(), e);
-            }
+    /**
+     * @return the resolved parent followed by its own parents, computed once per session for a given parent key
+     */
+    private List<Artifact> getParentChain(MavenProject parent, Map<String, List<Artifact>> parentChains)
+            throws MojoExecutionException {
+        String key = ArtifactUtils.key(parent.getGroupId(), parent.getArtifactId(), parent.getVersion());
+        List<Artifact> chain = parentChains.get(key);
+        if (chain != null) {
+            return chain;
+        }
+
+        chain = new ArrayList<>();
+        try {
+            org.eclipse.aether.artifact.Artifact resolvedArtifact = resolverUtil.resolveArtifact(
+                    RepositoryUtils.toArtifact(parent.getArtifact()), parent.getRemoteProjectRepositories());
+
+            chain.add(RepositoryUtils.toArtifact(resolvedArtifact));
+        } catch (ArtifactResolutionException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
         }
+        chain.addAll(getParentArtifacts(parent, parentChains));
+        chain = Collections.unmodifiableList(chain);
+        parentChains.putIfAbsent(key, chain);
+        return chain;
+    }
+
+    private static String getKey(Artifact artifact) {
+        return ArtifactUtils.key(artifact.getGroupId(), artifact.getArtifactId(), artifact.getBaseVersion());
     }
 
     /**
@@ -473,14 +556,19 @@ public abstract class AbstractDependencyFilterMojo extends AbstractDependencyMoj
     private Set<Artifact> resolve(Set<org.eclipse.aether.artifact.Artifact> artifacts, boolean stopOnFailure)
             throws MojoExecutionException {
 
+        // resolved in one batch, so that the repository system downloads them concurrently
+        List<ArtifactResult> results =
+                resolverUtil.resolveArtifacts(artifacts, getProject().getRemoteProjectRepositories());
+
         Set<Artifact> resolvedArtifacts = new LinkedHashSet<>();
-        for (org.eclipse.aether.artifact.Artifact artifact : artifacts) {
-            try {
-                org.eclipse.aether.artifact.Artifact resolveArtifact =
-                        resolverUtil.resolveArtifact(artifact, getProject().getRemoteProjectRepositories());
-                resolvedArtifacts.add(RepositoryUtils.toArtifact(resolveArtifact));
-            } catch (ArtifactResolutionException ex) {
+        for (ArtifactResult result : results) {
+            if (result.isResolved()) {
+                resolvedArtifacts.add(RepositoryUtils.toArtifact(result.getArtifact()));
+            } else {
                 // an error occurred during resolution, log it an continue
+                org.eclipse.aether.artifact.Artifact artifact =
+                        result.getRequest().getArtifact();
+                ArtifactResolutionException ex = new ArtifactResolutionException(Collections.singletonList(result));
                 getLog().debug("error resolving: " + artifact, ex);
                 if (stopOnFailure) {
                     throw new MojoExecutionException("error resolving: " + artifact, ex);
@@ -24,6 +24,7 @@ import java.io.File;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -36,6 +37,7 @@ import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.plugins.dependency.utils.CopyStrategy;
 import org.apache.maven.plugins.dependency.utils.CopyUtil;
 import org.apache.maven.plugins.dependency.utils.DependencyStatusSets;
 import org.apache.maven.plugins.dependency.utils.DependencyUtil;
@@ -97,6 +99,39 @@ public class CopyDependenciesMojo extends AbstractFromDependenciesMojo {
     @Parameter(property = "mdep.addParentPoms", defaultValue = "false")
     protected boolean addParentPoms;
 
+    /**
+     * Number of threads used to copy the artifacts and their poms. A value of <code>0</code> or less uses the number of
+     * available processors, <code>1</code> copies the files one after the other.
+     *
+     * @since 3.8.2
+     */
+    @Parameter(property = "mdep.copyThreads", defaultValue = "0")
+    protected int copyThreads;
+
+    /**
+     * How the artifacts are put into the output directory: <code>copy</code>, <code>hardlink</code>,
+     * <code>symlink</code> or <code>reflink</code> (a copy-on-write clone, on file systems supporting it). Links avoid
+     * copying the content of the artifact files from the local repository; a hard link requires the output directory
+     * to be on the same file system. When a link cannot be created the file is copied. A clone is made by the
+     * <code>cp</code> command, started once per file.
+     *
+     * @since 3.8.2
+     */
+    @Parameter(property = "mdep.copyStrategy", defaultValue = "copy")
+    protected String copyStrategy;
+
+    /**
+     * Compare the size and SHA-1 digest of each artifact with its copy in the output directory, instead of their
+     * timestamps. An artifact is then copied again only when its content changed, whatever the timestamps of the
+     * files, which is reliable where timestamps are not, e.g. on CI servers restoring cached directories. As for the
+     * digest markers of the unpack goals, <code>overWriteIfNewer</code> is then ignored; the copy itself serves as
+     * the marker, so that no marker file is written.
+     *
+     * @since 3.8.2
+     */
+    @Parameter(property = "mdep.digestMarkers", defaultValue = "false")
+    protected boolean digestMarkers;
+
     @Inject
     // CHECKSTYLE_OFF: ParameterNumber
     public CopyDependenciesMojo(
@@ -130,6 +165,7 @@ public class CopyDependenciesMojo extends AbstractFromDependenciesMojo {
      * @throws MojoExecutionException with a message if an error occurs
      * @see #getDependencySets(boolean, boolean)
      * @see #copyArtifact(Artifact, boolean, boolean, boolean, boolean)
+     * @see CopyUtil#copyArtifactFiles(Map, int, CopyStrategy)
      */
     @Override
     protected void doExecute() throws MojoExecutionException {
@@ -152,10 +188,14 @@ public class CopyDependenciesMojo extends AbstractFromDependenciesMojo {
                 }
             }
 
+            Map<Artifact, File> artifactCopies = new LinkedHashMap<>();
             for (Artifact artifact : artifacts) {
-                copyArtifact(
+                File destFile = getDestFile(
                         artifact, isStripVersion(), this.prependGroupId, this.useBaseVersion, this.stripClassifier);
+                warnIfOverwriting(destFile, artifactCopies);
+                artifactCopies.put(artifact, destFile);
             }
+            copyUtil.copyArtifactFiles(artifactCopies, copyThreads, CopyStrategy.forId(copyStrategy));
         } else {
             ProjectBuildingRequest buildingRequest = getRepositoryManager()
                     .setLocalRepositoryBasedir(session.getProjectBuildingRequest(), outputDirectory);
@@ -237,7 +277,7 @@ public class CopyDependenciesMojo extends AbstractFromDependenciesMojo {
      * @param useBaseVersion specifies if the baseVersion of the artifact should be used instead of the version.
      * @param removeClassifier specifies if the classifier should be removed from the file name when copying.
      * @throws MojoExecutionException with a message if an error occurs.
-     * @see CopyUtil#copyArtifactFile(Artifact, File)
+     * @see CopyUtil#copyArtifactFile(Artifact, File, CopyStrategy)
      * @see DependencyUtil#getFormattedOutputDirectory(boolean, boolean, boolean, boolean, boolean, boolean, File, Artifact)
      */
     protected void copyArtifact(
@@ -248,6 +288,22 @@ public class CopyDependenciesMojo extends AbstractFromDependenciesMojo {
             boolean removeClassifier)
             throws MojoExecutionException {
 
+        File destFile = getDestFile(artifact, removeVersion, prependGroupId, useBaseVersion, removeClassifier);
+        warnIfOverwriting(destFile, Collections.emptyMap());
+        try {
+            copyUtil.copyArtifactFile(artifact, destFile, CopyStrategy.forId(copyStrategy));
+        } catch (IOException e) {
+            throw new MojoExecutionException(
+                    "Failed to copy artifact '" + artifact + "' (" + artifact.getFile() + ") to " + destFile, e);
+        }
+    }
+
+    private File getDestFile(
+            Artifact artifact,
+            boolean removeVersion,
+            boolean prependGroupId,
+            boolean useBaseVersion,
+            boolean removeClassifier) {
         String destFileName = DependencyUtil.getFormattedFileName(
                 artifact, removeVersion, prependGroupId, useBaseVersion, removeClassifier);
 
@@ -260,16 +316,16 @@ public class CopyDependenciesMojo extends AbstractFromDependenciesMojo {
                 stripType,
                 outputDirectory,
                 artifact);
-        File destFile = new File(destDir, destFileName);
-        if (destFile.exists()) {
+        return new File(destDir, destFileName);
+    }
+
+    /**
+     * Warns if the destination file exists or is the destination of a copy planned before this one.
+     */
+    private void warnIfOverwriting(File destFile, Map<Artifact, File> plannedCopies) {
+        if (destFile.exists() || plannedCopies.containsValue(destFile)) {
             getLog().warn("Overwriting " + destFile);
         }
-        try {
-            copyUtil.copyArtifactFile(artifact, destFile);
-        } catch (IOException e) {
-            throw new MojoExecutionException(
-                    "Failed to copy artifact '" + artifact + "' (" + artifact.getFile() + ") to " + destFile, e);
-        }
     }
 
     /**
@@ -297,6 +353,7 @@ public class CopyDependenciesMojo extends AbstractFromDependenciesMojo {
     public void copyPoms(File destDir, Set<Artifact> artifacts, boolean removeVersion, boolean removeClassifier)
             throws MojoExecutionException {
 
+        Map<Artifact, File> copies = new LinkedHashMap<>();
         for (Artifact artifact : artifacts) {
             Artifact pomArtifact = getResolvedPomArtifact(artifact);
 
@@ -308,18 +365,12 @@ public class CopyDependenciesMojo extends AbstractFromDependenciesMojo {
                         destDir,
                         DependencyUtil.getFormattedFileName(
                                 pomArtifact, removeVersion, prependGroupId, useBaseVersion, removeClassifier));
-                if (!pomDestFile.exists()) {
-                    try {
-                        copyUtil.copyArtifactFile(pomArtifact, pomDestFile);
-                    } catch (IOException e) {
-                        throw new MojoExecutionException(
-                                "Failed to copy artifact '" + pomArtifact + "' (" + pomArtifact.getFile() + ") to "
-                                        + pomDestFile,
-                                e);
-                    }
+                if (!pomDestFile.exists() && !copies.containsValue(pomDestFile)) {
+                    copies.put(pomArtifact, pomDestFile);
                 }
             }
         }
+        copyUtil.copyArtifactFiles(copies, copyThreads, CopyStrategy.forId(copyStrategy));
     }
 
     /**
@@ -344,7 +395,7 @@ public class CopyDependenciesMojo extends AbstractFromDependenciesMojo {
 
     @Override
     protected ArtifactsFilter getMarkedArtifactFilter() {
-        return new DestFileFilter(
+        DestFileFilter filter = new DestFileFilter(
                 this.overWriteReleases,
                 this.overWriteSnapshots,
                 this.overWriteIfNewer,
@@ -356,6 +407,8 @@ public class CopyDependenciesMojo extends AbstractFromDependenciesMojo {
                 this.prependGroupId,
                 this.useBaseVersion,
                 this.outputDirectory);
+        filter.setCompareContent(digestMarkers);
+        return filter;
     }
 
     /**
@@ -21,21 +21,41 @@ package org.apache.maven.plugins.dependency.fromDependencies;
 import javax.inject.Inject;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.handler.manager.ArtifactHandlerManager;
 import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecution;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.plugins.dependency.utils.BufferedLog;
 import org.apache.maven.plugins.dependency.utils.DependencyStatusSets;
 import org.apache.maven.plugins.dependency.utils.DependencyUtil;
+import org.apache.maven.plugins.dependency.utils.ParallelUtil;
 import org.apache.maven.plugins.dependency.utils.ResolverUtil;
 import org.apache.maven.plugins.dependency.utils.UnpackUtil;
 import org.apache.maven.plugins.dependency.utils.filters.MarkerFileFilter;
 import org.apache.maven.plugins.dependency.utils.markers.DefaultFileMarkerHandler;
+import org.apache.maven.plugins.dependency.utils.markers.IndexMarkerHandler;
+import org.apache.maven.plugins.dependency.utils.markers.MarkerHandler;
+import org.apache.maven.plugins.dependency.utils.markers.MarkerIndex;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.ProjectBuilder;
 import org.apache.maven.shared.artifact.filter.collection.ArtifactsFilter;
@@ -103,6 +123,45 @@ public class UnpackDependenciesMojo extends AbstractFromDependenciesMojo {
     @Parameter(property = "mdep.unpack.filemappers")
     private FileMapper[] fileMappers;
 
+    /**
+     * Number of archives unpacked concurrently. A value of <code>0</code> or less uses the number of available
+     * processors, <code>1</code> unpacks the archives one after the other. Archives writing to the same file are
+     * always unpacked in dependency order, so the content of the output directory does not depend on this value.
+     *
+     * @since 3.8.2
+     */
+    @Parameter(property = "mdep.unpackThreads", defaultValue = "0")
+    private int unpackThreads;
+
+    /**
+     * Record the size and SHA-1 digest of each unpacked artifact in its marker file, along with the includes, excludes
+     * and file mappers. An artifact is then unpacked again only when its content or this configuration changed,
+     * whatever the timestamps of the files, which makes markers reliable where timestamps are not, e.g. on CI servers
+     * restoring cached directories.
+     *
+     * @since 3.8.2
+     */
+    @Parameter(property = "mdep.digestMarkers", defaultValue = "false")
+    private boolean digestMarkers;
+
+    /**
+     * Keep the markers of this execution in a single index file in the <code>markersDirectory</code>, instead of one
+     * file per artifact. The index is read once and written at the end of the execution, which saves many small file
+     * operations on large projects or network file systems.
+     *
+     * @since 3.8.2
+     */
+    @Parameter(property = "mdep.useMarkersIndex", defaultValue = "false")
+    private boolean useMarkersIndex;
+
+    /**
+     * This mojo execution, used to name the markers index.
+     */
+    @Parameter(defaultValue = "${mojo}", readonly = true)
+    private MojoExecution mojoExecution;
+
+    private MarkerIndex markerIndex;
+
     private final UnpackUtil unpackUtil;
 
     @Inject
@@ -139,44 +198,204 @@ public class UnpackDependenciesMojo extends AbstractFromDependenciesMojo {
      */
     @Override
     protected void doExecute() throws MojoExecutionException {
+        markerIndex = useMarkersIndex
+                ? new MarkerIndex(MarkerIndex.getIndexFile(markersDirectory, getProject(), mojoExecution))
+                : null;
         DependencyStatusSets dss = getDependencySets(this.failOnMissingClassifierArtifact);
 
-        for (Artifact artifact : dss.getResolvedDependencies()) {
-            File destDir = DependencyUtil.getFormattedOutputDirectory(
-                    useSubDirectoryPerScope,
-                    useSubDirectoryPerType,
-                    useSubDirectoryPerArtifact,
-                    useRepositoryLayout,
-                    stripVersion,
-                    stripType,
-                    outputDirectory,
-                    artifact);
-            unpackUtil.unpack(
-                    artifact.getFile(),
-                    artifact.getType(),
-                    destDir,
-                    getIncludes(),
-                    getExcludes(),
-                    getEncoding(),
-                    ignorePermissions,
-                    getFileMappers(),
-                    getLog());
-            DefaultFileMarkerHandler handler = new DefaultFileMarkerHandler(artifact, this.markersDirectory);
-            handler.setMarker();
+        List<Artifact> artifacts = new ArrayList<>(dss.getResolvedDependencies());
+        if (ParallelUtil.getThreadCount(unpackThreads) > 1 && artifacts.size() > 1) {
+            unpackConcurrently(artifacts);
+        } else {
+            for (Artifact artifact : artifacts) {
+                File destDir = getDestDir(artifact);
+                unpackUtil.unpack(
+                        artifact.getFile(),
+                        artifact.getType(),
+                        destDir,
+                        getIncludes(),
+                        getExcludes(),
+                        getEncoding(),
+                        ignorePermissions,
+                        getFileMappers(),
+                        getLog());
+                newMarkerHandler(artifact).setMarker();
+            }
         }
 
         for (Artifact artifact : dss.getSkippedDependencies()) {
             getLog().info(artifact.getId() + " already exists in destination.");
         }
+
+        if (markerIndex != null) {
+            markerIndex.save();
+        }
+    }
+
+    /**
+     * Unpacks the artifacts on a pool of {@link #unpackThreads} workers. An archive writing a file that an earlier
+     * archive also writes waits for that archive, so that the last one in dependency order wins as in a sequential
+     * run; archives which cannot be listed wait for all the earlier ones. The messages of each archive are logged, and
+     * the build context refreshed, from the mojo thread in dependency order.
+     */
+    private void unpackConcurrently(List<Artifact> artifacts) throws MojoExecutionException {
+        int threads = Math.min(ParallelUtil.getThreadCount(unpackThreads), artifacts.size());
+        List<File> destDirs = new ArrayList<>(artifacts.size());
+        for (Artifact artifact : artifacts) {
+            destDirs.add(getDestDir(artifact));
+        }
+
+        List<Set<String>> unpackedFiles;
+        try {
+            List<Integer> indexes = IntStream.range(0, artifacts.size()).boxed().collect(Collectors.toList());
+            unpackedFiles = ParallelUtil.apply(
+                    indexes,
+                    threads,
+                    "unpack",
+                    i -> unpackUtil.getUnpackedFiles(
+                            artifacts.get(i).getFile(),
+                            destDirs.get(i),
+                            getIncludes(),
+                            getExcludes(),
+                            getFileMappers()));
+        } catch (ExecutionException e) {
+            throw new MojoExecutionException(e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while listing archives", e);
+        }
+
+        List<Set<Integer>> predecessors = getUnpackPredecessors(artifacts, unpackedFiles);
+
+        List<BufferedLog> logs = new ArrayList<>(artifacts.size());
+        List<CompletableFuture<Void>> unpacks = new ArrayList<>(artifacts.size());
+        ExecutorService executor = ParallelUtil.newExecutor(threads, "unpack");
+        AtomicBoolean failed = new AtomicBoolean();
+        try {
+            for (int i = 0; i < artifacts.size(); i++) {
+                Artifact artifact = artifacts.get(i);
+                File destDir = destDirs.get(i);
+                BufferedLog log = new BufferedLog(getLog());
+                logs.add(log);
+                CompletableFuture<?>[] waitFor =
+                        predecessors.get(i).stream().map(unpacks::get).toArray(CompletableFuture[]::new);
+                unpacks.add(CompletableFuture.allOf(waitFor)
+                        .thenRunAsync(
+                                () -> {
+                                    if (failed.get()) {
+                                        throw new CancellationException("Skipped after a failure");
+                                    }
+                                    try {
+                                        unpackUtil.extract(
+                                                artifact.getFile(),
+                                                artifact.getType(),
+                                                destDir,
+                                                getIncludes(),
+                                                getExcludes(),
+                                                getEncoding(),
+                                                ignorePermissions,
+                                                getFileMappers(),
+                                                log);
+                                        newMarkerHandler(artifact).setMarker();
+                                    } catch (MojoExecutionException e) {
+                                        failed.set(true);
+                                        throw new CompletionException(e);
+                                    } catch (RuntimeException | Error e) {
+                                        failed.set(true);
+                                        throw e;
+                                    }
+                                },
+                                executor));
+            }
+
+            for (int i = 0; i < unpacks.size(); i++) {
+                try {
+                    unpacks.get(i).join();
+                    logs.get(i).flush();
+                    unpackUtil.refresh(destDirs.get(i));
+                } catch (CompletionException | CancellationException e) {
+                    // the first failure in dependency order is reported, the archives not unpacked yet are skipped
+                    failed.set(true);
+                    Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+                    if (cause instanceof CancellationException) {
+                        continue;
+                    }
+                    logs.get(i).flush();
+                    throw cause instanceof MojoExecutionException
+                            ? (MojoExecutionException) cause
+                            : new MojoExecutionException(cause.getMessage(), cause);
+                }
+            }
+        } finally {
+            ParallelUtil.shutdown(executor);
+        }
+    }
+
+    /**
+     * For every archive, computes the earlier archives it must be unpacked after, because they write some of the same
+     * files, or because one of both cannot be listed.
+     */
+    private List<Set<Integer>> getUnpackPredecessors(List<Artifact> artifacts, List<Set<String>> unpackedFiles) {
+        List<Set<Integer>> predecessors = new ArrayList<>(artifacts.size());
+        Map<String, Integer> lastWriters = new HashMap<>();
+        int lastUnlisted = -1;
+        int collisions = 0;
+        for (int i = 0; i < artifacts.size(); i++) {
+            Set<Integer> waitFor = new TreeSet<>();
+            Set<String> files = unpackedFiles.get(i);
+            if (files == null) {
+                getLog().debug("Unable to list the files of " + artifacts.get(i).getId()
+                        + ", unpacking it after all the previous archives");
+                for (int j = 0; j < i; j++) {
+                    waitFor.add(j);
+                }
+                lastUnlisted = i;
+            } else {
+                if (lastUnlisted >= 0) {
+                    waitFor.add(lastUnlisted);
+                }
+                for (String file : files) {
+                    Integer previous = lastWriters.put(file, i);
+                    if (previous != null) {
+                        collisions++;
+                        waitFor.add(previous);
+                        getLog().debug(artifacts.get(i).getId() + " overwrites " + file + " unpacked from "
+                                + artifacts.get(previous).getId());
+                    }
+                }
+            }
+            predecessors.add(waitFor);
+        }
+        if (collisions > 0) {
+            getLog().info(collisions + " unpacked file(s) are provided by several dependencies, "
+                    + "the last dependency wins (use -X to list them)");
+        }
+        return predecessors;
+    }
+
+    private File getDestDir(Artifact artifact) {
+        return DependencyUtil.getFormattedOutputDirectory(
+                useSubDirectoryPerScope,
+                useSubDirectoryPerType,
+                useSubDirectoryPerArtifact,
+                useRepositoryLayout,
+                stripVersion,
+                stripType,
+                outputDirectory,
+                artifact);
     }
 
     @Override
     protected ArtifactsFilter getMarkedArtifactFilter() {
         return new MarkerFileFilter(
-                this.overWriteReleases,
-                this.overWriteSnapshots,
-                this.overWriteIfNewer,
-                new DefaultFileMarkerHandler(this.markersDirectory));
+                this.overWriteReleases, this.overWriteSnapshots, this.overWriteIfNewer, newMarkerHandler(null));
+    }
+
+    private MarkerHandler newMarkerHandler(Artifact artifact) {
+        DefaultFileMarkerHandler handler = new DefaultFileMarkerHandler(artifact, this.markersDirectory);
+        handler.setUseDigest(digestMarkers);
+        handler.setConfiguration(UnpackUtil.getUnpackConfiguration(getIncludes(), getExcludes(), getFileMappers()));
+        return markerIndex != null ? new IndexMarkerHandler(handler, markerIndex) : handler;
     }
 
     /**
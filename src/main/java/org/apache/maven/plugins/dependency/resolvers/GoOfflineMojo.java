@@ -20,11 +20,20 @@ package org.apache.maven.plugins.dependency.resolvers;
 
 import javax.inject.Inject;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.DefaultArtifact;
@@ -35,7 +44,9 @@ import org.apache.maven.execution.MavenSession;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.dependency.utils.DependencyUtil;
+import org.apache.maven.plugins.dependency.utils.ParallelUtil;
 import org.apache.maven.plugins.dependency.utils.ResolverUtil;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.ProjectBuilder;
@@ -54,6 +65,13 @@ import org.sonatype.plexus.build.incremental.BuildContext;
 
 /**
  * Goal that resolves all project dependencies, including plugins and reports and their dependencies.
+ * <p>
+ * With <code>aggregate</code>, the dependencies, plugins and reports of all the projects of the reactor are resolved
+ * at once by the first project of the reactor: a coordinate shared by several projects is resolved only once, and
+ * the other projects have nothing left to do.
+ * <p>
+ * The dependencies, plugins and reports are resolved with their transitive dependencies on
+ * <code>resolveThreads</code> concurrent threads.
  *
  * @author <a href="mailto:brianf@apache.org">Brian Fox</a>
  * @author Maarten Mulders
@@ -63,6 +81,24 @@ import org.sonatype.plexus.build.incremental.BuildContext;
 @Mojo(name = "go-offline", threadSafe = true)
 public class GoOfflineMojo extends AbstractResolveMojo {
 
+    /**
+     * Resolve the dependencies and plugins of all the projects of the reactor in the first project of the reactor,
+     * as one deduplicated set, and skip the other projects.
+     *
+     * @since 3.8.2
+     */
+    @Parameter(property = "mdep.aggregate", defaultValue = "false")
+    private boolean aggregate;
+
+    /**
+     * If specified, the ids of all the resolved plugins and dependencies, with their transitive dependencies, are
+     * written to this file, one per line and sorted, i.e. <code>dependency junit:junit:jar:4.13.2</code>.
+     *
+     * @since 3.8.2
+     */
+    @Parameter(property = "mdep.manifestFile")
+    private File manifestFile;
+
     @Inject
     // CHECKSTYLE_OFF: ParameterNumber
     public GoOfflineMojo(
@@ -95,10 +131,22 @@ public class GoOfflineMojo extends AbstractResolveMojo {
     @Override
     protected void doExecute() throws MojoExecutionException {
 
+        final List<MavenProject> projects;
+        if (aggregate && reactorProjects != null && reactorProjects.size() > 1) {
+            MavenProject first = reactorProjects.get(0);
+            if (first != getProject()) {
+                getLog().info("Dependencies and plugins of the reactor are resolved by " + first.getId());
+                return;
+            }
+            projects = reactorProjects;
+        } else {
+            projects = Collections.singletonList(getProject());
+        }
+
         try {
-            final Set<Artifact> plugins = resolvePluginArtifacts();
+            final Set<Artifact> plugins = resolvePluginArtifacts(projects);
 
-            final Set<Artifact> dependencies = resolveDependencyArtifacts();
+            final Set<Artifact> dependencies = resolveDependencyArtifacts(projects);
 
             if (!isSilent()) {
                 for (Artifact artifact : plugins) {
@@ -110,11 +158,36 @@ public class GoOfflineMojo extends AbstractResolveMojo {
                 }
             }
 
+            if (manifestFile != null) {
+                writeManifest(plugins, dependencies);
+            }
+
         } catch (DependencyResolverException | ArtifactFilterException e) {
             throw new MojoExecutionException(e.getMessage(), e);
         }
     }
 
+    private void writeManifest(Set<Artifact> plugins, Set<Artifact> dependencies) throws MojoExecutionException {
+        Set<String> lines = new TreeSet<>();
+        for (Artifact artifact : plugins) {
+            lines.add("plugin " + artifact.getId());
+        }
+        for (Artifact artifact : dependencies) {
+            lines.add("dependency " + artifact.getId());
+        }
+
+        StringBuilder manifest = new StringBuilder();
+        for (String line : lines) {
+            manifest.append(line).append(System.lineSeparator());
+        }
+        try {
+            DependencyUtil.write(manifest.toString(), manifestFile, false, "UTF-8");
+            getLog().info("Wrote go-offline manifest to: " + manifestFile);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to write manifest " + manifestFile, e);
+        }
+    }
+
     /**
      * This method resolves the dependency artifacts from the project.
      *
@@ -123,19 +196,49 @@ public class GoOfflineMojo extends AbstractResolveMojo {
      * @throws ArtifactFilterException
      */
     protected Set<Artifact> resolveDependencyArtifacts() throws DependencyResolverException, ArtifactFilterException {
-        Collection<Dependency> dependencies = getProject().getDependencies();
-
-        dependencies = filterDependencies(dependencies);
+        return resolveDependencyArtifacts(Collections.singletonList(getProject()));
+    }
 
-        Set<DependableCoordinate> dependableCoordinates = dependencies.stream()
-                .map(this::createDependendableCoordinateFromDependency)
-                .collect(Collectors.toSet());
+    private Set<Artifact> resolveDependencyArtifacts(List<MavenProject> projects)
+            throws DependencyResolverException, ArtifactFilterException {
+        List<DependableCoordinate> dependableCoordinates = new ArrayList<>();
+        for (MavenProject project : projects) {
+            for (Dependency dependency : filterDependencies(project.getDependencies())) {
+                dependableCoordinates.add(createDependendableCoordinateFromDependency(dependency));
+            }
+        }
 
         ProjectBuildingRequest buildingRequest = newResolveArtifactProjectBuildingRequest();
+        if (projects.size() > 1) {
+            addRemoteRepositories(buildingRequest, projects, MavenProject::getRemoteArtifactRepositories);
+        }
 
         return resolveDependableCoordinate(buildingRequest, dependableCoordinates, "dependencies");
     }
 
+    /**
+     * Adds the repositories of the other projects of the reactor, so that every coordinate can be resolved from the
+     * repositories of the project declaring it. A repository id already known is kept as is.
+     */
+    private static void addRemoteRepositories(
+            ProjectBuildingRequest buildingRequest,
+            List<MavenProject> projects,
+            Function<MavenProject, List<ArtifactRepository>> projectRepositories) {
+        Map<String, ArtifactRepository> repositories = new LinkedHashMap<>();
+        for (ArtifactRepository repository : buildingRequest.getRemoteRepositories()) {
+            repositories.putIfAbsent(repository.getId(), repository);
+        }
+        for (MavenProject project : projects) {
+            List<ArtifactRepository> additional = projectRepositories.apply(project);
+            if (additional != null) {
+                for (ArtifactRepository repository : additional) {
+                    repositories.putIfAbsent(repository.getId(), repository);
+                }
+            }
+        }
+        buildingRequest.setRemoteRepositories(new ArrayList<>(repositories.values()));
+    }
+
     private Set<Artifact> resolveDependableCoordinate(
             final ProjectBuildingRequest buildingRequest,
             final Collection<DependableCoordinate> dependableCoordinates,
@@ -148,20 +251,56 @@ public class GoOfflineMojo extends AbstractResolveMojo {
             getLog().debug(repo.getId() + " (" + repo.getUrl() + ")");
         }
 
-        final Set<Artifact> results = new HashSet<>();
-
+        // the same coordinate may come from several sources, i.e. a plugin also used as a report, or a dependency
+        // shared by several projects of the reactor
+        final Map<String, DependableCoordinate> distinctCoordinates = new LinkedHashMap<>();
         for (DependableCoordinate dependableCoordinate : dependableCoordinates) {
-            final Iterable<ArtifactResult> artifactResults =
-                    getDependencyResolver().resolveDependencies(buildingRequest, dependableCoordinate, filter);
+            distinctCoordinates.putIfAbsent(getKey(dependableCoordinate), dependableCoordinate);
+        }
+        this.getLog()
+                .debug("Resolving " + distinctCoordinates.size() + " distinct " + type + " of "
+                        + dependableCoordinates.size() + " declared");
 
-            for (final ArtifactResult artifactResult : artifactResults) {
-                results.add(artifactResult.getArtifact());
+        final List<List<Artifact>> closures;
+        try {
+            closures = ParallelUtil.apply(distinctCoordinates.values(), resolveThreads, "resolve", coordinate -> {
+                List<Artifact> closure = new ArrayList<>();
+                for (ArtifactResult artifactResult :
+                        getDependencyResolver().resolveDependencies(buildingRequest, coordinate, filter)) {
+                    closure.add(artifactResult.getArtifact());
+                }
+                return closure;
+            });
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DependencyResolverException) {
+                throw (DependencyResolverException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
             }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            // tasks only throw exceptions: the cause is a checked exception
+            throw new DependencyResolverException(e.getCause().getMessage(), (Exception) e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DependencyResolverException("Interrupted while resolving " + type, e);
+        }
+
+        final Set<Artifact> results = new HashSet<>();
+        for (List<Artifact> closure : closures) {
+            results.addAll(closure);
         }
 
         return results;
     }
 
+    private static String getKey(DependableCoordinate coordinate) {
+        return coordinate.getGroupId() + ":" + coordinate.getArtifactId() + ":" + coordinate.getType() + ":"
+                + coordinate.getClassifier() + ":" + coordinate.getVersion();
+    }
+
     private TransformableFilter getTransformableFilter() {
         if (this.excludeReactor) {
             return new ExcludeReactorProjectsDependencyFilter(this.reactorProjects, getLog());
@@ -178,22 +317,30 @@ public class GoOfflineMojo extends AbstractResolveMojo {
      * @throws ArtifactFilterException
      */
     protected Set<Artifact> resolvePluginArtifacts() throws DependencyResolverException, ArtifactFilterException {
+        return resolvePluginArtifacts(Collections.singletonList(getProject()));
+    }
 
-        Set<Artifact> plugins = getProject().getPluginArtifacts();
-        Set<Artifact> reports = getProject().getReportArtifacts();
+    private Set<Artifact> resolvePluginArtifacts(List<MavenProject> projects)
+            throws DependencyResolverException, ArtifactFilterException {
 
         Set<Artifact> artifacts = new LinkedHashSet<>();
-        artifacts.addAll(reports);
-        artifacts.addAll(plugins);
+        for (MavenProject project : projects) {
+            artifacts.addAll(project.getReportArtifacts());
+            artifacts.addAll(project.getPluginArtifacts());
+        }
 
         final FilterArtifacts filter = getArtifactsFilter();
         artifacts = filter.filter(artifacts);
 
-        Set<DependableCoordinate> dependableCoordinates = artifacts.stream()
-                .map(this::createDependendableCoordinateFromArtifact)
-                .collect(Collectors.toSet());
+        List<DependableCoordinate> dependableCoordinates = new ArrayList<>();
+        for (Artifact artifact : artifacts) {
+            dependableCoordinates.add(createDependendableCoordinateFromArtifact(artifact));
+        }
 
         ProjectBuildingRequest buildingRequest = newResolvePluginProjectBuildingRequest();
+        if (projects.size() > 1) {
+            addRemoteRepositories(buildingRequest, projects, MavenProject::getPluginArtifactRepositories);
+        }
 
         return resolveDependableCoordinate(buildingRequest, dependableCoordinates, "plugins");
     }
@@ -22,16 +22,16 @@ import javax.inject.Inject;
 
 import java.io.File;
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.jar.JarFile;
-import java.util.jar.Manifest;
+import java.util.concurrent.ExecutionException;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.handler.manager.ArtifactHandlerManager;
@@ -43,6 +43,10 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.plugins.dependency.utils.DependencyStatusSets;
 import org.apache.maven.plugins.dependency.utils.DependencyUtil;
+import org.apache.maven.plugins.dependency.utils.ModuleCache;
+import org.apache.maven.plugins.dependency.utils.ModuleUtil;
+import org.apache.maven.plugins.dependency.utils.ModuleUtil.ModuleDescriptor;
+import org.apache.maven.plugins.dependency.utils.ParallelUtil;
 import org.apache.maven.plugins.dependency.utils.ResolverUtil;
 import org.apache.maven.plugins.dependency.utils.filters.ResolveFileFilter;
 import org.apache.maven.plugins.dependency.utils.markers.SourcesFileMarkerHandler;
@@ -56,8 +60,8 @@ import org.apache.maven.shared.utils.logging.MessageUtils;
 import org.sonatype.plexus.build.incremental.BuildContext;
 
 /**
- * Goal that resolves the project dependencies from the repository. When using this goal while running on Java 9 the
- * module names will be visible as well.
+ * Goal that resolves the project dependencies from the repository. The module names of the dependencies are visible
+ * as well.
  *
  * @author <a href="mailto:brianf@apache.org">Brian Fox</a>
  * @since 2.0
@@ -109,6 +113,30 @@ public class ResolveDependenciesMojo extends AbstractResolveMojo {
     @Parameter(property = "includeParents", defaultValue = "false")
     boolean includeParents;
 
+    /**
+     * Number of jars read concurrently to find their module name. A value of <code>0</code> or less uses the number
+     * of available processors.
+     *
+     * @since 3.8.2
+     */
+    @Parameter(property = "mdep.scanThreads", defaultValue = "0")
+    private int scanThreads;
+
+    /**
+     * The file caching the module names of the jars, by path, size and timestamp, so that the jars are read only
+     * once by later builds.
+     * <p>
+     * Not set by default, so that listing the dependencies has no side effect. It can be shared by several projects
+     * and concurrent builds, for instance
+     * <code>${settings.localRepository}/.cache/maven-dependency-plugin/dependency-modules.cache</code>: the entries of
+     * each build are merged into the file under a file lock.
+     * </p>
+     *
+     * @since 3.8.2
+     */
+    @Parameter(property = "mdep.moduleNamesCache")
+    private File moduleNamesCache;
+
     @Inject
     // CHECKSTYLE_OFF: ParameterNumber
     public ResolveDependenciesMojo(
@@ -172,8 +200,12 @@ public class ResolveDependenciesMojo extends AbstractResolveMojo {
      * @param theOutputScope the output scope
      * @param theSort sort yes/no
      * @return the output
+     * @throws MojoExecutionException if the module names of the files cannot be read
      */
-    public String getOutput(boolean outputAbsoluteArtifactFilename, boolean theOutputScope, boolean theSort) {
+    public String getOutput(boolean outputAbsoluteArtifactFilename, boolean theOutputScope, boolean theSort)
+            throws MojoExecutionException {
+        Map<File, ModuleDescriptor> modules = getModuleDescriptors();
+
         StringBuilder sb = new StringBuilder();
         if (outputFile == null) {
             sb.append(System.lineSeparator());
@@ -186,7 +218,11 @@ public class ResolveDependenciesMojo extends AbstractResolveMojo {
             sb.append(System.lineSeparator());
         } else {
             sb.append(buildArtifactListOutput(
-                    results.getResolvedDependencies(), outputAbsoluteArtifactFilename, theOutputScope, theSort));
+                    results.getResolvedDependencies(),
+                    modules,
+                    outputAbsoluteArtifactFilename,
+                    theOutputScope,
+                    theSort));
         }
 
         if (results.getSkippedDependencies() != null
@@ -196,7 +232,7 @@ public class ResolveDependenciesMojo extends AbstractResolveMojo {
             sb.append(System.lineSeparator());
             Set<Artifact> skippedDependencies = new LinkedHashSet<>(results.getSkippedDependencies());
             sb.append(buildArtifactListOutput(
-                    skippedDependencies, outputAbsoluteArtifactFilename, theOutputScope, theSort));
+                    skippedDependencies, modules, outputAbsoluteArtifactFilename, theOutputScope, theSort));
         }
 
         if (results.getUnResolvedDependencies() != null
@@ -206,7 +242,7 @@ public class ResolveDependenciesMojo extends AbstractResolveMojo {
             sb.append(System.lineSeparator());
             Set<Artifact> unResolvedDependencies = new LinkedHashSet<>(results.getUnResolvedDependencies());
             sb.append(buildArtifactListOutput(
-                    unResolvedDependencies, outputAbsoluteArtifactFilename, theOutputScope, theSort));
+                    unResolvedDependencies, modules, outputAbsoluteArtifactFilename, theOutputScope, theSort));
         }
         sb.append(System.lineSeparator());
 
@@ -214,7 +250,11 @@ public class ResolveDependenciesMojo extends AbstractResolveMojo {
     }
 
     private StringBuilder buildArtifactListOutput(
-            Set<Artifact> artifacts, boolean outputAbsoluteArtifactFilename, boolean theOutputScope, boolean theSort) {
+            Set<Artifact> artifacts,
+            Map<File, ModuleDescriptor> modules,
+            boolean outputAbsoluteArtifactFilename,
+            boolean theOutputScope,
+            boolean theSort) {
         StringBuilder sb = new StringBuilder();
         List<String> artifactStringList = new ArrayList<>();
         /* if (outputFile != null) {
@@ -250,12 +290,15 @@ public class ResolveDependenciesMojo extends AbstractResolveMojo {
 
             // dependencies:collect won't download jars
             if (artifact.getFile() != null) {
-                ModuleDescriptor moduleDescriptor = getModuleDescriptor(artifact.getFile());
-                if (moduleDescriptor != null) {
-                    messageBuilder.project(" -- module " + moduleDescriptor.name);
-
-                    if (moduleDescriptor.automatic) {
-                        if ("MANIFEST".equals(moduleDescriptor.moduleNameSource)) {
+                ModuleDescriptor moduleDescriptor = modules.get(artifact.getFile());
+                if (moduleDescriptor != null && moduleDescriptor.getError() != null) {
+                    getLog().info("Can't extract module name from "
+                            + artifact.getFile().getName() + ": " + moduleDescriptor.getError());
+                } else if (moduleDescriptor != null) {
+                    messageBuilder.project(" -- module " + moduleDescriptor.getName());
+
+                    if (moduleDescriptor.isAutomatic()) {
+                        if (ModuleUtil.MANIFEST.equals(moduleDescriptor.getModuleNameSource())) {
                             messageBuilder.strong(" [auto]");
                         } else {
                             messageBuilder.warning(" (auto)");
@@ -274,71 +317,62 @@ public class ResolveDependenciesMojo extends AbstractResolveMojo {
         return sb;
     }
 
-    private ModuleDescriptor getModuleDescriptor(File artifactFile) {
-        ModuleDescriptor moduleDescriptor = null;
-        try {
-            // Use Java9 code to get moduleName, don't try to do it better with own implementation
-            Class<?> moduleFinderClass = Class.forName("java.lang.module.ModuleFinder");
-
-            java.nio.file.Path path = artifactFile.toPath();
-
-            Method ofMethod = moduleFinderClass.getMethod("of", java.nio.file.Path[].class);
-            Object moduleFinderInstance = ofMethod.invoke(null, new Object[] {new java.nio.file.Path[] {path}});
-
-            Method findAllMethod = moduleFinderClass.getMethod("findAll");
-            Set<Object> moduleReferences = (Set<Object>) findAllMethod.invoke(moduleFinderInstance);
-
-            // moduleReferences can be empty when referring to target/classes without module-info.class
-            if (!moduleReferences.isEmpty()) {
-                Object moduleReference = moduleReferences.iterator().next();
-                Method descriptorMethod = moduleReference.getClass().getMethod("descriptor");
-                Object moduleDescriptorInstance = descriptorMethod.invoke(moduleReference);
-
-                Method nameMethod = moduleDescriptorInstance.getClass().getMethod("name");
-                String name = (String) nameMethod.invoke(moduleDescriptorInstance);
-
-                moduleDescriptor = new ModuleDescriptor();
-                moduleDescriptor.name = name;
-
-                Method isAutomaticMethod = moduleDescriptorInstance.getClass().getMethod("isAutomatic");
-                moduleDescriptor.automatic = (Boolean) isAutomaticMethod.invoke(moduleDescriptorInstance);
-
-                if (moduleDescriptor.automatic) {
-                    if (artifactFile.isFile()) {
-                        try (JarFile jarFile = new JarFile(artifactFile)) {
-                            Manifest manifest = jarFile.getManifest();
-
-                            if (manifest != null
-                                    && manifest.getMainAttributes().getValue("Automatic-Module-Name") != null) {
-                                moduleDescriptor.moduleNameSource = "MANIFEST";
-                            } else {
-                                moduleDescriptor.moduleNameSource = "FILENAME";
-                            }
-                        } catch (IOException e) {
-                            // noop
-                        }
+    /**
+     * Finds the modules of the files of all the listed artifacts at once, reading the jars concurrently and only
+     * when they are not in the cache.
+     */
+    private Map<File, ModuleDescriptor> getModuleDescriptors() throws MojoExecutionException {
+        Set<File> files = new LinkedHashSet<>();
+        for (Set<Artifact> artifacts : Arrays.asList(
+                results.getResolvedDependencies(),
+                results.getSkippedDependencies(),
+                results.getUnResolvedDependencies())) {
+            if (artifacts != null) {
+                for (Artifact artifact : artifacts) {
+                    // dependencies:collect won't download jars
+                    if (artifact.getFile() != null) {
+                        files.add(artifact.getFile());
                     }
                 }
             }
-        } catch (ClassNotFoundException | SecurityException | IllegalAccessException | IllegalArgumentException e) {
-            // do nothing
-        } catch (NoSuchMethodException e) {
-            getLog().warn(e);
-        } catch (InvocationTargetException e) {
-            Throwable cause = e.getCause();
-            while (cause.getCause() != null) {
-                cause = cause.getCause();
-            }
-            getLog().info("Can't extract module name from " + artifactFile.getName() + ": " + cause.getMessage());
         }
-        return moduleDescriptor;
-    }
 
-    private static class ModuleDescriptor {
-        String name;
+        ModuleCache cache = new ModuleCache(moduleNamesCache);
+        try {
+            cache.load();
+        } catch (IOException e) {
+            getLog().warn("Ignoring unreadable module names cache " + moduleNamesCache + ": " + e.getMessage());
+        }
+
+        List<ModuleDescriptor> descriptors;
+        try {
+            descriptors = ParallelUtil.apply(files, scanThreads, "modules", cache::getModuleDescriptor);
+        } catch (ExecutionException e) {
+            throw new MojoExecutionException(
+                    "Unable to read module names: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while reading module names", e);
+        }
 
-        boolean automatic = true;
+        if (moduleNamesCache != null) {
+            getLog().debug("Read " + cache.getScanned() + " of " + files.size()
+                    + " files to find their module name, the others were read from " + moduleNamesCache);
+            try {
+                cache.save();
+            } catch (IOException e) {
+                getLog().warn("Unable to write module names cache " + moduleNamesCache + ": " + e.getMessage());
+            }
+        }
 
-        String moduleNameSource;
+        Map<File, ModuleDescriptor> modules = new HashMap<>();
+        int i = 0;
+        for (File file : files) {
+            ModuleDescriptor descriptor = descriptors.get(i++);
+            if (descriptor != null) {
+                modules.put(file, descriptor);
+            }
+        }
+        return modules;
     }
 }
@@ -20,6 +20,11 @@ package org.apache.maven.plugins.dependency.tree;
 
 import java.io.PrintWriter;
 import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.shared.dependency.graph.DependencyNode;
+import org.apache.maven.shared.dependency.graph.filter.DependencyNodeFilter;
 
 /**
  * Abstract class for visitors performing serialization.
@@ -48,4 +53,59 @@ public abstract class AbstractSerializingVisitor {
             this.writer = new PrintWriter(writer, true);
         }
     }
+
+    /**
+     * The filter of the serialized nodes, or <code>null</code> to serialize all nodes.
+     */
+    private DependencyNodeFilter nodeFilter;
+
+    /**
+     * Sets the filter of the serialized nodes. The filter must accept the parent of every node it accepts, and is used
+     * by visitors looking at the children of a node, so that they can serialize the original tree in a single pass.
+     *
+     * @param nodeFilter the filter of the serialized nodes, or <code>null</code> to serialize all nodes
+     * @since 3.8.2
+     */
+    public void setNodeFilter(DependencyNodeFilter nodeFilter) {
+        this.nodeFilter = nodeFilter;
+    }
+
+    /**
+     * Gets the children of the specified node which are serialized.
+     *
+     * @param node the node
+     * @return the children of the node accepted by the node filter
+     * @since 3.8.2
+     */
+    protected List<DependencyNode> getChildren(DependencyNode node) {
+        List<DependencyNode> children = node.getChildren();
+        if (nodeFilter == null || children.isEmpty()) {
+            return children;
+        }
+        List<DependencyNode> accepted = new ArrayList<>(children.size());
+        for (DependencyNode child : children) {
+            if (nodeFilter.accept(child)) {
+                accepted.add(child);
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Gets the last child of the specified node which is serialized, looking at the children from the last one.
+     *
+     * @param node the node
+     * @return the last child of the node accepted by the node filter, or <code>null</code> if there is none
+     * @since 3.8.2
+     */
+    protected DependencyNode getLastChild(DependencyNode node) {
+        List<DependencyNode> children = node.getChildren();
+        for (int i = children.size() - 1; i >= 0; i--) {
+            DependencyNode child = children.get(i);
+            if (nodeFilter == null || nodeFilter.accept(child)) {
+                return child;
+            }
+        }
+        return null;
+    }
 }
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.tree;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.shared.artifact.filter.StrictPatternExcludesArtifactFilter;
+import org.apache.maven.shared.artifact.filter.StrictPatternIncludesArtifactFilter;
+
+/**
+ * An artifact filter matching artifacts against include and exclude patterns, as
+ * {@link StrictPatternIncludesArtifactFilter} and {@link StrictPatternExcludesArtifactFilter} do, with patterns parsed
+ * once, and version ranges created once, instead of for every artifact.
+ * <p>
+ * A pattern is <code>[groupId[:artifactId[:type[:version]]]]</code>, where each part can be <code>*</code> or empty
+ * to match anything, start and/or end with <code>*</code>, or be a version range.
+ *
+ * @since 3.8.2
+ */
+class ArtifactPatternFilter implements ArtifactFilter {
+
+    private static final int PARTS = 4;
+
+    private final List<List<Predicate<String>>> includes;
+
+    private final List<List<Predicate<String>>> excludes;
+
+    /**
+     * @param includes the patterns of the included artifacts, all artifacts are included when empty
+     * @param excludes the patterns of the excluded artifacts
+     */
+    ArtifactPatternFilter(List<String> includes, List<String> excludes) {
+        this.includes = compile(includes);
+        this.excludes = compile(excludes);
+    }
+
+    @Override
+    public boolean include(Artifact artifact) {
+        String[] parts = {artifact.getGroupId(), artifact.getArtifactId(), artifact.getType(), artifact.getBaseVersion()
+        };
+        return (includes.isEmpty() || matches(includes, parts)) && !matches(excludes, parts);
+    }
+
+    private static boolean matches(List<List<Predicate<String>>> patterns, String[] parts) {
+        for (List<Predicate<String>> pattern : patterns) {
+            if (matchesPattern(pattern, parts)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesPattern(List<Predicate<String>> pattern, String[] parts) {
+        for (int i = 0; i < pattern.size(); i++) {
+            if (!pattern.get(i).test(parts[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<List<Predicate<String>>> compile(List<String> patterns) {
+        List<List<Predicate<String>>> compiled = new ArrayList<>();
+        if (patterns == null) {
+            return compiled;
+        }
+        for (String pattern : patterns) {
+            String[] tokens = pattern.split(":");
+            List<Predicate<String>> parts = new ArrayList<>(tokens.length);
+            if (tokens.length > PARTS) {
+                // a pattern with more parts than an artifact never matches
+                parts.add(value -> false);
+            } else {
+                for (String token : tokens) {
+                    parts.add(compilePart(token));
+                }
+            }
+            compiled.add(parts);
+        }
+        return compiled;
+    }
+
+    private static Predicate<String> compilePart(String token) {
+        if ("*".equals(token) || token.isEmpty()) {
+            return value -> true;
+        } else if (token.startsWith("*") && token.endsWith("*")) {
+            String infix = token.substring(1, token.length() - 1);
+            return value -> value != null && value.contains(infix);
+        } else if (token.startsWith("*")) {
+            String suffix = token.substring(1);
+            return value -> value != null && value.endsWith(suffix);
+        } else if (token.endsWith("*")) {
+            String prefix = token.substring(0, token.length() - 1);
+            return value -> value != null && value.startsWith(prefix);
+        } else if (token.startsWith("[") || token.startsWith("(")) {
+            try {
+                VersionRange range = VersionRange.createFromVersionSpec(token);
+                return value -> value != null && range.containsVersion(new DefaultArtifactVersion(value));
+            } catch (InvalidVersionSpecificationException e) {
+                return value -> false;
+            }
+        } else {
+            return token::equals;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.tree;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.shared.dependency.graph.DependencyNode;
+import org.apache.maven.shared.dependency.graph.traversal.DependencyNodeVisitor;
+
+/**
+ * A dependency node holding a copy of the values of another node, including its serialized form, so that nodes built
+ * by internal classes of maven-dependency-tree, such as verbose nodes, are displayed the same once copied.
+ *
+ * @since 3.8.2
+ */
+class CopiedDependencyNode implements DependencyNode {
+
+    private final DependencyNode parent;
+
+    private final Artifact artifact;
+
+    private final String premanagedVersion;
+
+    private final String premanagedScope;
+
+    private final String versionConstraint;
+
+    private final Boolean optional;
+
+    private final List<Exclusion> exclusions;
+
+    private final String nodeString;
+
+    private List<DependencyNode> children = Collections.emptyList();
+
+    /**
+     * Copies the values of a node, but not its children.
+     *
+     * @param parent the parent of the copy, or <code>null</code> for a root node
+     * @param node the node to copy
+     * @param nodeString the serialized form of the copy
+     */
+    CopiedDependencyNode(DependencyNode parent, DependencyNode node, String nodeString) {
+        this(
+                parent,
+                node.getArtifact(),
+                node.getPremanagedVersion(),
+                node.getPremanagedScope(),
+                node.getVersionConstraint(),
+                node.getOptional(),
+                node.getExclusions(),
+                nodeString);
+    }
+
+    // CHECKSTYLE_OFF: ParameterNumber
+    CopiedDependencyNode(
+            DependencyNode parent,
+            Artifact artifact,
+            String premanagedVersion,
+            String premanagedScope,
+            String versionConstraint,
+            Boolean optional,
+            List<Exclusion> exclusions,
+            String nodeString) {
+        this.parent = parent;
+        this.artifact = artifact;
+        this.premanagedVersion = premanagedVersion;
+        this.premanagedScope = premanagedScope;
+        this.versionConstraint = versionConstraint;
+        this.optional = optional;
+        this.exclusions = exclusions;
+        this.nodeString = nodeString;
+    }
+    // CHECKSTYLE_ON: ParameterNumber
+
+    @Override
+    public Artifact getArtifact() {
+        return artifact;
+    }
+
+    @Override
+    public List<DependencyNode> getChildren() {
+        return children;
+    }
+
+    /**
+     * @param children the children of the node
+     */
+    void setChildren(List<DependencyNode> children) {
+        this.children = children;
+    }
+
+    @Override
+    public boolean accept(DependencyNodeVisitor visitor) {
+        if (visitor.visit(this)) {
+            for (DependencyNode child : getChildren()) {
+                if (!child.accept(visitor)) {
+                    break;
+                }
+            }
+        }
+
+        return visitor.endVisit(this);
+    }
+
+    @Override
+    public DependencyNode getParent() {
+        return parent;
+    }
+
+    @Override
+    public String getPremanagedVersion() {
+        return premanagedVersion;
+    }
+
+    @Override
+    public String getPremanagedScope() {
+        return premanagedScope;
+    }
+
+    @Override
+    public String getVersionConstraint() {
+        return versionConstraint;
+    }
+
+    @Override
+    public String toNodeString() {
+        return nodeString;
+    }
+
+    @Override
+    public Boolean getOptional() {
+        return optional;
+    }
+
+    @Override
+    public List<Exclusion> getExclusions() {
+        return exclusions;
+    }
+}
@@ -53,7 +53,7 @@ public class DOTDependencyNodeVisitor extends AbstractSerializingVisitor impleme
 
         // Generate "currentNode -> Child" lines
 
-        List<DependencyNode> children = node.getChildren();
+        List<DependencyNode> children = getChildren(node);
 
         for (DependencyNode child : children) {
             writer.println("\t\"" + node.toNodeString() + "\" -> \"" + child.toNodeString() + "\" ; ");
@@ -0,0 +1,368 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.tree;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.model.Profile;
+import org.apache.maven.plugins.dependency.utils.AtomicFileUtil;
+import org.apache.maven.plugins.dependency.utils.DependencyUtil;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.dependency.graph.DependencyNode;
+import org.apache.maven.shared.dependency.graph.traversal.DependencyNodeVisitor;
+import org.eclipse.aether.repository.RemoteRepository;
+
+/**
+ * Caches the dependency graph of a project in a binary file, keyed by a fingerprint of what the graph is built from:
+ * the dependencies and dependency management of the project and of the reactor projects it depends on, its active
+ * profiles and its remote repositories. The cached graph is returned as long as the fingerprint does not change.
+ * <p>
+ * Only the last graph of the project is kept. Nodes are reloaded as {@link CopiedDependencyNode}, so that verbose nodes
+ * are displayed as when they were built.
+ *
+ * @since 3.8.2
+ */
+class DependencyGraphCache {
+
+    private static final int MAGIC = 0x4d444743;
+
+    private static final int VERSION = 1;
+
+    private static final int NULL = -1;
+
+    private final File cacheFile;
+
+    /**
+     * @param cacheFile the cache file, which does not need to exist
+     */
+    DependencyGraphCache(File cacheFile) {
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * @return the cache file
+     */
+    File getCacheFile() {
+        return cacheFile;
+    }
+
+    /**
+     * Computes the fingerprint of the dependency graph of a project.
+     *
+     * @param project the project
+     * @param reactorProjects the projects of the reactor, whose dependencies are part of the graph of the projects
+     *            depending on them
+     * @param options the options of the graph builder, such as the scope filter
+     * @return the fingerprint
+     */
+    static String getFingerprint(MavenProject project, Collection<MavenProject> reactorProjects, String options) {
+        Map<String, MavenProject> reactor = new HashMap<>();
+        if (reactorProjects != null) {
+            for (MavenProject reactorProject : reactorProjects) {
+                reactor.put(getKey(reactorProject), reactorProject);
+            }
+        }
+
+        StringBuilder fingerprint = new StringBuilder();
+        fingerprint.append("version ").append(VERSION).append('\n');
+        fingerprint.append("options ").append(options).append('\n');
+        appendProject(fingerprint, project, reactor, new HashSet<>());
+        return DependencyUtil.getSha1(fingerprint.toString());
+    }
+
+    private static void appendProject(
+            StringBuilder fingerprint, MavenProject project, Map<String, MavenProject> reactor, Set<String> visited) {
+        String key = getKey(project);
+        if (!visited.add(key)) {
+            return;
+        }
+        fingerprint.append("project ").append(key).append(':').append(project.getPackaging());
+        fingerprint.append('\n');
+        if (project.getActiveProfiles() != null) {
+            for (Profile profile : project.getActiveProfiles()) {
+                fingerprint.append("profile ").append(profile.getId()).append('\n');
+            }
+        }
+        if (project.getRemoteProjectRepositories() != null) {
+            for (RemoteRepository repository : project.getRemoteProjectRepositories()) {
+                fingerprint.append("repository ").append(repository.getId());
+                fingerprint.append(' ').append(repository.getUrl()).append('\n');
+            }
+        }
+        if (project.getDependencyManagement() != null) {
+            for (Dependency dependency : project.getDependencyManagement().getDependencies()) {
+                appendDependency(fingerprint.append("managed "), dependency);
+            }
+        }
+        List<MavenProject> reactorDependencies = new ArrayList<>();
+        if (project.getDependencies() != null) {
+            for (Dependency dependency : project.getDependencies()) {
+                appendDependency(fingerprint.append("dependency "), dependency);
+                MavenProject reactorProject = reactor.get(
+                        dependency.getGroupId() + ':' + dependency.getArtifactId() + ':' + dependency.getVersion());
+                if (reactorProject != null) {
+                    reactorDependencies.add(reactorProject);
+                }
+            }
+        }
+        for (MavenProject reactorProject : reactorDependencies) {
+            appendProject(fingerprint, reactorProject, reactor, visited);
+        }
+    }
+
+    private static void appendDependency(StringBuilder fingerprint, Dependency dependency) {
+        fingerprint
+                .append(dependency.getManagementKey())
+                .append(':')
+                .append(dependency.getVersion())
+                .append(':')
+                .append(dependency.getScope())
+                .append(':')
+                .append(dependency.isOptional())
+                .append(':')
+                .append(dependency.getSystemPath());
+        for (Exclusion exclusion : dependency.getExclusions()) {
+            fingerprint.append(" exclude ").append(exclusion.getGroupId()).append(':');
+            fingerprint.append(exclusion.getArtifactId());
+        }
+        fingerprint.append('\n');
+    }
+
+    private static String getKey(MavenProject project) {
+        return project.getGroupId() + ':' + project.getArtifactId() + ':' + project.getVersion();
+    }
+
+    /**
+     * Reads the cached graph, if it has the specified fingerprint.
+     *
+     * @param fingerprint the fingerprint of the graph
+     * @return the root node of the cached graph, or <code>null</code> if there is none or it has another fingerprint
+     * @throws IOException if the cache file exists but is not a readable cache
+     */
+    DependencyNode load(String fingerprint) throws IOException {
+        if (!cacheFile.isFile()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new GZIPInputStream(Files.newInputStream(cacheFile.toPath()))))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unsupported cache format");
+            }
+            if (!fingerprint.equals(in.readUTF())) {
+                return null;
+            }
+            String[] strings = new String[in.readInt()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = in.readUTF();
+            }
+            return readNode(in, strings, null);
+        }
+    }
+
+    /**
+     * Replaces the cached graph, atomically.
+     *
+     * @param fingerprint the fingerprint of the graph
+     * @param rootNode the root node of the graph
+     * @throws IOException if the cache file could not be written
+     */
+    void save(String fingerprint, DependencyNode rootNode) throws IOException {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        rootNode.accept(new DependencyNodeVisitor() {
+            @Override
+            public boolean visit(DependencyNode node) {
+                Artifact artifact = node.getArtifact();
+                for (String value : new String[] {
+                    artifact.getGroupId(),
+                    artifact.getArtifactId(),
+                    artifact.getVersion(),
+                    artifact.getType(),
+                    artifact.getClassifier(),
+                    artifact.getScope(),
+                    node.getPremanagedVersion(),
+                    node.getPremanagedScope(),
+                    node.getVersionConstraint(),
+                    node.toNodeString()
+                }) {
+                    intern(strings, value);
+                }
+                if (node.getExclusions() != null) {
+                    for (Exclusion exclusion : node.getExclusions()) {
+                        intern(strings, exclusion.getGroupId());
+                        intern(strings, exclusion.getArtifactId());
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public boolean endVisit(DependencyNode node) {
+                return true;
+            }
+        });
+
+        AtomicFileUtil.write(cacheFile, stream -> {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(stream)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(fingerprint);
+                out.writeInt(strings.size());
+                for (String value : strings.keySet()) {
+                    out.writeUTF(value);
+                }
+                writeNode(out, strings, rootNode);
+            }
+        });
+    }
+
+    private static void intern(Map<String, Integer> strings, String value) {
+        if (value != null && !strings.containsKey(value)) {
+            strings.put(value, strings.size());
+        }
+    }
+
+    private static void writeNode(DataOutputStream out, Map<String, Integer> strings, DependencyNode node)
+            throws IOException {
+        Artifact artifact = node.getArtifact();
+        if (artifact.getVersion() == null) {
+            throw new IOException("Cannot cache " + artifact + " without version");
+        }
+        writeString(out, strings, artifact.getGroupId());
+        writeString(out, strings, artifact.getArtifactId());
+        writeString(out, strings, artifact.getVersion());
+        writeString(out, strings, artifact.getType());
+        writeString(out, strings, artifact.getClassifier());
+        writeString(out, strings, artifact.getScope());
+        out.writeBoolean(artifact.isOptional());
+        writeString(out, strings, node.getPremanagedVersion());
+        writeString(out, strings, node.getPremanagedScope());
+        writeString(out, strings, node.getVersionConstraint());
+        Boolean optional = node.getOptional();
+        out.writeByte(optional == null ? 0 : optional ? 2 : 1);
+        List<Exclusion> exclusions = node.getExclusions();
+        if (exclusions == null) {
+            out.writeInt(NULL);
+        } else {
+            out.writeInt(exclusions.size());
+            for (Exclusion exclusion : exclusions) {
+                writeString(out, strings, exclusion.getGroupId());
+                writeString(out, strings, exclusion.getArtifactId());
+            }
+        }
+        writeString(out, strings, node.toNodeString());
+
+        out.writeInt(node.getChildren().size());
+        for (DependencyNode child : node.getChildren()) {
+            writeNode(out, strings, child);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, Map<String, Integer> strings, String value)
+            throws IOException {
+        out.writeInt(value == null ? NULL : strings.get(value));
+    }
+
+    private static DependencyNode readNode(DataInputStream in, String[] strings, DependencyNode parent)
+            throws IOException {
+        String groupId = readString(in, strings);
+        String artifactId = readString(in, strings);
+        String version = readString(in, strings);
+        String type = readString(in, strings);
+        String classifier = readString(in, strings);
+        String scope = readString(in, strings);
+        boolean artifactOptional = in.readBoolean();
+        Artifact artifact = new DefaultArtifact(
+                groupId,
+                artifactId,
+                VersionRange.createFromVersion(version),
+                scope,
+                type,
+                classifier,
+                new DefaultArtifactHandler(type),
+                artifactOptional);
+
+        String premanagedVersion = readString(in, strings);
+        String premanagedScope = readString(in, strings);
+        String versionConstraint = readString(in, strings);
+        byte optional = in.readByte();
+        int exclusionCount = in.readInt();
+        List<Exclusion> exclusions = null;
+        if (exclusionCount != NULL) {
+            exclusions = new ArrayList<>(exclusionCount);
+            for (int i = 0; i < exclusionCount; i++) {
+                Exclusion exclusion = new Exclusion();
+                exclusion.setGroupId(readString(in, strings));
+                exclusion.setArtifactId(readString(in, strings));
+                exclusions.add(exclusion);
+            }
+        }
+        String nodeString = readString(in, strings);
+
+        CopiedDependencyNode node = new CopiedDependencyNode(
+                parent,
+                artifact,
+                premanagedVersion,
+                premanagedScope,
+                versionConstraint,
+                optional == 0 ? null : optional == 2,
+                exclusions,
+                nodeString);
+        int childCount = in.readInt();
+        List<DependencyNode> children = new ArrayList<>(childCount);
+        for (int i = 0; i < childCount; i++) {
+            children.add(readNode(in, strings, node));
+        }
+        node.setChildren(Collections.unmodifiableList(children));
+        return node;
+    }
+
+    private static String readString(DataInputStream in, String[] strings) throws IOException {
+        int index = in.readInt();
+        if (index == NULL) {
+            return null;
+        }
+        if (index < 0 || index >= strings.length) {
+            throw new IOException("Invalid string index " + index);
+        }
+        return strings[index];
+    }
+}
@@ -18,8 +18,10 @@
  */
 package org.apache.maven.plugins.dependency.tree;
 
+import java.io.PrintWriter;
 import java.io.Writer;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.apache.maven.artifact.Artifact;
@@ -58,54 +60,54 @@ public class JsonDependencyNodeVisitor extends AbstractSerializingVisitor implem
     private void writeRootNode(DependencyNode node) {
         Set<DependencyNode> visited = new HashSet<DependencyNode>();
         int indent = 2;
-        StringBuilder sb = new StringBuilder();
-        sb.append("{").append("\n");
-        writeNode(indent, node, sb, visited);
-        sb.append("}").append("\n");
-        writer.write(sb.toString());
+        writer.append("{").append("\n");
+        writeNode(indent, node, writer, visited);
+        writer.append("}").append("\n");
     }
     /**
-     * Appends the node and its children to the string builder.
+     * Appends the node and its children to the writer.
      *
      * @param indent  the current indent level
      * @param node  the node to write
-     * @param sb  the string builder to append to
+     * @param out  the writer to append to
      */
-    private void writeNode(int indent, DependencyNode node, StringBuilder sb, Set<DependencyNode> visited) {
+    private void writeNode(int indent, DependencyNode node, PrintWriter out, Set<DependencyNode> visited) {
         if (visited.contains(node)) {
             // Circular dependency detected
             // Should an exception be thrown?
             return;
         }
         visited.add(node);
-        appendNodeValues(sb, indent, node.getArtifact(), !node.getChildren().isEmpty());
-        if (!node.getChildren().isEmpty()) {
-            writeChildren(indent, node, sb, visited);
+        List<DependencyNode> children = getChildren(node);
+        appendNodeValues(out, indent, node.getArtifact(), !children.isEmpty());
+        if (!children.isEmpty()) {
+            writeChildren(indent, children, out, visited);
         }
     }
     /**
-     * Writes the children of the node to the string builder. And each children of each node will be written recursively.
+     * Writes the children of a node to the writer. And each children of each node will be written recursively.
      *
      * @param indent  the current indent level
-     * @param node  the node to write
-     * @param sb  the string builder to append to
+     * @param children  the serialized children of the node
+     * @param out  the writer to append to
      */
-    private void writeChildren(int indent, DependencyNode node, StringBuilder sb, Set<DependencyNode> visited) {
-        sb.append(indent(indent)).append("\"children\": [").append("\n");
+    private void writeChildren(
+            int indent, List<DependencyNode> children, PrintWriter out, Set<DependencyNode> visited) {
+        out.append(indent(indent)).append("\"children\": [").append("\n");
         indent += 2;
-        for (int i = 0; i < node.getChildren().size(); i++) {
-            DependencyNode child = node.getChildren().get(i);
-            sb.append(indent(indent));
-            sb.append("{").append("\n");
-            writeNode(indent + 2, child, sb, visited);
-            sb.append(indent(indent)).append("}");
+        for (int i = 0; i < children.size(); i++) {
+            DependencyNode child = children.get(i);
+            out.append(indent(indent));
+            out.append("{").append("\n");
+            writeNode(indent + 2, child, out, visited);
+            out.append(indent(indent)).append("}");
             // we skip the comma for the last child
-            if (i != node.getChildren().size() - 1) {
-                sb.append(",");
+            if (i != children.size() - 1) {
+                out.append(",");
             }
-            sb.append("\n");
+            out.append("\n");
         }
-        sb.append(indent(indent)).append("]").append("\n");
+        out.append(indent(indent)).append("]").append("\n");
     }
 
     @Override
@@ -113,40 +115,40 @@ public class JsonDependencyNodeVisitor extends AbstractSerializingVisitor implem
         return true;
     }
     /**
-     * Appends the artifact values to the string builder.
+     * Appends the artifact values to the writer.
      *
-     * @param sb  the string builder to append to
+     * @param out  the writer to append to
      * @param indent  the current indent level
      * @param artifact  the artifact to write
      * @param hasChildren  true if the artifact has children
      */
-    private void appendNodeValues(StringBuilder sb, int indent, Artifact artifact, boolean hasChildren) {
-        appendKeyValue(sb, indent, "groupId", artifact.getGroupId());
-        appendKeyValue(sb, indent, "artifactId", artifact.getArtifactId());
-        appendKeyValue(sb, indent, "version", artifact.getVersion());
-        appendKeyValue(sb, indent, "type", artifact.getType());
-        appendKeyValue(sb, indent, "scope", artifact.getScope());
-        appendKeyValue(sb, indent, "classifier", artifact.getClassifier());
+    private void appendNodeValues(PrintWriter out, int indent, Artifact artifact, boolean hasChildren) {
+        appendKeyValue(out, indent, "groupId", artifact.getGroupId());
+        appendKeyValue(out, indent, "artifactId", artifact.getArtifactId());
+        appendKeyValue(out, indent, "version", artifact.getVersion());
+        appendKeyValue(out, indent, "type", artifact.getType());
+        appendKeyValue(out, indent, "scope", artifact.getScope());
+        appendKeyValue(out, indent, "classifier", artifact.getClassifier());
         if (hasChildren) {
-            appendKeyValue(sb, indent, "optional", String.valueOf(artifact.isOptional()));
+            appendKeyValue(out, indent, "optional", String.valueOf(artifact.isOptional()));
         } else {
-            appendKeyWithoutComma(sb, indent, "optional", String.valueOf(artifact.isOptional()));
+            appendKeyWithoutComma(out, indent, "optional", String.valueOf(artifact.isOptional()));
         }
     }
     /**
-     * Appends a key value pair to the string builder.
+     * Appends a key value pair to the writer.
      *
-     * @param sb  the string builder to append to
+     * @param out  the writer to append to
      * @param indent  the current indent level
      * @param key  the key used as json key
      * @param value  the value used as json value
      */
-    private void appendKeyValue(StringBuilder sb, int indent, String key, String value) {
+    private void appendKeyValue(PrintWriter out, int indent, String key, String value) {
         if (value == null) {
             value = "";
         }
 
-        sb.append(indent(indent))
+        out.append(indent(indent))
                 .append("\"")
                 .append(key)
                 .append("\"")
@@ -159,19 +161,19 @@ public class JsonDependencyNodeVisitor extends AbstractSerializingVisitor implem
                 .append("\n");
     }
     /**
-     * Appends a key value pair to the string builder without a comma at the end. This is used for the last children of a node.
+     * Appends a key value pair to the writer without a comma at the end. This is used for the last children of a node.
      *
-     * @param sb  the string builder to append to
+     * @param out  the writer to append to
      * @param indent  the current indent level
      * @param key  the key used as json key
      * @param value  the value used as json value
      */
-    private void appendKeyWithoutComma(StringBuilder sb, int indent, String key, String value) {
+    private void appendKeyWithoutComma(PrintWriter out, int indent, String key, String value) {
         if (value == null) {
             value = "";
         }
 
-        sb.append(indent(indent))
+        out.append(indent(indent))
                 .append("\"")
                 .append(key)
                 .append("\"")
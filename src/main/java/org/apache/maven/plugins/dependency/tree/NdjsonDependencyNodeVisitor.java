@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.tree;
+
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.shared.dependency.graph.DependencyNode;
+import org.apache.maven.shared.dependency.graph.traversal.DependencyNodeVisitor;
+
+/**
+ * A dependency node visitor that serializes visited nodes to <a href="https://github.com/ndjson/ndjson-spec">newline
+ * delimited JSON</a>, one JSON object per line, written as soon as a node is visited. It is meant for tools reading
+ * the trees of many projects with a streaming parser.
+ * <p>
+ * Each tree starts with a line <code>{"tree":"groupId:artifactId:version"}</code> giving the coordinates of its root
+ * node, so that the trees of several projects can be appended to the same file. The node ids and string indexes
+ * below are scoped to the tree: they start again at 0 after each such line.
+ * <p>
+ * Coordinates are interned: each distinct string is defined once, by a line <code>{"string":3,"value":"jar"}</code>
+ * written before the first node using it. A node is then a line like
+ * <code>{"id":1,"parent":0,"g":0,"a":2,"v":1,"t":3,"s":4,"c":5,"o":true}</code>, where <code>id</code> is the
+ * index of the node in the tree, <code>parent</code> the id of its parent, absent for the root node, and
+ * <code>g</code>, <code>a</code>, <code>v</code>, <code>t</code>, <code>s</code> and <code>c</code> the indexes
+ * of its groupId, artifactId, version, type, scope and classifier. The scope and classifier are absent when the
+ * artifact has none, and <code>o</code> is only present for optional dependencies. A parent is always written before
+ * its children.
+ *
+ * @since 3.8.2
+ */
+public class NdjsonDependencyNodeVisitor extends AbstractSerializingVisitor implements DependencyNodeVisitor {
+
+    private final Map<String, Integer> strings = new HashMap<>();
+
+    /**
+     * The ids of the nodes of the current path.
+     */
+    private final Deque<Integer> parentIds = new ArrayDeque<>();
+
+    private int nodeCount;
+
+    /**
+     * Constructor.
+     *
+     * @param writer the writer to write to.
+     */
+    public NdjsonDependencyNodeVisitor(Writer writer) {
+        super(writer);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean visit(DependencyNode node) {
+        Artifact artifact = node.getArtifact();
+        if (parentIds.isEmpty()) {
+            startTree(artifact);
+        }
+        int groupId = intern(artifact.getGroupId());
+        int artifactId = intern(artifact.getArtifactId());
+        int version = intern(artifact.getVersion());
+        int type = intern(artifact.getType());
+        int scope = intern(artifact.getScope());
+        int classifier = intern(artifact.getClassifier());
+
+        int id = nodeCount++;
+        StringBuilder line = new StringBuilder(80);
+        line.append("{\"id\":").append(id);
+        if (!parentIds.isEmpty()) {
+            line.append(",\"parent\":").append(parentIds.peek());
+        }
+        line.append(",\"g\":").append(groupId);
+        line.append(",\"a\":").append(artifactId);
+        line.append(",\"v\":").append(version);
+        line.append(",\"t\":").append(type);
+        if (scope >= 0) {
+            line.append(",\"s\":").append(scope);
+        }
+        if (classifier >= 0) {
+            line.append(",\"c\":").append(classifier);
+        }
+        if (artifact.isOptional()) {
+            line.append(",\"o\":true");
+        }
+        writer.println(line.append('}'));
+
+        parentIds.push(id);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean endVisit(DependencyNode node) {
+        parentIds.pop();
+        return true;
+    }
+
+    /**
+     * Writes the line starting a new tree, and restarts the node ids and string indexes.
+     *
+     * @param root the artifact of the root node of the tree
+     */
+    private void startTree(Artifact root) {
+        strings.clear();
+        nodeCount = 0;
+        StringBuilder line = new StringBuilder(80);
+        line.append("{\"tree\":");
+        appendString(line, root.getGroupId() + ':' + root.getArtifactId() + ':' + root.getVersion());
+        writer.println(line.append('}'));
+    }
+
+    /**
+     * Gets the index of the specified string, writing its definition when it is first seen.
+     *
+     * @param value the string
+     * @return the index of the string, or <code>-1</code> if the string is <code>null</code> or empty
+     */
+    private int intern(String value) {
+        if (value == null || value.isEmpty()) {
+            return -1;
+        }
+        Integer index = strings.get(value);
+        if (index == null) {
+            index = strings.size();
+            strings.put(value, index);
+            StringBuilder line = new StringBuilder(value.length() + 24);
+            line.append("{\"string\":").append(index).append(",\"value\":");
+            appendString(line, value);
+            writer.println(line.append('}'));
+        }
+        return index;
+    }
+
+    /**
+     * Appends the specified string as a JSON string, with quotes and escapes.
+     *
+     * @param line the line to append to
+     * @param value the string
+     */
+    private static void appendString(StringBuilder line, String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    line.append("\\\"");
+                    break;
+                case '\\':
+                    line.append("\\\\");
+                    break;
+                case '\n':
+                    line.append("\\n");
+                    break;
+                case '\r':
+                    line.append("\\r");
+                    break;
+                case '\t':
+                    line.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+            }
+        }
+        line.append('"');
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.tree;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.maven.shared.dependency.graph.DependencyNode;
+import org.apache.maven.shared.dependency.graph.filter.DependencyNodeFilter;
+import org.apache.maven.shared.dependency.graph.traversal.DependencyNodeVisitor;
+
+/**
+ * A dependency node filter accepting the nodes matched by another filter, and their ancestors. The tree is walked once
+ * when the filter is created: a node is kept when it matches, or when one of its children is kept, which is known when
+ * the node is left. This replaces collecting the matching nodes and then checking every node against all of them with
+ * {@link org.apache.maven.shared.dependency.graph.filter.AncestorOrSelfDependencyNodeFilter}.
+ *
+ * @since 3.8.2
+ */
+class PruningDependencyNodeFilter implements DependencyNodeFilter {
+
+    private final Set<DependencyNode> keptNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * @param rootNode the root node of the tree to filter
+     * @param filter the filter of the matching nodes
+     */
+    PruningDependencyNodeFilter(DependencyNode rootNode, DependencyNodeFilter filter) {
+        rootNode.accept(new DependencyNodeVisitor() {
+            /**
+             * Whether a node of the subtree of each node of the current path is kept, from the root node.
+             */
+            private final List<Boolean> keepBits = new ArrayList<>();
+
+            @Override
+            public boolean visit(DependencyNode node) {
+                keepBits.add(filter.accept(node));
+                return true;
+            }
+
+            @Override
+            public boolean endVisit(DependencyNode node) {
+                if (keepBits.remove(keepBits.size() - 1)) {
+                    keptNodes.add(node);
+                    if (!keepBits.isEmpty()) {
+                        keepBits.set(keepBits.size() - 1, true);
+                    }
+                }
+                return true;
+            }
+        });
+    }
+
+    @Override
+    public boolean accept(DependencyNode node) {
+        return keptNodes.contains(node);
+    }
+}
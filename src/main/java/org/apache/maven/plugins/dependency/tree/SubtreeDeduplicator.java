@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.tree;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.shared.dependency.graph.DependencyNode;
+import org.apache.maven.shared.dependency.graph.filter.DependencyNodeFilter;
+import org.apache.maven.shared.dependency.graph.traversal.DependencyNodeVisitor;
+
+/**
+ * Removes the subtrees already listed from dependency trees, so that the trees of the projects of a reactor, which
+ * mostly share the same dependencies, are listed once. The dependencies of a node are omitted when a node with the
+ * same serialized form and the same dependencies was listed before, in this tree or in a previous one.
+ * <p>
+ * Identical subtrees are found by numbering each distinct subtree from its node and the numbers of its children, so
+ * that subtrees are compared without walking them again.
+ *
+ * @since 3.8.2
+ */
+class SubtreeDeduplicator {
+
+    /**
+     * Appended to the nodes whose dependencies are omitted.
+     */
+    static final String OMITTED = " (dependencies listed above)";
+
+    /**
+     * The number of each distinct subtree, by serialized node and numbers of its children.
+     */
+    private final Map<String, Integer> subtreeIds = new HashMap<>();
+
+    /**
+     * The numbers of the subtrees already listed.
+     */
+    private final BitSet listedSubtrees = new BitSet();
+
+    private int omittedCount;
+
+    /**
+     * Copies the specified tree, without the dependencies of the nodes whose subtree was already listed.
+     *
+     * @param rootNode the root node of the tree
+     * @param filter the filter of the nodes to list, accepting the parent of every node it accepts, or
+     *            <code>null</code> to list all nodes
+     * @return the root node of the copy
+     */
+    DependencyNode deduplicate(DependencyNode rootNode, DependencyNodeFilter filter) {
+        Map<DependencyNode, Integer> ids = new IdentityHashMap<>();
+        rootNode.accept(new DependencyNodeVisitor() {
+            /**
+             * The numbers of the children of each node of the current path.
+             */
+            private final Deque<List<Integer>> childIds = new ArrayDeque<>();
+
+            @Override
+            public boolean visit(DependencyNode node) {
+                if (filter != null && !filter.accept(node)) {
+                    return false;
+                }
+                childIds.push(new ArrayList<>());
+                return true;
+            }
+
+            @Override
+            public boolean endVisit(DependencyNode node) {
+                if (filter != null && !filter.accept(node)) {
+                    return true;
+                }
+                String key = node.toNodeString() + childIds.pop();
+                Integer id = subtreeIds.get(key);
+                if (id == null) {
+                    id = subtreeIds.size();
+                    subtreeIds.put(key, id);
+                }
+                ids.put(node, id);
+                if (!childIds.isEmpty()) {
+                    childIds.peek().add(id);
+                }
+                return true;
+            }
+        });
+        return copy(rootNode, null, ids);
+    }
+
+    private DependencyNode copy(DependencyNode node, DependencyNode parent, Map<DependencyNode, Integer> ids) {
+        List<DependencyNode> children = new ArrayList<>();
+        for (DependencyNode child : node.getChildren()) {
+            if (ids.containsKey(child)) {
+                children.add(child);
+            }
+        }
+
+        int id = ids.get(node);
+        if (!children.isEmpty() && listedSubtrees.get(id)) {
+            omittedCount++;
+            return new CopiedDependencyNode(parent, node, node.toNodeString() + OMITTED);
+        }
+        listedSubtrees.set(id);
+
+        CopiedDependencyNode copy = new CopiedDependencyNode(parent, node, node.toNodeString());
+        List<DependencyNode> copiedChildren = new ArrayList<>(children.size());
+        for (DependencyNode child : children) {
+            copiedChildren.add(copy(child, copy, ids));
+        }
+        copy.setChildren(copiedChildren);
+        return copy;
+    }
+
+    /**
+     * @return the number of nodes whose dependencies were omitted
+     */
+    int getOmittedCount() {
+        return omittedCount;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.tree;
+
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.shared.dependency.graph.DependencyNode;
+import org.apache.maven.shared.dependency.graph.traversal.DependencyNodeVisitor;
+import org.apache.maven.shared.dependency.graph.traversal.SerializingDependencyNodeVisitor;
+import org.apache.maven.shared.dependency.graph.traversal.SerializingDependencyNodeVisitor.GraphTokens;
+
+/**
+ * A dependency node visitor that serializes visited nodes to text, as {@link SerializingDependencyNodeVisitor} does.
+ * Whether a node is the last child of its parent is known by looking ahead at the children of the parent when the
+ * parent is visited, so that the tree is serialized in a single traversal, even when it is filtered with
+ * {@link #setNodeFilter(org.apache.maven.shared.dependency.graph.filter.DependencyNodeFilter)}.
+ *
+ * @since 3.8.2
+ */
+public class TextDependencyNodeVisitor extends AbstractSerializingVisitor implements DependencyNodeVisitor {
+
+    private final GraphTokens tokens;
+
+    /**
+     * Whether each node of the current path is the last child of its parent, from the root node.
+     */
+    private final List<Boolean> lastNodes = new ArrayList<>();
+
+    /**
+     * The last serialized child of each node of the current path, from the root node.
+     */
+    private final List<DependencyNode> lastChildren = new ArrayList<>();
+
+    /**
+     * Constructor.
+     *
+     * @param writer the writer to write to.
+     * @param tokens the tokens to use when indenting nodes.
+     */
+    public TextDependencyNodeVisitor(Writer writer, GraphTokens tokens) {
+        super(writer);
+        this.tokens = tokens;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean visit(DependencyNode node) {
+        int depth = lastChildren.size();
+        boolean last = depth == 0 || lastChildren.get(depth - 1) == node;
+
+        for (int i = 1; i < depth; i++) {
+            writer.write(tokens.getFillIndent(lastNodes.get(i)));
+        }
+        if (depth > 0) {
+            writer.write(tokens.getNodeIndent(last));
+        }
+        writer.println(node.toNodeString());
+
+        lastNodes.add(last);
+        lastChildren.add(getLastChild(node));
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean endVisit(DependencyNode node) {
+        lastNodes.remove(lastNodes.size() - 1);
+        lastChildren.remove(lastChildren.size() - 1);
+        return true;
+    }
+}
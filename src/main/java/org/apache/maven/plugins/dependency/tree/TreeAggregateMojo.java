@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.tree;
+
+import javax.inject.Inject;
+
+import java.io.File;
+import java.util.List;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.dependency.graph.DependencyCollectorBuilder;
+import org.apache.maven.shared.dependency.graph.DependencyGraphBuilder;
+
+/**
+ * Displays the dependency trees of all the projects of the reactor, in a single execution. The graphs are built one
+ * after the other, so that only one graph is held in memory at a time, the output being locked only while each tree
+ * is written. Building them in one execution does not share more than the repository session of the build already
+ * does between executions: the gain is in the output. As the projects of a reactor mostly share the same
+ * dependencies, the dependencies of a node are only displayed the first time the same subtree is met, later
+ * occurrences being marked with <code>(dependencies listed above)</code>. The <code>json</code> and
+ * <code>ndjson</code> outputs, which have no such mark, list the whole tree of every project.
+ * <p>
+ * It supports the same parameters as the <a href="tree-mojo.html">tree</a> goal. When the dependency graph cache is
+ * enabled, each project has its own cache file, named as <code>graphCacheFile</code>, in its build directory.
+ *
+ * @since 3.8.2
+ */
+@Mojo(name = "tree-aggregate", aggregator = true, threadSafe = true)
+public class TreeAggregateMojo extends TreeMojo {
+
+    /**
+     * The Maven projects in the reactor.
+     */
+    @Parameter(defaultValue = "${reactorProjects}", readonly = true, required = true)
+    private List<MavenProject> reactorProjects;
+
+    @Inject
+    public TreeAggregateMojo(
+            MavenProject project,
+            MavenSession session,
+            DependencyCollectorBuilder dependencyCollectorBuilder,
+            DependencyGraphBuilder dependencyGraphBuilder) {
+        super(project, session, dependencyCollectorBuilder, dependencyGraphBuilder);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected List<MavenProject> getProjects() {
+        return reactorProjects;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected File getGraphCacheFile(MavenProject theProject) {
+        return new File(
+                theProject.getBuild().getDirectory(),
+                super.getGraphCacheFile(theProject).getName());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean isDeduplicatingSubtrees() {
+        return true;
+    }
+}
@@ -22,9 +22,9 @@ import javax.inject.Inject;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.StringWriter;
+import java.io.PrintWriter;
 import java.io.Writer;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -38,21 +38,17 @@ import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.plugins.dependency.utils.DependencyUtil;
+import org.apache.maven.plugins.dependency.utils.LogWriter;
 import org.apache.maven.project.DefaultProjectBuildingRequest;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.ProjectBuildingRequest;
-import org.apache.maven.shared.artifact.filter.StrictPatternExcludesArtifactFilter;
-import org.apache.maven.shared.artifact.filter.StrictPatternIncludesArtifactFilter;
 import org.apache.maven.shared.dependency.graph.DependencyCollectorBuilder;
 import org.apache.maven.shared.dependency.graph.DependencyCollectorBuilderException;
 import org.apache.maven.shared.dependency.graph.DependencyGraphBuilder;
 import org.apache.maven.shared.dependency.graph.DependencyGraphBuilderException;
 import org.apache.maven.shared.dependency.graph.DependencyNode;
-import org.apache.maven.shared.dependency.graph.filter.AncestorOrSelfDependencyNodeFilter;
-import org.apache.maven.shared.dependency.graph.filter.AndDependencyNodeFilter;
 import org.apache.maven.shared.dependency.graph.filter.ArtifactDependencyNodeFilter;
 import org.apache.maven.shared.dependency.graph.filter.DependencyNodeFilter;
-import org.apache.maven.shared.dependency.graph.traversal.CollectingDependencyNodeVisitor;
 import org.apache.maven.shared.dependency.graph.traversal.DependencyNodeVisitor;
 import org.apache.maven.shared.dependency.graph.traversal.FilteringDependencyNodeVisitor;
 import org.apache.maven.shared.dependency.graph.traversal.SerializingDependencyNodeVisitor;
@@ -104,9 +100,10 @@ public class TreeMojo extends AbstractMojo {
 
     /**
      * If specified, this parameter will cause the dependency tree to be written using the specified format. Currently
-     * supported formats are: <code>text</code> (default), <code>dot</code>, <code>graphml</code>, <code>tgf</code>
-     * and <code>json</code> (since 3.7.0).
-     * These additional formats can be plotted to image files.
+     * supported formats are: <code>text</code> (default), <code>dot</code>, <code>graphml</code>, <code>tgf</code>,
+     * <code>json</code> (since 3.7.0) and <code>ndjson</code> (since 3.8.2).
+     * The <code>dot</code>, <code>graphml</code> and <code>tgf</code> formats can be plotted to image files. The
+     * <code>ndjson</code> format writes one node per line with interned coordinates, for tools reading many trees.
      *
      * @since 2.2
      */
@@ -155,7 +152,7 @@ public class TreeMojo extends AbstractMojo {
      * <code>org.apache.</code>, and <code>:::*-SNAPSHOT</code> will match all snapshot artifacts.
      * </p>
      *
-     * @see StrictPatternIncludesArtifactFilter
+     * @see org.apache.maven.shared.artifact.filter.StrictPatternIncludesArtifactFilter
      * @since 2.0-alpha-6
      */
     @Parameter(property = "includes")
@@ -176,7 +173,7 @@ public class TreeMojo extends AbstractMojo {
      * <code>org.apache.</code>, and <code>:::*-SNAPSHOT</code> will match all snapshot artifacts.
      * </p>
      *
-     * @see StrictPatternExcludesArtifactFilter
+     * @see org.apache.maven.shared.artifact.filter.StrictPatternExcludesArtifactFilter
      * @since 2.0-alpha-6
      */
     @Parameter(property = "excludes")
@@ -203,6 +200,25 @@ public class TreeMojo extends AbstractMojo {
     @Parameter(property = "skip", defaultValue = "false")
     private boolean skip;
 
+    /**
+     * Whether to cache the dependency graph in {@link #graphCacheFile}, and to reuse it while the dependencies, the
+     * dependency management, the active profiles and the remote repositories of the project, and of the reactor
+     * projects it depends on, stay the same. Changes of remote SNAPSHOT or version range dependencies are not detected:
+     * the graph is rebuilt when updating snapshots with <code>-U</code>.
+     *
+     * @since 3.8.2
+     */
+    @Parameter(property = "mdep.graphCache", defaultValue = "false")
+    private boolean graphCache;
+
+    /**
+     * The file caching the dependency graph of the project, when {@link #graphCache} is enabled.
+     *
+     * @since 3.8.2
+     */
+    @Parameter(property = "mdep.graphCacheFile", defaultValue = "${project.build.directory}/dependency-graph.cache")
+    private File graphCacheFile;
+
     @Inject
     public TreeMojo(
             MavenProject project,
@@ -228,34 +244,31 @@ public class TreeMojo extends AbstractMojo {
         }
 
         try {
-            String dependencyTreeString;
-
             // TODO: note that filter does not get applied due to MSHARED-4
             ArtifactFilter artifactFilter = createResolvingArtifactFilter();
 
-            ProjectBuildingRequest buildingRequest =
-                    new DefaultProjectBuildingRequest(session.getProjectBuildingRequest());
-
-            buildingRequest.setProject(project);
-
-            if (verbose) {
-                rootNode = dependencyCollectorBuilder.collectDependencyGraph(buildingRequest, artifactFilter);
-                dependencyTreeString = serializeDependencyTree(rootNode);
-            } else {
-                // non-verbose mode use dependency graph component, which gives consistent results with Maven version
-                // running
-                rootNode = dependencyGraphBuilder.buildDependencyGraph(buildingRequest, artifactFilter);
-
-                dependencyTreeString = serializeDependencyTree(rootNode);
+            List<MavenProject> projects = getProjects();
+            // the json and ndjson outputs are built from the artifacts of the nodes: they could not tell the nodes
+            // whose dependencies are omitted
+            boolean deduplicating =
+                    isDeduplicatingSubtrees() && !"json".equals(outputType) && !"ndjson".equals(outputType);
+            SubtreeDeduplicator deduplicator = deduplicating ? new SubtreeDeduplicator() : null;
+
+            // each graph is built before locking the output, which only guards the writing of its tree
+            String encoding = Objects.toString(outputEncoding, "UTF-8");
+            rootNode = buildDependencyGraph(projects.get(0), artifactFilter);
+            writeDependencyTree(rootNode, this.appendOutput, encoding, deduplicator);
+            for (MavenProject theProject : projects.subList(1, projects.size())) {
+                rootNode = buildDependencyGraph(theProject, artifactFilter);
+                writeDependencyTree(rootNode, true, encoding, deduplicator);
             }
 
             if (outputFile != null) {
-                String encoding = Objects.toString(outputEncoding, "UTF-8");
-                DependencyUtil.write(dependencyTreeString, outputFile, this.appendOutput, encoding);
-
                 getLog().info("Wrote dependency tree to: " + outputFile);
-            } else {
-                DependencyUtil.log(dependencyTreeString, getLog());
+            }
+
+            if (deduplicator != null) {
+                getLog().debug("Omitted the dependencies of " + deduplicator.getOmittedCount() + " nodes listed above");
             }
         } catch (DependencyGraphBuilderException | DependencyCollectorBuilderException exception) {
             throw new MojoExecutionException("Cannot build project dependency graph", exception);
@@ -264,6 +277,37 @@ public class TreeMojo extends AbstractMojo {
         }
     }
 
+    /**
+     * Gets the projects whose dependency tree is displayed.
+     *
+     * @return the current project
+     * @since 3.8.2
+     */
+    protected List<MavenProject> getProjects() {
+        return Collections.singletonList(project);
+    }
+
+    /**
+     * Gets the file caching the dependency graph of a project, when {@link #graphCache} is enabled.
+     *
+     * @param theProject one of the projects returned by {@link #getProjects()}
+     * @return {@link #graphCacheFile}
+     * @since 3.8.2
+     */
+    protected File getGraphCacheFile(MavenProject theProject) {
+        return graphCacheFile;
+    }
+
+    /**
+     * Whether to omit the dependencies of the nodes whose subtree was already displayed.
+     *
+     * @return <code>false</code>, every dependency of the tree of a project is displayed
+     * @since 3.8.2
+     */
+    protected boolean isDeduplicatingSubtrees() {
+        return false;
+    }
+
     // public methods ---------------------------------------------------------
 
     /**
@@ -300,6 +344,115 @@ public class TreeMojo extends AbstractMojo {
 
     // private methods --------------------------------------------------------
 
+    /**
+     * Builds the dependency graph of a project, or reads it from the cache.
+     *
+     * @param theProject the project
+     * @param artifactFilter the artifact filter to use when resolving the dependency tree
+     * @return the root node of the graph
+     */
+    private DependencyNode buildDependencyGraph(MavenProject theProject, ArtifactFilter artifactFilter)
+            throws DependencyGraphBuilderException, DependencyCollectorBuilderException {
+        ProjectBuildingRequest buildingRequest = new DefaultProjectBuildingRequest(session.getProjectBuildingRequest());
+
+        buildingRequest.setProject(theProject);
+
+        DependencyGraphCache cache = null;
+        String fingerprint = null;
+        if (graphCache) {
+            cache = new DependencyGraphCache(getGraphCacheFile(theProject));
+            fingerprint = DependencyGraphCache.getFingerprint(
+                    theProject, session.getProjects(), "verbose=" + verbose + " scope=" + scope);
+            DependencyNode cachedNode = loadCachedGraph(cache, fingerprint);
+            if (cachedNode != null) {
+                return cachedNode;
+            }
+        }
+
+        DependencyNode graph;
+        if (verbose) {
+            graph = dependencyCollectorBuilder.collectDependencyGraph(buildingRequest, artifactFilter);
+        } else {
+            // non-verbose mode use dependency graph component, which gives consistent results with Maven version
+            // running
+            graph = dependencyGraphBuilder.buildDependencyGraph(buildingRequest, artifactFilter);
+        }
+
+        if (cache != null) {
+            saveCachedGraph(cache, fingerprint, graph);
+        }
+        return graph;
+    }
+
+    /**
+     * Writes a dependency tree to {@link #outputFile}, or to the log if no output file is set. The output file may be
+     * shared by the projects of a parallel build: it is only locked while writing the tree, so that the trees do not
+     * interleave. As with <code>DependencyUtil.log</code>, the lines of a tree are kept
+     * together in the log.
+     *
+     * @param theRootNode the root node of the tree
+     * @param append whether to append the tree to the output file or to overwrite it
+     * @param encoding the encoding of the output file
+     * @param deduplicator removes the subtrees already serialized, or <code>null</code> to serialize the complete tree
+     * @throws IOException if the serialized tree could not be written
+     */
+    private void writeDependencyTree(
+            DependencyNode theRootNode, boolean append, String encoding, SubtreeDeduplicator deduplicator)
+            throws IOException {
+        if (outputFile != null) {
+            synchronized (DependencyUtil.getFileLock(outputFile)) {
+                try (Writer writer = DependencyUtil.newWriter(outputFile, append, encoding)) {
+                    serializeDependencyTree(theRootNode, writer, deduplicator);
+                }
+            }
+        } else {
+            synchronized (DependencyUtil.class) {
+                try (Writer writer = new LogWriter(getLog())) {
+                    serializeDependencyTree(theRootNode, writer, deduplicator);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the dependency graph from the cache.
+     *
+     * @param cache the graph cache
+     * @param fingerprint the fingerprint of the graph
+     * @return the cached root node, or <code>null</code> if the graph must be built
+     */
+    private DependencyNode loadCachedGraph(DependencyGraphCache cache, String fingerprint) {
+        if (session.getRequest() != null && session.getRequest().isUpdateSnapshots()) {
+            getLog().debug("Ignoring dependency graph cache while updating snapshots");
+            return null;
+        }
+        try {
+            DependencyNode cachedNode = cache.load(fingerprint);
+            if (cachedNode != null) {
+                getLog().debug("Using cached dependency graph from " + cache.getCacheFile());
+            }
+            return cachedNode;
+        } catch (IOException e) {
+            getLog().warn("Ignoring unreadable dependency graph cache " + cache.getCacheFile() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the dependency graph to the cache.
+     *
+     * @param cache the graph cache
+     * @param fingerprint the fingerprint of the graph
+     * @param graph the root node of the graph
+     */
+    private void saveCachedGraph(DependencyGraphCache cache, String fingerprint, DependencyNode graph) {
+        try {
+            cache.save(fingerprint, graph);
+        } catch (IOException e) {
+            getLog().warn("Unable to write dependency graph cache " + cache.getCacheFile() + ": " + e.getMessage());
+        }
+    }
+
     /**
      * Gets the artifact filter to use when resolving the dependency tree.
      *
@@ -321,34 +474,44 @@ public class TreeMojo extends AbstractMojo {
     }
 
     /**
-     * Serializes the specified dependency tree to a string.
+     * Serializes the specified dependency tree to the specified writer, node by node, so that the serialized tree is
+     * never held in memory.
      *
      * @param theRootNode the dependency tree root node to serialize
-     * @return the serialized dependency tree
+     * @param writer the writer to serialize to, left open
+     * @param deduplicator removes the subtrees already serialized, or <code>null</code> to serialize the complete tree
+     * @throws IOException if the serialized tree could not be written
      */
-    private String serializeDependencyTree(DependencyNode theRootNode) {
-        StringWriter writer = new StringWriter();
+    private void serializeDependencyTree(DependencyNode theRootNode, Writer writer, SubtreeDeduplicator deduplicator)
+            throws IOException {
+        // serializers print to a PrintWriter, which would flush each line when created by them
+        PrintWriter printWriter = new PrintWriter(writer);
 
-        DependencyNodeVisitor visitor = getSerializingDependencyNodeVisitor(writer);
-
-        // TODO: remove the need for this when the serializer can calculate last nodes from visitor calls only
-        visitor = new BuildingDependencyNodeVisitor(visitor);
+        DependencyNodeVisitor visitor = getSerializingDependencyNodeVisitor(printWriter);
 
         DependencyNodeFilter filter = createDependencyNodeFilter();
 
-        if (filter != null) {
-            CollectingDependencyNodeVisitor collectingVisitor = new CollectingDependencyNodeVisitor();
-            DependencyNodeVisitor firstPassVisitor = new FilteringDependencyNodeVisitor(collectingVisitor, filter);
-            theRootNode.accept(firstPassVisitor);
-
-            DependencyNodeFilter secondPassFilter =
-                    new AncestorOrSelfDependencyNodeFilter(collectingVisitor.getNodes());
-            visitor = new FilteringDependencyNodeVisitor(visitor, secondPassFilter);
+        DependencyNodeFilter pruningFilter =
+                filter != null ? new PruningDependencyNodeFilter(theRootNode, filter) : null;
+
+        DependencyNode serializedNode = theRootNode;
+        if (deduplicator != null) {
+            // the copy only holds the filtered nodes
+            serializedNode = deduplicator.deduplicate(theRootNode, pruningFilter);
+        } else if (pruningFilter != null) {
+            // serializers looking at children skip the filtered ones, without copying the tree
+            if (visitor instanceof AbstractSerializingVisitor) {
+                ((AbstractSerializingVisitor) visitor).setNodeFilter(pruningFilter);
+            }
+            visitor = new FilteringDependencyNodeVisitor(visitor, pruningFilter);
         }
 
-        theRootNode.accept(visitor);
+        serializedNode.accept(visitor);
 
-        return writer.toString();
+        // PrintWriter swallows I/O errors
+        if (printWriter.checkError()) {
+            throw new IOException("Cannot write the dependency tree");
+        }
     }
 
     /**
@@ -364,8 +527,10 @@ public class TreeMojo extends AbstractMojo {
             return new DOTDependencyNodeVisitor(writer);
         } else if ("json".equals(outputType)) {
             return new JsonDependencyNodeVisitor(writer);
+        } else if ("ndjson".equals(outputType)) {
+            return new NdjsonDependencyNodeVisitor(writer);
         } else {
-            return new SerializingDependencyNodeVisitor(writer, toGraphTokens(tokens));
+            return new TextDependencyNodeVisitor(writer, toGraphTokens(tokens));
         }
     }
 
@@ -399,26 +564,22 @@ public class TreeMojo extends AbstractMojo {
      * @return the dependency node filter, or <code>null</code> if none required
      */
     private DependencyNodeFilter createDependencyNodeFilter() {
-        List<DependencyNodeFilter> filters = new ArrayList<>();
+        boolean hasIncludes = includes != null && !includes.isEmpty();
+        boolean hasExcludes = excludes != null && !excludes.isEmpty();
 
         // filter includes
-        if (includes != null && !includes.isEmpty()) {
-
+        if (hasIncludes) {
             getLog().debug("+ Filtering dependency tree by artifact include patterns: " + includes);
-
-            ArtifactFilter artifactFilter = new StrictPatternIncludesArtifactFilter(includes);
-            filters.add(new ArtifactDependencyNodeFilter(artifactFilter));
         }
 
         // filter excludes
-        if (excludes != null && !excludes.isEmpty()) {
-
+        if (hasExcludes) {
             getLog().debug("+ Filtering dependency tree by artifact exclude patterns: " + excludes);
-
-            ArtifactFilter artifactFilter = new StrictPatternExcludesArtifactFilter(excludes);
-            filters.add(new ArtifactDependencyNodeFilter(artifactFilter));
         }
 
-        return filters.isEmpty() ? null : new AndDependencyNodeFilter(filters);
+        if (!hasIncludes && !hasExcludes) {
+            return null;
+        }
+        return new ArtifactDependencyNodeFilter(new ArtifactPatternFilter(includes, excludes));
     }
 }
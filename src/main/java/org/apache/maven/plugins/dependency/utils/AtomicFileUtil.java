@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes and locks the files shared by builds, such as caches and marker indexes.
+ *
+ * @since 3.8.2
+ */
+public final class AtomicFileUtil {
+
+    private static final Map<Path, ReentrantLock> LOCKS = new ConcurrentHashMap<>();
+
+    private AtomicFileUtil() {
+        // no op
+    }
+
+    /**
+     * Writes the content of a file.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        /**
+         * @param out the stream to write the content to, closing it is optional
+         * @throws IOException if the content could not be written
+         */
+        void write(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Writes a file atomically: the content is written to a temporary file of the same directory, which then replaces
+     * the file, so that readers and interrupted builds never see a truncated file. The parent directories are created
+     * if needed.
+     *
+     * @param file the file to write
+     * @param writer the writer of the content
+     * @throws IOException if the file could not be written, it is then left unchanged
+     */
+    public static void write(File file, ContentWriter writer) throws IOException {
+        Path target = file.toPath().toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), file.getName(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                writer.write(out);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Locks a file against the other threads of this JVM and the other processes, for a read-modify-write cycle. The
+     * lock is held on a sibling file named after the file with a <code>.lock</code> suffix, so that the file itself can
+     * be replaced by {@link #write(File, ContentWriter)} while locked. The lock is not reentrant.
+     *
+     * @param file the file to lock, which does not need to exist
+     * @return the lock, to be closed to release it
+     * @throws IOException if the lock file could not be created or locked
+     */
+    public static Closeable lock(File file) throws IOException {
+        Path lockFile = file.toPath().toAbsolutePath().resolveSibling(file.getName() + ".lock");
+        // file locks are held by the JVM: threads have to be excluded first
+        ReentrantLock threadLock = LOCKS.computeIfAbsent(lockFile, path -> new ReentrantLock());
+        threadLock.lock();
+        try {
+            Files.createDirectories(lockFile.getParent());
+            FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            try {
+                FileLock fileLock = channel.lock();
+                return () -> {
+                    try {
+                        fileLock.release();
+                        channel.close();
+                    } finally {
+                        threadLock.unlock();
+                    }
+                };
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        } catch (IOException | RuntimeException e) {
+            threadLock.unlock();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * This logger records messages and replays them on another logger. Tasks running on worker threads log to their own
+ * instance, which is flushed from the mojo thread so that the build output keeps the order of a sequential run.
+ *
+ * @since 3.8.2
+ */
+public class BufferedLog implements Log {
+
+    private final Log target;
+
+    private final List<Consumer<Log>> messages = new ArrayList<>();
+
+    /**
+     * @param target the logger the messages are replayed on, also used to tell which levels are enabled
+     */
+    public BufferedLog(Log target) {
+        this.target = target;
+    }
+
+    /**
+     * Replays the recorded messages on the target logger and forgets them.
+     */
+    public synchronized void flush() {
+        for (Consumer<Log> message : messages) {
+            message.accept(target);
+        }
+        messages.clear();
+    }
+
+    private synchronized void record(Consumer<Log> message) {
+        messages.add(message);
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return target.isDebugEnabled();
+    }
+
+    @Override
+    public void debug(CharSequence content) {
+        record(log -> log.debug(content));
+    }
+
+    @Override
+    public void debug(CharSequence content, Throwable error) {
+        record(log -> log.debug(content, error));
+    }
+
+    @Override
+    public void debug(Throwable error) {
+        record(log -> log.debug(error));
+    }
+
+    @Override
+    public boolean isInfoEnabled() {
+        return target.isInfoEnabled();
+    }
+
+    @Override
+    public void info(CharSequence content) {
+        record(log -> log.info(content));
+    }
+
+    @Override
+    public void info(CharSequence content, Throwable error) {
+        record(log -> log.info(content, error));
+    }
+
+    @Override
+    public void info(Throwable error) {
+        record(log -> log.info(error));
+    }
+
+    @Override
+    public boolean isWarnEnabled() {
+        return target.isWarnEnabled();
+    }
+
+    @Override
+    public void warn(CharSequence content) {
+        record(log -> log.warn(content));
+    }
+
+    @Override
+    public void warn(CharSequence content, Throwable error) {
+        record(log -> log.warn(content, error));
+    }
+
+    @Override
+    public void warn(Throwable error) {
+        record(log -> log.warn(error));
+    }
+
+    @Override
+    public boolean isErrorEnabled() {
+        return target.isErrorEnabled();
+    }
+
+    @Override
+    public void error(CharSequence content) {
+        record(log -> log.error(content));
+    }
+
+    @Override
+    public void error(CharSequence content, Throwable error) {
+        record(log -> log.error(content, error));
+    }
+
+    @Override
+    public void error(Throwable error) {
+        record(log -> log.error(error));
+    }
+}
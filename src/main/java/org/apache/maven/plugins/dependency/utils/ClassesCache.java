@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caches the classes of jar files, as listed by {@link ClassesUtil#getClassChecksums(File)}, in memory and optionally
+ * in a binary file. An entry is keyed by the path of the jar, and trusted as long as the jar keeps the recorded size
+ * and timestamp; a jar with another size or timestamp is scanned again, as reading its central directory costs less
+ * than digesting its whole content.
+ * <p>
+ * The cache file can be shared by several builds and projects: {@link #save()} merges the entries updated since
+ * {@link #load()} into the current content of the file, under a file lock.
+ * <p>
+ * This class is thread safe: jars are scanned outside of any lock.
+ *
+ * @since 3.8.2
+ */
+public class ClassesCache {
+
+    private static final int MAGIC = 0x4d444343;
+
+    private static final int VERSION = 2;
+
+    private final File cacheFile;
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    private final Set<String> updated = new HashSet<>();
+
+    private int scanned;
+
+    /**
+     * @param cacheFile the cache file, which does not need to exist, or <code>null</code> to only cache the classes in
+     *            memory, for the lifetime of this instance
+     */
+    public ClassesCache(File cacheFile) {
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * Reads the cache file, if it exists.
+     *
+     * @throws IOException if the cache file exists but is not a readable cache, the cache is then empty
+     */
+    public synchronized void load() throws IOException {
+        entries.clear();
+        updated.clear();
+        if (cacheFile != null) {
+            entries.putAll(read(cacheFile));
+        }
+    }
+
+    /**
+     * Writes the cache file, if any, and if a jar was scanned since it was loaded. The entries updated since then are
+     * merged into the current content of the file, under a file lock, so that concurrent builds do not lose each
+     * other's entries. Entries of jars which no longer exist are dropped, and the file is replaced atomically.
+     *
+     * @throws IOException if the cache file could not be written
+     */
+    public synchronized void save() throws IOException {
+        if (cacheFile == null
+                || (updated.isEmpty() && entries.keySet().stream().allMatch(path -> new File(path).isFile()))) {
+            return;
+        }
+        try (Closeable lock = AtomicFileUtil.lock(cacheFile)) {
+            Map<String, Entry> merged = new HashMap<>();
+            try {
+                merged.putAll(read(cacheFile));
+            } catch (IOException e) {
+                // replaced by the entries of this cache
+            }
+            for (String path : updated) {
+                merged.put(path, entries.get(path));
+            }
+            merged.keySet().removeIf(path -> !new File(path).isFile());
+            AtomicFileUtil.write(cacheFile, stream -> write(stream, merged));
+            entries.clear();
+            entries.putAll(merged);
+            updated.clear();
+        }
+    }
+
+    private static Map<String, Entry> read(File cacheFile) throws IOException {
+        Map<String, Entry> entries = new HashMap<>();
+        if (!cacheFile.isFile()) {
+            return entries;
+        }
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new GZIPInputStream(Files.newInputStream(cacheFile.toPath()))))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unsupported cache format");
+            }
+            int entryCount = in.readInt();
+            for (int i = 0; i < entryCount; i++) {
+                String path = in.readUTF();
+                Entry entry = new Entry(in.readLong(), in.readLong());
+                int classCount = in.readInt();
+                for (int j = 0; j < classCount; j++) {
+                    entry.classes.put(in.readUTF(), in.readLong());
+                }
+                entries.put(path, entry);
+            }
+        }
+        return entries;
+    }
+
+    private static void write(OutputStream stream, Map<String, Entry> entries) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(stream)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(entries.size());
+            for (Map.Entry<String, Entry> pathEntry : entries.entrySet()) {
+                Entry entry = pathEntry.getValue();
+                out.writeUTF(pathEntry.getKey());
+                out.writeLong(entry.size);
+                out.writeLong(entry.lastModified);
+                out.writeInt(entry.classes.size());
+                for (Map.Entry<String, Long> clazz : entry.classes.entrySet()) {
+                    out.writeUTF(clazz.getKey());
+                    out.writeLong(clazz.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * @param jar the jar file
+     * @return the names of the classes of the jar mapped to the CRC-32 of their class file, in archive order
+     * @throws IOException if the file is not a readable archive
+     */
+    public Map<String, Long> getClassChecksums(File jar) throws IOException {
+        String path = jar.getAbsolutePath();
+        long size = jar.length();
+        long lastModified = jar.lastModified();
+        Entry cached;
+        synchronized (this) {
+            cached = entries.get(path);
+        }
+        if (cached != null && cached.size == size && cached.lastModified == lastModified) {
+            return Collections.unmodifiableMap(cached.classes);
+        }
+
+        Entry entry = new Entry(size, lastModified);
+        entry.classes.putAll(ClassesUtil.getClassChecksums(jar));
+        synchronized (this) {
+            scanned++;
+            entries.put(path, entry);
+            updated.add(path);
+        }
+        return Collections.unmodifiableMap(entry.classes);
+    }
+
+    /**
+     * @return the number of jars scanned, because they were not in the cache or changed
+     */
+    public synchronized int getScanned() {
+        return scanned;
+    }
+
+    private static class Entry {
+        private final long size;
+
+        private final long lastModified;
+
+        private final Map<String, Long> classes = new LinkedHashMap<>();
+
+        Entry(long size, long lastModified) {
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+}
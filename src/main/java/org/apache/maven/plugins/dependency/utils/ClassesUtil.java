@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Lists the classes of jar files. Only the central directory of the archive is read, the entries are never inflated.
+ *
+ * @since 3.8.2
+ */
+public final class ClassesUtil {
+
+    private static final String CLASS_SUFFIX = ".class";
+
+    private ClassesUtil() {
+        // no op
+    }
+
+    /**
+     * @param jar the jar file
+     * @return the names of the classes of the jar, i.e. <code>org.example.Foo$Bar</code>, in archive order
+     * @throws IOException if the file is not a readable archive
+     */
+    public static List<String> getClassNames(File jar) throws IOException {
+        List<String> classNames = new ArrayList<>();
+        try (ZipFile zipFile = new ZipFile(jar)) {
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                String entryName = entries.nextElement().getName();
+                // filter out files that do not end in .class
+                if (entryName.endsWith(CLASS_SUFFIX)) {
+                    classNames.add(toClassName(entryName));
+                }
+            }
+        }
+        return classNames;
+    }
+
+    /**
+     * @param jar the jar file
+     * @return the names of the classes of the jar mapped to the CRC-32 of their class file, in archive order
+     * @throws IOException if the file is not a readable archive
+     */
+    public static Map<String, Long> getClassChecksums(File jar) throws IOException {
+        Map<String, Long> classes = new LinkedHashMap<>();
+        try (ZipFile zipFile = new ZipFile(jar)) {
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                String entryName = entry.getName();
+                if (entryName.endsWith(CLASS_SUFFIX)) {
+                    classes.put(toClassName(entryName), entry.getCrc());
+                }
+            }
+        }
+        return classes;
+    }
+
+    private static String toClassName(String entryName) {
+        // remove .class from the end and change format to use periods instead of forward slashes
+        return entryName
+                .substring(0, entryName.length() - CLASS_SUFFIX.length())
+                .replace('/', '.');
+    }
+
+    /**
+     * @param className a class name, as returned by {@link #getClassNames(File)}
+     * @return the package of the class, the empty string for the default package
+     */
+    public static String getPackageName(String className) {
+        int lastDot = className.lastIndexOf('.');
+        return lastDot < 0 ? "" : className.substring(0, lastDot);
+    }
+
+    /**
+     * @param classNames class names
+     * @return the distinct packages of the classes, without the default package, in order of first appearance
+     */
+    public static Set<String> getPackageNames(List<String> classNames) {
+        Set<String> packageNames = new LinkedHashSet<>();
+        for (String className : classNames) {
+            String packageName = getPackageName(className);
+            if (!packageName.isEmpty()) {
+                packageNames.add(packageName);
+            }
+        }
+        return packageNames;
+    }
+}
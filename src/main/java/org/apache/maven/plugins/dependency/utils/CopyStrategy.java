@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.utils;
+
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * How {@link CopyUtil} puts an artifact file at its destination. Every strategy but {@link #COPY} falls back to a
+ * plain copy when the file system does not support it.
+ *
+ * @since 3.8.2
+ */
+public enum CopyStrategy {
+    /**
+     * Copy the file content.
+     */
+    COPY("copy"),
+
+    /**
+     * Create a hard link to the artifact file, which requires both files to be on the same file system.
+     */
+    HARDLINK("hardlink"),
+
+    /**
+     * Create a symbolic link to the artifact file.
+     */
+    SYMLINK("symlink"),
+
+    /**
+     * Create a copy-on-write clone of the artifact file, on file systems supporting it (Btrfs, XFS, APFS...).
+     */
+    REFLINK("reflink");
+
+    private final String id;
+
+    CopyStrategy(String id) {
+        this.id = id;
+    }
+
+    /**
+     * @return the name of this strategy, as used in the plugin configuration
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @param id the name of the strategy, as used in the plugin configuration
+     * @return the matching strategy, {@link #COPY} if {@code id} is empty
+     * @throws MojoExecutionException if there is no strategy with this name
+     */
+    public static CopyStrategy forId(String id) throws MojoExecutionException {
+        if (id == null || id.isEmpty()) {
+            return COPY;
+        }
+        for (CopyStrategy strategy : values()) {
+            if (strategy.id.equalsIgnoreCase(id.trim())) {
+                return strategy;
+            }
+        }
+        throw new MojoExecutionException(
+                "Unknown copyStrategy '" + id + "', expected one of copy, hardlink, symlink or reflink");
+    }
+}
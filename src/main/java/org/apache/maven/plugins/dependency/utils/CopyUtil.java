@@ -24,6 +24,18 @@ import javax.inject.Singleton;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -61,15 +73,193 @@ public class CopyUtil {
      * @since 3.7.0
      */
     public void copyArtifactFile(Artifact sourceArtifact, File destination) throws IOException, MojoExecutionException {
-        File source = sourceArtifact.getFile();
-        if (source.isDirectory()) {
+        copyArtifactFile(sourceArtifact, destination, CopyStrategy.COPY);
+    }
+
+    /**
+     * Copies or links the artifact (file)
+     *
+     * @param sourceArtifact the artifact (file) to copy
+     * @param destination file name of destination file
+     * @param strategy how to put the file at its destination
+     * @throws IOException if copy has failed
+     * @throws MojoExecutionException if artifact file is a directory (which has not been packaged yet)
+     *
+     * @since 3.8.2
+     */
+    public void copyArtifactFile(Artifact sourceArtifact, File destination, CopyStrategy strategy)
+            throws IOException, MojoExecutionException {
+        checkPackaged(sourceArtifact);
+        logger.debug("Copying artifact '{}' ({}) to {}", sourceArtifact.getId(), sourceArtifact.getFile(), destination);
+        transfer(sourceArtifact.getFile(), destination, strategy, new HashSet<>());
+        buildContext.refresh(destination);
+    }
+
+    /**
+     * Copies several artifacts (files), using up to {@code threads} concurrent copies.
+     * <p>
+     * The destination files are refreshed in the build context on the calling thread, in iteration order of
+     * {@code copies}, once every copy has finished. When several artifacts share the same destination, only the last
+     * one is copied, which is the file a sequential copy would leave behind.
+     *
+     * @param copies the artifacts (files) to copy, mapped to their destination file
+     * @param threads maximum number of concurrent copies, see {@link ParallelUtil#getThreadCount(int)}
+     * @throws MojoExecutionException if an artifact file is a directory or if a copy has failed
+     *
+     * @since 3.8.2
+     */
+    public void copyArtifactFiles(Map<Artifact, File> copies, int threads) throws MojoExecutionException {
+        copyArtifactFiles(copies, threads, CopyStrategy.COPY);
+    }
+
+    /**
+     * Copies or links several artifacts (files), using up to {@code threads} concurrent copies.
+     * <p>
+     * The JDK has no API for copy-on-write clones: {@link CopyStrategy#REFLINK} starts one <code>cp</code> process per
+     * file, which costs a few milliseconds each. Once a link or a clone has failed from a file system to a directory,
+     * the remaining files of this call from this file system are copied into that directory without trying again.
+     *
+     * @param copies the artifacts (files) to copy, mapped to their destination file
+     * @param threads maximum number of concurrent copies, see {@link ParallelUtil#getThreadCount(int)}
+     * @param strategy how to put the files at their destination
+     * @throws MojoExecutionException if an artifact file is a directory or if a copy has failed
+     * @see #copyArtifactFiles(Map, int)
+     *
+     * @since 3.8.2
+     */
+    public void copyArtifactFiles(Map<Artifact, File> copies, int threads, CopyStrategy strategy)
+            throws MojoExecutionException {
+        Map<File, Artifact> byDestination = new LinkedHashMap<>();
+        for (Map.Entry<Artifact, File> copy : copies.entrySet()) {
+            checkPackaged(copy.getKey());
+            byDestination.remove(copy.getValue());
+            byDestination.put(copy.getValue(), copy.getKey());
+        }
+
+        List<Map.Entry<File, Artifact>> entries = new ArrayList<>(byDestination.entrySet());
+        Set<Object> unsupported = ConcurrentHashMap.newKeySet();
+        try {
+            ParallelUtil.apply(entries, threads, "copy", entry -> {
+                copyFile(entry.getValue(), entry.getKey(), strategy, unsupported);
+                return entry.getKey();
+            });
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof MojoExecutionException) {
+                throw (MojoExecutionException) e.getCause();
+            }
+            throw new MojoExecutionException(e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while copying artifacts", e);
+        }
+
+        for (File destination : byDestination.keySet()) {
+            buildContext.refresh(destination);
+        }
+    }
+
+    private void checkPackaged(Artifact sourceArtifact) throws MojoExecutionException {
+        if (sourceArtifact.getFile().isDirectory()) {
             // usual case is a future jar packaging, but there are special cases: classifier and other packaging
             throw new MojoExecutionException("Artifact '" + sourceArtifact
                     + "' has not been packaged yet (is a directory). When used on reactor artifact, "
                     + "copy should be executed after packaging: see MDEP-187.");
         }
+    }
+
+    private void copyFile(Artifact sourceArtifact, File destination, CopyStrategy strategy, Set<Object> unsupported)
+            throws MojoExecutionException {
         logger.debug("Copying artifact '{}' ({}) to {}", sourceArtifact.getId(), sourceArtifact.getFile(), destination);
-        FileUtils.copyFile(source, destination);
-        buildContext.refresh(destination);
+        try {
+            transfer(sourceArtifact.getFile(), destination, strategy, unsupported);
+        } catch (IOException e) {
+            throw new MojoExecutionException(
+                    "Failed to copy artifact '" + sourceArtifact + "' (" + sourceArtifact.getFile() + ") to "
+                            + destination,
+                    e);
+        }
+    }
+
+    /**
+     * @param unsupported the source file systems and target directories for which linking already failed, updated when
+     *            linking fails
+     */
+    private void transfer(File sourceFile, File destination, CopyStrategy strategy, Set<Object> unsupported)
+            throws IOException {
+        Path source = sourceFile.toPath().toAbsolutePath().normalize();
+        Path target = destination.toPath().toAbsolutePath().normalize();
+        if (source.equals(target)) {
+            return;
+        }
+
+        // never write through a link: that would modify the file in the local repository
+        if (strategy != CopyStrategy.COPY || Files.isSymbolicLink(target) || getLinkCount(target) > 1) {
+            Files.deleteIfExists(target);
+        }
+
+        if (strategy != CopyStrategy.COPY) {
+            Files.createDirectories(target.getParent());
+            // the outcome of a link only depends on the file systems of the source and of the target directory
+            List<Object> key = Arrays.asList(Files.getFileStore(source), target.getParent());
+            if (!unsupported.contains(key)) {
+                try {
+                    if (link(source, target, strategy)) {
+                        return;
+                    }
+                } catch (IOException | UnsupportedOperationException e) {
+                    logger.debug(
+                            "Unable to {} {} to {}, copying it: {}", strategy.getId(), source, target, e.toString());
+                }
+                unsupported.add(key);
+            }
+        }
+        FileUtils.copyFile(sourceFile, destination);
+    }
+
+    private static boolean link(Path source, Path target, CopyStrategy strategy) throws IOException {
+        switch (strategy) {
+            case HARDLINK:
+                Files.createLink(target, source);
+                return true;
+            case SYMLINK:
+                Files.createSymbolicLink(target, source);
+                return true;
+            case REFLINK:
+                return reflink(source, target);
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * The JDK has no API for copy-on-write clones, use <code>cp</code> where it is available.
+     */
+    private static boolean reflink(Path source, Path target) throws IOException {
+        Process process = new ProcessBuilder("cp", "--reflink=always", source.toString(), target.toString())
+                .redirectErrorStream(true)
+                .start();
+        try (InputStream output = process.getInputStream()) {
+            byte[] buffer = new byte[1024];
+            while (output.read(buffer) != -1) {
+                // discard the error message, a plain copy is done instead
+            }
+            if (process.waitFor() == 0) {
+                return true;
+            }
+            Files.deleteIfExists(target);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            process.destroy();
+            throw new IOException("Interrupted while cloning " + source, e);
+        }
+    }
+
+    private static int getLinkCount(Path file) {
+        try {
+            return (Integer) Files.getAttribute(file, "unix:nlink");
+        } catch (IOException | UnsupportedOperationException | IllegalArgumentException e) {
+            return 1;
+        }
     }
 }
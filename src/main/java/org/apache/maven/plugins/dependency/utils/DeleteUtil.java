@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Deletes files and directory trees concurrently, reporting what was freed. The targets are deduplicated first: a
+ * target inside another target is deleted with it. The entries of the target directories are then walked and deleted
+ * on a bounded pool of threads, and the emptied target directories are deleted last. A file which cannot be deleted
+ * does not stop the deletion of the others.
+ *
+ * @since 3.8.2
+ */
+public final class DeleteUtil {
+
+    private DeleteUtil() {
+        // no op
+    }
+
+    /**
+     * What a deletion freed, and what it could not delete.
+     */
+    public static final class Result {
+
+        private long files;
+
+        private long bytes;
+
+        private final List<File> failures = new ArrayList<>();
+
+        /**
+         * @return the number of regular files and links deleted
+         */
+        public long getFiles() {
+            return files;
+        }
+
+        /**
+         * @return the size of the regular files deleted
+         */
+        public long getBytes() {
+            return bytes;
+        }
+
+        /**
+         * @return the files and directories which could not be deleted, with their content for a directory
+         */
+        public List<File> getFailures() {
+            return failures;
+        }
+
+        private void add(Result result) {
+            files += result.files;
+            bytes += result.bytes;
+            failures.addAll(result.failures);
+        }
+    }
+
+    /**
+     * Removes the targets inside another target, and the duplicates.
+     *
+     * @param targets the files or directories to delete
+     * @return the targets not inside another target, as absolute paths, sorted
+     */
+    public static List<Path> removeNested(Collection<File> targets) {
+        List<Path> paths = new ArrayList<>(targets.size());
+        for (File target : targets) {
+            paths.add(target.toPath().toAbsolutePath().normalize());
+        }
+        // a target is kept after its ancestors
+        paths.sort(Comparator.comparingInt(Path::getNameCount).thenComparing(Comparator.naturalOrder()));
+
+        Set<Path> kept = new HashSet<>();
+        List<Path> result = new ArrayList<>();
+        for (Path path : paths) {
+            boolean nested = false;
+            for (Path parent = path; parent != null && !nested; parent = parent.getParent()) {
+                nested = kept.contains(parent);
+            }
+            if (!nested) {
+                kept.add(path);
+                result.add(path);
+            }
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    /**
+     * Deletes files and directory trees. Missing targets are ignored.
+     *
+     * @param targets the files or directories to delete, possibly nested
+     * @param threads the maximum number of concurrent threads, see {@link ParallelUtil#getThreadCount(int)}
+     * @return what was deleted, and what could not be
+     * @throws InterruptedException if the calling thread was interrupted while waiting
+     */
+    public static Result delete(Collection<File> targets, int threads) throws InterruptedException {
+        List<Path> roots = removeNested(targets);
+
+        // the entries of the target directories, and the target files, are deleted concurrently
+        Result result = new Result();
+        List<Path> directories = new ArrayList<>();
+        List<Path> entries = new ArrayList<>();
+        for (Path root : roots) {
+            if (Files.isDirectory(root, LinkOption.NOFOLLOW_LINKS)) {
+                directories.add(root);
+                try (DirectoryStream<Path> children = Files.newDirectoryStream(root)) {
+                    for (Path child : children) {
+                        entries.add(child);
+                    }
+                } catch (IOException e) {
+                    result.failures.add(root.toFile());
+                }
+            } else if (Files.exists(root, LinkOption.NOFOLLOW_LINKS)) {
+                entries.add(root);
+            }
+        }
+
+        try {
+            for (Result entryResult : ParallelUtil.apply(entries, threads, "delete", DeleteUtil::deleteTree)) {
+                result.add(entryResult);
+            }
+        } catch (ExecutionException e) {
+            // deleteTree records its failures rather than throwing them
+            throw new IllegalStateException(e.getCause());
+        }
+
+        for (Path directory : directories) {
+            deleteDirectory(directory, result);
+        }
+        return result;
+    }
+
+    private static void deleteDirectory(Path directory, Result result) {
+        try {
+            Files.deleteIfExists(directory);
+        } catch (DirectoryNotEmptyException e) {
+            // an entry which could not be deleted is already recorded
+        } catch (IOException e) {
+            result.failures.add(directory.toFile());
+        }
+    }
+
+    private static Result deleteTree(Path root) {
+        Result result = new Result();
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                    try {
+                        Files.delete(file);
+                        result.files++;
+                        if (attributes.isRegularFile()) {
+                            result.bytes += attributes.size();
+                        }
+                    } catch (NoSuchFileException e) {
+                        // deleted by another process meanwhile
+                    } catch (IOException e) {
+                        result.failures.add(file.toFile());
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exception) {
+                    if (!(exception instanceof NoSuchFileException)) {
+                        result.failures.add(file.toFile());
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path directory, IOException exception) {
+                    deleteDirectory(directory, result);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            result.failures.add(root.toFile());
+        }
+        return result;
+    }
+
+    /**
+     * @param bytes a size in bytes
+     * @return the size in a human readable form, such as <code>12.3 MB</code>
+     */
+    public static String formatSize(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        String units = "kMGTPE";
+        int unit = -1;
+        double size = bytes;
+        while (size >= 1024 && unit < units.length() - 1) {
+            size /= 1024;
+            unit++;
+        }
+        return String.format(Locale.ROOT, "%.1f %sB", size, units.charAt(unit));
+    }
+}
@@ -21,13 +21,19 @@ package org.apache.maven.plugins.dependency.utils;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.StringReader;
 import java.io.Writer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.OpenOption;
 import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.ArtifactUtils;
@@ -40,6 +46,11 @@ import org.apache.maven.plugin.logging.Log;
  */
 public final class DependencyUtil {
 
+    /**
+     * The locks of the files written, by canonical path.
+     */
+    private static final ConcurrentMap<String, Object> FILE_LOCKS = new ConcurrentHashMap<>();
+
     /**
      * Builds the file name. If removeVersion is set, then the file name must be reconstructed from the artifactId,
      * Classifier (if used) and Type. Otherwise, this method returns the artifact file name.
@@ -214,7 +225,7 @@ public final class DependencyUtil {
      * @deprecated specify an encoding instead of a log
      */
     @Deprecated
-    public static synchronized void write(String string, File file, boolean append, Log log) throws IOException {
+    public static void write(String string, File file, boolean append, Log log) throws IOException {
         write(string, file, append, "UTF-8");
     }
 
@@ -227,20 +238,56 @@ public final class DependencyUtil {
      * @param encoding character set name
      * @throws IOException if an I/O error occurs
      */
-    public static synchronized void write(String string, File file, boolean append, String encoding)
-            throws IOException {
+    public static void write(String string, File file, boolean append, String encoding) throws IOException {
+        synchronized (getFileLock(file)) {
+            try (Writer writer = newWriter(file, append, encoding)) {
+                writer.write(string);
+            }
+        }
+    }
+
+    /**
+     * Gets the lock to hold while writing to the specified file, which may be shared by the projects of a parallel
+     * build. The same lock is returned for every path of the same file, while the writes to different files do not
+     * wait for each other.
+     *
+     * @param file the file to write to
+     * @return the lock of the canonical file
+     * @since 3.8.2
+     */
+    public static Object getFileLock(File file) {
+        String path;
+        try {
+            path = file.getCanonicalPath();
+        } catch (IOException e) {
+            path = file.getAbsolutePath();
+        }
+        return FILE_LOCKS.computeIfAbsent(path, key -> new Object());
+    }
+
+    /**
+     * Opens a buffered writer on the specified file, creating its parent directories if needed. Callers writing to a
+     * file which may be shared with other projects of the reactor should synchronize on {@link #getFileLock(File)}
+     * while writing, as {@link #write(String, File, boolean, String)} does.
+     *
+     * @param file the file to write to
+     * @param append append to existing file or not
+     * @param encoding character set name
+     * @return the writer, to be closed by the caller
+     * @throws IOException if an I/O error occurs
+     * @since 3.8.2
+     */
+    public static Writer newWriter(File file, boolean append, String encoding) throws IOException {
         Files.createDirectories(file.getParentFile().toPath());
 
         OpenOption appendOption = append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING;
 
-        try (Writer writer = Files.newBufferedWriter(
+        return Files.newBufferedWriter(
                 file.toPath(),
                 Charset.forName(encoding),
                 appendOption,
                 StandardOpenOption.CREATE,
-                StandardOpenOption.WRITE)) {
-            writer.write(string);
-        }
+                StandardOpenOption.WRITE);
     }
 
     /**
@@ -275,4 +322,52 @@ public final class DependencyUtil {
 
         return ret;
     }
+
+    /**
+     * Computes the SHA-1 digest of a file.
+     *
+     * @param file the file to digest
+     * @return the digest, as lower case hexadecimal
+     * @throws IOException if the file cannot be read
+     * @since 3.8.2
+     */
+    public static String getSha1(File file) throws IOException {
+        MessageDigest digest = newSha1();
+        byte[] buffer = new byte[65536];
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Computes the SHA-1 digest of a string.
+     *
+     * @param content the string to digest, encoded as UTF-8
+     * @return the digest, as lower case hexadecimal
+     * @since 3.8.2
+     */
+    public static String getSha1(String content) {
+        return toHex(newSha1().digest(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest newSha1() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            // every JVM implements SHA-1
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
 }
@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Finds the version directories of a local repository, with their size and the time they were last used, to evict the
+ * least recently used ones.
+ * <p>
+ * A version directory is a directory without subdirectories holding at least one file other than repository
+ * metadata, such as <code>org/example/foo/1.0</code>. The time it was last used is the latest access or modification
+ * time of its files: on file systems mounted without access times, this is the time it was downloaded or installed.
+ *
+ * @since 3.8.2
+ */
+public final class LocalRepositoryUtil {
+
+    private LocalRepositoryUtil() {
+        // no op
+    }
+
+    /**
+     * A version directory of a local repository.
+     */
+    public static final class VersionDirectory {
+
+        private final Path path;
+
+        private final long size;
+
+        private final long lastUsed;
+
+        VersionDirectory(Path path, long size, long lastUsed) {
+            this.path = path;
+            this.size = size;
+            this.lastUsed = lastUsed;
+        }
+
+        /**
+         * @return the absolute path of the directory
+         */
+        public Path getPath() {
+            return path;
+        }
+
+        /**
+         * @return the size of the files of the directory
+         */
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * @return the latest access or modification time of the files of the directory, in milliseconds since the
+         *         epoch
+         */
+        public long getLastUsed() {
+            return lastUsed;
+        }
+    }
+
+    /**
+     * Finds the version directories of a local repository. The directories at the root of the repository are walked
+     * concurrently; those starting with a dot, such as caches, are ignored. The files and directories which cannot be
+     * read, such as those deleted by a concurrent build, are skipped with a warning, and so are the version directories
+     * holding them.
+     *
+     * @param basedir the root of the local repository
+     * @param threads the maximum number of concurrent threads, see {@link ParallelUtil#getThreadCount(int)}
+     * @param log where to warn about the skipped files and directories
+     * @return the version directories
+     * @throws IOException if the root of the repository could not be read
+     * @throws InterruptedException if the calling thread was interrupted while waiting
+     */
+    public static List<VersionDirectory> scan(File basedir, int threads, Log log)
+            throws IOException, InterruptedException {
+        List<Path> roots = new ArrayList<>();
+        if (basedir.isDirectory()) {
+            try (DirectoryStream<Path> children =
+                    Files.newDirectoryStream(basedir.toPath().toAbsolutePath().normalize())) {
+                for (Path child : children) {
+                    if (!child.getFileName().toString().startsWith(".") && Files.isDirectory(child)) {
+                        roots.add(child);
+                    }
+                }
+            }
+        }
+
+        List<VersionDirectory> versions = new ArrayList<>();
+        try {
+            for (List<VersionDirectory> rootVersions :
+                    ParallelUtil.apply(roots, threads, "scan", root -> scanTree(root, log))) {
+                versions.addAll(rootVersions);
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Cannot scan local repository " + basedir, e.getCause());
+        }
+        return versions;
+    }
+
+    private static List<VersionDirectory> scanTree(Path root, Log log) throws IOException {
+        List<VersionDirectory> versions = new ArrayList<>();
+        Deque<DirectoryContent> walked = new ArrayDeque<>();
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) {
+                if (!walked.isEmpty()) {
+                    walked.peek().subdirectories = true;
+                }
+                walked.push(new DirectoryContent());
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                DirectoryContent content = walked.peek();
+                content.size += attributes.size();
+                content.lastUsed = Math.max(
+                        content.lastUsed,
+                        Math.max(
+                                attributes.lastAccessTime().toMillis(),
+                                attributes.lastModifiedTime().toMillis()));
+                String name = file.getFileName().toString();
+                content.artifacts |= !name.startsWith("maven-metadata") && !name.equals("resolver-status.properties");
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exception) {
+                log.warn("Skipping unreadable local repository location " + file + ": " + exception);
+                if (!walked.isEmpty()) {
+                    // the size and last use of the enclosing directory are unknown
+                    walked.peek().failed = true;
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path directory, IOException exception) {
+                DirectoryContent content = walked.pop();
+                if (exception != null) {
+                    log.warn("Skipping unreadable local repository location " + directory + ": " + exception);
+                } else if (content.artifacts && !content.subdirectories && !content.failed) {
+                    versions.add(new VersionDirectory(directory, content.size, content.lastUsed));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return versions;
+    }
+
+    private static class DirectoryContent {
+        private long size;
+
+        private long lastUsed;
+
+        private boolean artifacts;
+
+        private boolean subdirectories;
+
+        private boolean failed;
+    }
+
+    /**
+     * Selects the least recently used version directories to delete for the repository to fit in a size budget.
+     *
+     * @param versions the version directories of the repository
+     * @param maxSize the size budget of the version directories
+     * @param protectedPaths the version directories which must not be deleted
+     * @return the version directories to delete, least recently used first; the repository may still exceed the
+     *         budget if the protected directories do
+     */
+    public static List<VersionDirectory> selectEvictions(
+            Collection<VersionDirectory> versions, long maxSize, Collection<Path> protectedPaths) {
+        long size = 0;
+        for (VersionDirectory version : versions) {
+            size += version.getSize();
+        }
+        List<VersionDirectory> candidates = new ArrayList<>(versions);
+        candidates.sort(
+                Comparator.comparingLong(VersionDirectory::getLastUsed).thenComparing(VersionDirectory::getPath));
+
+        List<VersionDirectory> evictions = new ArrayList<>();
+        for (VersionDirectory candidate : candidates) {
+            if (size <= maxSize) {
+                break;
+            }
+            if (!protectedPaths.contains(candidate.getPath())) {
+                evictions.add(candidate);
+                size -= candidate.getSize();
+            }
+        }
+        return evictions;
+    }
+
+    /**
+     * @param size a size in bytes, optionally followed by a binary unit: <code>k</code>, <code>M</code>,
+     *            <code>G</code> or <code>T</code>, with an optional <code>B</code>, such as <code>40G</code>
+     * @return the size in bytes
+     * @throws IllegalArgumentException if the size is not valid
+     */
+    public static long parseSize(String size) {
+        String value = size.trim().toUpperCase(Locale.ROOT);
+        if (value.endsWith("B")) {
+            value = value.substring(0, value.length() - 1).trim();
+        }
+        int shift = 0;
+        if (!value.isEmpty()) {
+            int unit = "KMGT".indexOf(value.charAt(value.length() - 1));
+            if (unit >= 0) {
+                shift = 10 * (unit + 1);
+                value = value.substring(0, value.length() - 1).trim();
+            }
+        }
+        try {
+            long bytes = Long.parseLong(value);
+            if (bytes < 0 || bytes > Long.MAX_VALUE >> shift) {
+                throw new IllegalArgumentException("Invalid size: " + size);
+            }
+            return bytes << shift;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid size: " + size, e);
+        }
+    }
+}
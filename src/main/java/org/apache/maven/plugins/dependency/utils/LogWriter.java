@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.utils;
+
+import java.io.Writer;
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * A writer logging every line written to it at info level, as soon as the line is complete. It logs the same lines as
+ * {@link DependencyUtil#log(String, Log)} without holding the whole text in memory. Unlike that method, it does not
+ * lock anything: callers sharing the log with other threads synchronize on {@link DependencyUtil} while writing.
+ *
+ * @since 3.8.2
+ */
+public class LogWriter extends Writer {
+
+    private final Log log;
+
+    private final StringBuilder line = new StringBuilder();
+
+    /**
+     * @param log where to log the lines
+     */
+    public LogWriter(Log log) {
+        this.log = log;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+        int start = off;
+        int end = off + len;
+        for (int i = off; i < end; i++) {
+            if (cbuf[i] == '\n') {
+                line.append(cbuf, start, i - start);
+                logLine();
+                start = i + 1;
+            }
+        }
+        line.append(cbuf, start, end - start);
+    }
+
+    private void logLine() {
+        int length = line.length();
+        if (length > 0 && line.charAt(length - 1) == '\r') {
+            line.setLength(length - 1);
+        }
+        log.info(line.toString());
+        line.setLength(0);
+    }
+
+    /**
+     * Does nothing: a line is logged only once complete.
+     */
+    @Override
+    public void flush() {
+        // no op
+    }
+
+    /**
+     * Logs the last line, if it does not end with a line separator.
+     */
+    @Override
+    public void close() {
+        if (line.length() > 0) {
+            logLine();
+        }
+    }
+}
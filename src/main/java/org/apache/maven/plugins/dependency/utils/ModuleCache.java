@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.maven.plugins.dependency.utils.ModuleUtil.ModuleDescriptor;
+
+/**
+ * Caches the modules of jar files, as detected by {@link ModuleUtil#getModuleDescriptor(File)}, in a binary file. An
+ * entry is keyed by the path of the jar and the Java feature version selecting the <code>module-info.class</code> of
+ * multi-release jars, and trusted as long as the jar keeps the recorded size and timestamp. Class directories are
+ * never cached, as their content changes with every build.
+ * <p>
+ * The cache file can be shared by several builds and projects: {@link #save()} merges the entries updated since
+ * {@link #load()} into the current content of the file, under a file lock.
+ * <p>
+ * This class is thread safe: jars are read outside of any lock.
+ *
+ * @since 3.8.2
+ */
+public class ModuleCache {
+
+    private static final int MAGIC = 0x4d444d43;
+
+    private static final int VERSION = 2;
+
+    private static final byte NONE = 0;
+
+    private static final byte EXPLICIT = 1;
+
+    private static final byte MANIFEST = 2;
+
+    private static final byte FILENAME = 3;
+
+    private static final byte INVALID = 4;
+
+    private final File cacheFile;
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    private final Set<String> updated = new HashSet<>();
+
+    private int scanned;
+
+    /**
+     * @param cacheFile the cache file, which does not need to exist, or null to keep the cache in memory only
+     */
+    public ModuleCache(File cacheFile) {
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * Reads the cache file, if it exists.
+     *
+     * @throws IOException if the cache file exists but is not a readable cache, the cache is then empty
+     */
+    public synchronized void load() throws IOException {
+        entries.clear();
+        updated.clear();
+        if (cacheFile != null) {
+            entries.putAll(read(cacheFile));
+        }
+    }
+
+    /**
+     * Writes the cache file, if a jar was read since it was loaded. The entries updated since then are merged into the
+     * current content of the file, under a file lock, so that concurrent builds do not lose each other's entries.
+     * Entries of jars which no longer exist are dropped, and the file is replaced atomically.
+     *
+     * @throws IOException if the cache file could not be written
+     */
+    public synchronized void save() throws IOException {
+        if (cacheFile == null || (updated.isEmpty() && entries.keySet().stream().allMatch(ModuleCache::exists))) {
+            return;
+        }
+        try (Closeable lock = AtomicFileUtil.lock(cacheFile)) {
+            Map<String, Entry> merged = new HashMap<>();
+            try {
+                merged.putAll(read(cacheFile));
+            } catch (IOException e) {
+                // replaced by the entries of this cache
+            }
+            for (String key : updated) {
+                merged.put(key, entries.get(key));
+            }
+            merged.keySet().removeIf(key -> !exists(key));
+            AtomicFileUtil.write(cacheFile, stream -> write(stream, merged));
+            entries.clear();
+            entries.putAll(merged);
+            updated.clear();
+        }
+    }
+
+    private static String getKey(File file) {
+        return ModuleUtil.getRuntimeVersion() + ":" + file.getAbsolutePath();
+    }
+
+    private static boolean exists(String key) {
+        return new File(key.substring(key.indexOf(':') + 1)).isFile();
+    }
+
+    private static Map<String, Entry> read(File cacheFile) throws IOException {
+        Map<String, Entry> entries = new HashMap<>();
+        if (!cacheFile.isFile()) {
+            return entries;
+        }
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new GZIPInputStream(Files.newInputStream(cacheFile.toPath()))))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unsupported cache format");
+            }
+            int entryCount = in.readInt();
+            for (int i = 0; i < entryCount; i++) {
+                String key = in.readUTF();
+                long size = in.readLong();
+                long lastModified = in.readLong();
+                byte kind = in.readByte();
+                String value = kind == NONE ? null : in.readUTF();
+                entries.put(key, new Entry(size, lastModified, toDescriptor(kind, value)));
+            }
+        }
+        return entries;
+    }
+
+    private static void write(OutputStream stream, Map<String, Entry> entries) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(stream)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(entries.size());
+            for (Map.Entry<String, Entry> keyEntry : entries.entrySet()) {
+                Entry entry = keyEntry.getValue();
+                out.writeUTF(keyEntry.getKey());
+                out.writeLong(entry.size);
+                out.writeLong(entry.lastModified);
+                ModuleDescriptor descriptor = entry.descriptor;
+                if (descriptor == null) {
+                    out.writeByte(NONE);
+                } else if (descriptor.getError() != null) {
+                    out.writeByte(INVALID);
+                    out.writeUTF(descriptor.getError());
+                } else {
+                    out.writeByte(getKind(descriptor));
+                    out.writeUTF(descriptor.getName());
+                }
+            }
+        }
+    }
+
+    /**
+     * @param file a jar file or a class directory
+     * @return the module, as returned by {@link ModuleUtil#getModuleDescriptor(File)}, with an error if the file could
+     *         not be read
+     */
+    public ModuleDescriptor getModuleDescriptor(File file) {
+        if (!file.isFile()) {
+            return readModuleDescriptor(file);
+        }
+
+        String key = getKey(file);
+        long size = file.length();
+        long lastModified = file.lastModified();
+        Entry cached;
+        synchronized (this) {
+            cached = entries.get(key);
+        }
+        if (cached != null && cached.size == size && cached.lastModified == lastModified) {
+            return cached.descriptor;
+        }
+
+        ModuleDescriptor descriptor = readModuleDescriptor(file);
+        synchronized (this) {
+            scanned++;
+            entries.put(key, new Entry(size, lastModified, descriptor));
+            updated.add(key);
+        }
+        return descriptor;
+    }
+
+    private static ModuleDescriptor readModuleDescriptor(File file) {
+        try {
+            return ModuleUtil.getModuleDescriptor(file);
+        } catch (IOException e) {
+            return ModuleUtil.invalid(e.getMessage() != null ? e.getMessage() : e.toString());
+        }
+    }
+
+    /**
+     * @return the number of jars read, because they were not in the cache or changed
+     */
+    public synchronized int getScanned() {
+        return scanned;
+    }
+
+    private static byte getKind(ModuleDescriptor descriptor) {
+        if (!descriptor.isAutomatic()) {
+            return EXPLICIT;
+        }
+        return ModuleUtil.MANIFEST.equals(descriptor.getModuleNameSource()) ? MANIFEST : FILENAME;
+    }
+
+    private static ModuleDescriptor toDescriptor(byte kind, String value) throws IOException {
+        switch (kind) {
+            case NONE:
+                return null;
+            case EXPLICIT:
+                return ModuleUtil.explicit(value);
+            case MANIFEST:
+                return ModuleUtil.automatic(value, ModuleUtil.MANIFEST);
+            case FILENAME:
+                return ModuleUtil.automatic(value, ModuleUtil.FILENAME);
+            case INVALID:
+                return ModuleUtil.invalid(value);
+            default:
+                throw new IOException("Unknown module kind " + kind);
+        }
+    }
+
+    private static class Entry {
+        private final long size;
+
+        private final long lastModified;
+
+        private final ModuleDescriptor descriptor;
+
+        Entry(long size, long lastModified, ModuleDescriptor descriptor) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.descriptor = descriptor;
+        }
+    }
+}
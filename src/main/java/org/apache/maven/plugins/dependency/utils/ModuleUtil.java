@@ -0,0 +1,459 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.utils;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Detects the Java module name of jar files and class directories, the way the module path of the Java runtime does,
+ * without building a module finder. Only the central directory of a jar is read, plus the <code>module-info.class</code>
+ * and the manifest entries when present.
+ *
+ * @since 3.8.2
+ */
+public final class ModuleUtil {
+
+    /**
+     * The source of the name of an automatic module declaring an <code>Automatic-Module-Name</code>.
+     */
+    public static final String MANIFEST = "MANIFEST";
+
+    /**
+     * The source of the name of an automatic module derived from its file name.
+     */
+    public static final String FILENAME = "FILENAME";
+
+    private static final String MODULE_INFO = "module-info.class";
+
+    private static final String VERSIONS_PREFIX = "META-INF/versions/";
+
+    private static final String CLASS_SUFFIX = ".class";
+
+    private static final Attributes.Name AUTOMATIC_MODULE_NAME = new Attributes.Name("Automatic-Module-Name");
+
+    private static final Attributes.Name MULTI_RELEASE = new Attributes.Name("Multi-Release");
+
+    private static final Pattern DASH_VERSION = Pattern.compile("-(\\d+(\\.|$))");
+
+    private static final Pattern NON_ALPHANUM = Pattern.compile("[^A-Za-z0-9]");
+
+    private static final Pattern REPEATING_DOTS = Pattern.compile("(\\.)(\\1)+");
+
+    private static final Pattern LEADING_DOTS = Pattern.compile("^\\.");
+
+    private static final Pattern TRAILING_DOTS = Pattern.compile("\\.$");
+
+    private static final Set<String> RESERVED = new HashSet<>(Arrays.asList(
+            "abstract",
+            "assert",
+            "boolean",
+            "break",
+            "byte",
+            "case",
+            "catch",
+            "char",
+            "class",
+            "const",
+            "continue",
+            "default",
+            "do",
+            "double",
+            "else",
+            "enum",
+            "extends",
+            "final",
+            "finally",
+            "float",
+            "for",
+            "goto",
+            "if",
+            "implements",
+            "import",
+            "instanceof",
+            "int",
+            "interface",
+            "long",
+            "native",
+            "new",
+            "package",
+            "private",
+            "protected",
+            "public",
+            "return",
+            "short",
+            "static",
+            "strictfp",
+            "super",
+            "switch",
+            "synchronized",
+            "this",
+            "throw",
+            "throws",
+            "transient",
+            "try",
+            "void",
+            "volatile",
+            "while",
+            "true",
+            "false",
+            "null",
+            "_"));
+
+    private static final int CONSTANT_UTF8 = 1;
+
+    private static final int CONSTANT_MODULE = 19;
+
+    private ModuleUtil() {
+        // no op
+    }
+
+    /**
+     * The module of a jar file or a class directory.
+     */
+    public static final class ModuleDescriptor {
+        private final String name;
+
+        private final String moduleNameSource;
+
+        private final String error;
+
+        ModuleDescriptor(String name, String moduleNameSource, String error) {
+            this.name = name;
+            this.moduleNameSource = moduleNameSource;
+            this.error = error;
+        }
+
+        /**
+         * @return the module name, null if it could not be derived
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return true if the module has no <code>module-info.class</code>
+         */
+        public boolean isAutomatic() {
+            return moduleNameSource != null;
+        }
+
+        /**
+         * @return {@link ModuleUtil#MANIFEST} or {@link ModuleUtil#FILENAME} for an automatic module, null otherwise
+         */
+        public String getModuleNameSource() {
+            return moduleNameSource;
+        }
+
+        /**
+         * @return why the module name could not be derived, null if it was
+         */
+        public String getError() {
+            return error;
+        }
+    }
+
+    /**
+     * @param file a jar file or a class directory
+     * @return the module, with an {@link ModuleDescriptor#getError() error} if it is not a valid module, or null if
+     *         the file is neither a jar nor a class directory with a <code>module-info.class</code>
+     * @throws IOException if the file could not be read
+     */
+    public static ModuleDescriptor getModuleDescriptor(File file) throws IOException {
+        if (file.isDirectory()) {
+            File moduleInfo = new File(file, MODULE_INFO);
+            if (!moduleInfo.isFile()) {
+                return null;
+            }
+            try (InputStream in = Files.newInputStream(moduleInfo.toPath())) {
+                return explicit(readModuleName(in));
+            }
+        }
+        if (!file.isFile() || !file.getName().endsWith(".jar")) {
+            return null;
+        }
+
+        try (ZipFile zipFile = new ZipFile(file)) {
+            ZipEntry manifestEntry = zipFile.getEntry(JarFile.MANIFEST_NAME);
+            Manifest manifest = null;
+            if (manifestEntry != null) {
+                try (InputStream in = zipFile.getInputStream(manifestEntry)) {
+                    manifest = new Manifest(in);
+                }
+            }
+
+            ZipEntry moduleInfo = getModuleInfo(zipFile, manifest);
+            if (moduleInfo != null) {
+                try (InputStream in = zipFile.getInputStream(moduleInfo)) {
+                    return explicit(readModuleName(in));
+                }
+            }
+
+            String automaticName =
+                    manifest == null ? null : manifest.getMainAttributes().getValue(AUTOMATIC_MODULE_NAME);
+            String source = automaticName != null ? MANIFEST : FILENAME;
+            String name = automaticName != null ? automaticName : deriveModuleName(file.getName());
+
+            String error = checkModuleName(name);
+            if (error == null) {
+                // an automatic module cannot have classes in the unnamed package
+                Enumeration<? extends ZipEntry> entries = zipFile.entries();
+                while (entries.hasMoreElements() && error == null) {
+                    String entryName = entries.nextElement().getName();
+                    if (entryName.endsWith(CLASS_SUFFIX) && entryName.indexOf('/') < 0) {
+                        error = entryName + " found in top-level directory (unnamed package not allowed in module)";
+                    }
+                }
+            }
+            return error == null ? automatic(name, source) : invalid(error);
+        }
+    }
+
+    static ModuleDescriptor explicit(String name) {
+        return new ModuleDescriptor(name, null, null);
+    }
+
+    static ModuleDescriptor automatic(String name, String moduleNameSource) {
+        return new ModuleDescriptor(name, moduleNameSource, null);
+    }
+
+    static ModuleDescriptor invalid(String error) {
+        return new ModuleDescriptor(null, null, error);
+    }
+
+    /**
+     * @return the <code>module-info.class</code> seen by the running Java version, the highest versioned one of a
+     *         multi-release jar not newer than the runtime, otherwise the top-level one
+     */
+    private static ZipEntry getModuleInfo(ZipFile zipFile, Manifest manifest) {
+        if (manifest != null
+                && "true".equalsIgnoreCase(manifest.getMainAttributes().getValue(MULTI_RELEASE))) {
+            int runtimeVersion = getRuntimeVersion();
+            ZipEntry versioned = null;
+            int versionedRelease = 0;
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                String entryName = entry.getName();
+                if (entryName.startsWith(VERSIONS_PREFIX) && entryName.endsWith("/" + MODULE_INFO)) {
+                    String release = entryName.substring(
+                            VERSIONS_PREFIX.length(), entryName.length() - MODULE_INFO.length() - 1);
+                    try {
+                        int version = Integer.parseInt(release);
+                        if (version >= 9 && version <= runtimeVersion && version > versionedRelease) {
+                            versioned = entry;
+                            versionedRelease = version;
+                        }
+                    } catch (NumberFormatException e) {
+                        // not a versioned directory
+                    }
+                }
+            }
+            if (versioned != null) {
+                return versioned;
+            }
+        }
+        return zipFile.getEntry(MODULE_INFO);
+    }
+
+    /**
+     * @return the Java feature version whose <code>META-INF/versions</code> entries are read in multi-release jars
+     */
+    static int getRuntimeVersion() {
+        String specification = System.getProperty("java.specification.version", "9");
+        try {
+            int version = Integer.parseInt(specification.startsWith("1.") ? specification.substring(2) : specification);
+            // a Java 8 runtime has no modules, use the first version which does
+            return Math.max(version, 9);
+        } catch (NumberFormatException e) {
+            return 9;
+        }
+    }
+
+    /**
+     * Derives the name of an automatic module from the name of its jar, i.e. <code>foo-bar-1.2.3.jar</code> gives
+     * <code>foo.bar</code>.
+     *
+     * @param fileName the jar file name
+     * @return the module name, which may not be valid
+     */
+    static String deriveModuleName(String fileName) {
+        String name = fileName.endsWith(".jar") ? fileName.substring(0, fileName.length() - 4) : fileName;
+        Matcher matcher = DASH_VERSION.matcher(name);
+        if (matcher.find()) {
+            name = name.substring(0, matcher.start());
+        }
+        name = NON_ALPHANUM.matcher(name).replaceAll(".");
+        name = REPEATING_DOTS.matcher(name).replaceAll(".");
+        name = LEADING_DOTS.matcher(name).replaceAll("");
+        return TRAILING_DOTS.matcher(name).replaceAll("");
+    }
+
+    /**
+     * @param name a module name
+     * @return why the name is not a valid module name, null if it is
+     */
+    static String checkModuleName(String name) {
+        for (String identifier : name.split("\\.", -1)) {
+            if (!isJavaIdentifier(identifier)) {
+                return name + ": Invalid module name: '" + identifier + "' is not a Java identifier";
+            }
+        }
+        return null;
+    }
+
+    private static boolean isJavaIdentifier(String identifier) {
+        if (identifier.isEmpty() || RESERVED.contains(identifier)) {
+            return false;
+        }
+        int first = identifier.codePointAt(0);
+        if (!Character.isJavaIdentifierStart(first)) {
+            return false;
+        }
+        for (int i = Character.charCount(first); i < identifier.length(); ) {
+            int codePoint = identifier.codePointAt(i);
+            if (!Character.isJavaIdentifierPart(codePoint)) {
+                return false;
+            }
+            i += Character.charCount(codePoint);
+        }
+        return true;
+    }
+
+    /**
+     * Reads the module name from the <code>Module</code> attribute of a <code>module-info.class</code>.
+     *
+     * @param classFile the content of the class file
+     * @return the module name
+     * @throws IOException if the class file could not be read or declares no module
+     */
+    static String readModuleName(InputStream classFile) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(classFile));
+        if (in.readInt() != 0xCAFEBABE) {
+            throw new IOException("Not a class file");
+        }
+        // minor and major versions
+        skipFully(in, 4);
+
+        int constantCount = in.readUnsignedShort();
+        String[] utf8 = new String[constantCount];
+        int[] moduleNames = new int[constantCount];
+        for (int i = 1; i < constantCount; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case CONSTANT_UTF8:
+                    utf8[i] = in.readUTF();
+                    break;
+                case CONSTANT_MODULE:
+                    moduleNames[i] = in.readUnsignedShort();
+                    break;
+                case 7: // Class
+                case 8: // String
+                case 16: // MethodType
+                case 20: // Package
+                    skipFully(in, 2);
+                    break;
+                case 15: // MethodHandle
+                    skipFully(in, 3);
+                    break;
+                case 3: // Integer
+                case 4: // Float
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    skipFully(in, 4);
+                    break;
+                case 5: // Long
+                case 6: // Double
+                    skipFully(in, 8);
+                    // takes two entries of the constant pool
+                    i++;
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+
+        // access flags, this class and super class
+        skipFully(in, 6);
+        skipFully(in, 2 * in.readUnsignedShort());
+        // fields, then methods
+        for (int members = 0; members < 2; members++) {
+            int count = in.readUnsignedShort();
+            for (int i = 0; i < count; i++) {
+                skipFully(in, 6);
+                skipAttributes(in);
+            }
+        }
+
+        int attributeCount = in.readUnsignedShort();
+        for (int i = 0; i < attributeCount; i++) {
+            int nameIndex = in.readUnsignedShort();
+            int length = in.readInt();
+            if ("Module".equals(utf8[nameIndex])) {
+                int moduleIndex = in.readUnsignedShort();
+                String name = utf8[moduleNames[moduleIndex]];
+                if (name == null) {
+                    throw new IOException("Invalid Module attribute");
+                }
+                return name;
+            }
+            skipFully(in, length);
+        }
+        throw new IOException("No Module attribute in " + MODULE_INFO);
+    }
+
+    private static void skipAttributes(DataInputStream in) throws IOException {
+        int count = in.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            skipFully(in, 2);
+            skipFully(in, in.readInt());
+        }
+    }
+
+    private static void skipFully(DataInputStream in, int length) throws IOException {
+        int remaining = length;
+        while (remaining > 0) {
+            int skipped = in.skipBytes(remaining);
+            if (skipped <= 0) {
+                throw new EOFException();
+            }
+            remaining -= skipped;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a task over a collection of items on a bounded pool of worker threads, returning the results in the
+ * iteration order of the items so that callers can report them deterministically.
+ *
+ * @since 3.8.2
+ */
+public final class ParallelUtil {
+
+    private ParallelUtil() {
+        // no op
+    }
+
+    /**
+     * A unit of work applied to one item.
+     *
+     * @param <T> the item type
+     * @param <R> the result type
+     */
+    @FunctionalInterface
+    public interface Task<T, R> {
+        /**
+         * @param item the item to process
+         * @return the result for this item
+         * @throws Exception if the item could not be processed
+         */
+        R apply(T item) throws Exception;
+    }
+
+    /**
+     * Receives the results of a task, on the calling thread.
+     *
+     * @param <R> the result type
+     */
+    @FunctionalInterface
+    public interface ResultHandler<R> {
+        /**
+         * @param result the result of an item
+         * @throws Exception if the result could not be handled
+         */
+        void accept(R result) throws Exception;
+    }
+
+    /**
+     * Computes the effective number of threads for a configured value.
+     *
+     * @param threads the configured number of threads
+     * @return {@code threads} if positive, the number of available processors otherwise
+     */
+    public static int getThreadCount(int threads) {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Creates a fixed size pool of daemon worker threads.
+     *
+     * @param threads the number of threads
+     * @param name the name used for worker threads
+     * @return a new executor, to be shut down by the caller, see {@link #shutdown(ExecutorService)}
+     */
+    public static ExecutorService newExecutor(int threads, String name) {
+        return Executors.newFixedThreadPool(threads, new NamedThreadFactory(name));
+    }
+
+    /**
+     * Shuts an executor down, interrupting its running tasks and waiting for them to complete.
+     *
+     * @param executor the executor to shut down
+     */
+    public static void shutdown(ExecutorService executor) {
+        executor.shutdownNow();
+        boolean interrupted = false;
+        while (!executor.isTerminated()) {
+            try {
+                executor.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Applies the task to every item, using at most {@code threads} concurrent workers. With a single thread, or a
+     * single item, the task runs on the calling thread.
+     * <p>
+     * On failure the exception of the first failing item, in iteration order, is thrown. The tasks of the items after
+     * a failing one which are not started yet are skipped, the running ones are interrupted and waited for, so that
+     * none of them outlives this call.
+     *
+     * @param items the items to process
+     * @param threads the maximum number of concurrent workers, see {@link #getThreadCount(int)}
+     * @param name the name used for worker threads
+     * @param task the task to apply to every item
+     * @param <T> the item type
+     * @param <R> the result type
+     * @return the results, in iteration order of {@code items}
+     * @throws ExecutionException wrapping the exception thrown by the first failing item
+     * @throws InterruptedException if the calling thread was interrupted while waiting
+     */
+    public static <T, R> List<R> apply(Collection<T> items, int threads, String name, Task<? super T, R> task)
+            throws ExecutionException, InterruptedException {
+        List<R> results = new ArrayList<>(items.size());
+        apply(items, threads, name, task, results::add);
+        return results;
+    }
+
+    /**
+     * Applies the task to every item like {@link #apply(Collection, int, String, Task)}, handing every result to
+     * {@code handler} on the calling thread, in iteration order, as soon as it and the results of the previous items
+     * are available. The results are not retained once handled.
+     *
+     * @param items the items to process
+     * @param threads the maximum number of concurrent workers, see {@link #getThreadCount(int)}
+     * @param name the name used for worker threads
+     * @param task the task to apply to every item
+     * @param handler the handler of the results
+     * @param <T> the item type
+     * @param <R> the result type
+     * @throws ExecutionException wrapping the exception thrown by the first failing item or by the handler
+     * @throws InterruptedException if the calling thread was interrupted while waiting
+     */
+    public static <T, R> void apply(
+            Collection<T> items, int threads, String name, Task<? super T, R> task, ResultHandler<? super R> handler)
+            throws ExecutionException, InterruptedException {
+        int poolSize = Math.min(getThreadCount(threads), items.size());
+        if (poolSize <= 1) {
+            for (T item : items) {
+                try {
+                    handler.accept(task.apply(item));
+                } catch (Exception e) {
+                    throw new ExecutionException(e);
+                }
+            }
+            return;
+        }
+
+        ExecutorService executor = newExecutor(poolSize, name);
+        // the index of the first item known to have failed: only the items after it are skipped, so that the results
+        // are read up to a real failure, which is thrown before any skipped item is reached
+        AtomicInteger firstFailure = new AtomicInteger(Integer.MAX_VALUE);
+        try {
+            List<Future<R>> futures = new ArrayList<>(items.size());
+            for (T item : items) {
+                int index = futures.size();
+                futures.add(executor.submit(() -> {
+                    if (index > firstFailure.get()) {
+                        throw new CancellationException("Skipped after a failure");
+                    }
+                    try {
+                        return task.apply(item);
+                    } catch (Exception | Error e) {
+                        firstFailure.accumulateAndGet(index, Math::min);
+                        throw e;
+                    }
+                }));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                R result = futures.get(i).get();
+                futures.set(i, null);
+                try {
+                    handler.accept(result);
+                } catch (Exception e) {
+                    firstFailure.accumulateAndGet(i, Math::min);
+                    throw new ExecutionException(e);
+                }
+            }
+        } finally {
+            shutdown(executor);
+        }
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        private final String name;
+
+        NamedThreadFactory(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "mdep-" + name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
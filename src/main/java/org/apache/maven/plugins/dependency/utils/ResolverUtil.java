@@ -102,6 +102,27 @@ public class ResolverUtil {
         return result.getArtifact();
     }
 
+    /**
+     * Resolve given artifacts in one batch, letting the repository system download them concurrently. Unlike
+     * {@link #resolveArtifact(Artifact, List)}, an artifact which cannot be resolved does not stop the others: the
+     * result of every artifact is returned, and its exceptions tell why it was not resolved.
+     *
+     * @param artifacts    artifacts to resolve
+     * @param repositories remote repositories list
+     * @return the results of the artifacts, in the same order
+     */
+    public List<ArtifactResult> resolveArtifacts(Collection<Artifact> artifacts, List<RemoteRepository> repositories) {
+        MavenSession session = mavenSessionProvider.get();
+        List<ArtifactRequest> requests = artifacts.stream()
+                .map(artifact -> new ArtifactRequest(artifact, repositories, null))
+                .collect(Collectors.toList());
+        try {
+            return repositorySystem.resolveArtifacts(session.getRepositorySession(), requests);
+        } catch (ArtifactResolutionException e) {
+            return e.getResults();
+        }
+    }
+
     /**
      * Resolve transitive dependencies for artifact.
      *
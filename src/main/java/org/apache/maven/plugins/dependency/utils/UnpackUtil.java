@@ -23,6 +23,13 @@ import javax.inject.Named;
 import javax.inject.Singleton;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.logging.Log;
@@ -31,7 +38,16 @@ import org.codehaus.plexus.archiver.UnArchiver;
 import org.codehaus.plexus.archiver.manager.ArchiverManager;
 import org.codehaus.plexus.archiver.manager.NoSuchArchiverException;
 import org.codehaus.plexus.archiver.zip.ZipUnArchiver;
+import org.codehaus.plexus.components.io.filemappers.DefaultFileMapper;
+import org.codehaus.plexus.components.io.filemappers.FileExtensionMapper;
 import org.codehaus.plexus.components.io.filemappers.FileMapper;
+import org.codehaus.plexus.components.io.filemappers.FlattenFileMapper;
+import org.codehaus.plexus.components.io.filemappers.IdentityMapper;
+import org.codehaus.plexus.components.io.filemappers.MergeFileMapper;
+import org.codehaus.plexus.components.io.filemappers.PrefixFileMapper;
+import org.codehaus.plexus.components.io.filemappers.RegExpFileMapper;
+import org.codehaus.plexus.components.io.filemappers.SuffixFileMapper;
+import org.codehaus.plexus.components.io.fileselectors.FileInfo;
 import org.codehaus.plexus.components.io.fileselectors.IncludeExcludeFileSelector;
 import org.sonatype.plexus.build.incremental.BuildContext;
 
@@ -90,6 +106,39 @@ public class UnpackUtil {
             FileMapper[] fileMappers,
             Log logger)
             throws MojoExecutionException {
+        extract(file, type, location, includes, excludes, encoding, ignorePermissions, fileMappers, logger);
+        refresh(location);
+    }
+
+    /**
+     * Same as {@link #unpack(File, String, File, String, String, String, boolean, FileMapper[], Log)}, without
+     * refreshing the build context. The build context may be bound to the thread executing the mojo: when unpacking
+     * from another thread, {@link #refresh(File)} must be called from the mojo thread afterwards.
+     *
+     * @param file              file to unpack
+     * @param type              file / artifact type
+     * @param location          The location.
+     * @param includes          includes list.
+     * @param excludes          excludes list.
+     * @param encoding          the encoding.
+     * @param ignorePermissions ignore permissions
+     * @param fileMappers       {@link FileMapper}s to be used for rewriting each target path, or {@code null} if no
+     *                          rewriting shall happen.
+     * @param logger            a Mojo logger
+     * @throws MojoExecutionException in case of an error.
+     * @since 3.8.2
+     */
+    public void extract(
+            File file,
+            String type,
+            File location,
+            String includes,
+            String excludes,
+            String encoding,
+            boolean ignorePermissions,
+            FileMapper[] fileMappers,
+            Log logger)
+            throws MojoExecutionException {
         try {
             logUnpack(logger, file, location, includes, excludes);
 
@@ -126,22 +175,9 @@ public class UnpackUtil {
 
             unArchiver.setDestDirectory(location);
 
-            if ((excludes != null && !excludes.isEmpty()) || (includes != null && !includes.isEmpty())) {
-                // Create the selectors that will filter
-                // based on include/exclude parameters
-                // MDEP-47
-                IncludeExcludeFileSelector[] selectors =
-                        new IncludeExcludeFileSelector[] {new IncludeExcludeFileSelector()};
-
-                if (excludes != null && !excludes.isEmpty()) {
-                    selectors[0].setExcludes(excludes.split(","));
-                }
-
-                if (includes != null && !includes.isEmpty()) {
-                    selectors[0].setIncludes(includes.split(","));
-                }
-
-                unArchiver.setFileSelectors(selectors);
+            IncludeExcludeFileSelector selector = createFileSelector(includes, excludes);
+            if (selector != null) {
+                unArchiver.setFileSelectors(new IncludeExcludeFileSelector[] {selector});
             }
 
             unArchiver.setFileMappers(fileMappers);
@@ -152,9 +188,135 @@ public class UnpackUtil {
         } catch (ArchiverException e) {
             throw new MojoExecutionException("Error unpacking file: " + file + " to: " + location, e);
         }
+    }
+
+    /**
+     * Refreshes an unpack location in the build context.
+     *
+     * @param location the location files were unpacked to
+     * @since 3.8.2
+     */
+    public void refresh(File location) {
         buildContext.refresh(location);
     }
 
+    /**
+     * Lists the files unpacking a zip based archive (jar, war, zip...) would write, reading only its central
+     * directory.
+     *
+     * @param file        file to unpack
+     * @param location    The location.
+     * @param includes    includes list.
+     * @param excludes    excludes list.
+     * @param fileMappers {@link FileMapper}s to be used for rewriting each target path, or {@code null} if no
+     *                    rewriting shall happen.
+     * @return the absolute paths of the files written, or {@code null} if the file is not a zip archive
+     * @since 3.8.2
+     */
+    public Set<String> getUnpackedFiles(
+            File file, File location, String includes, String excludes, FileMapper[] fileMappers) {
+        IncludeExcludeFileSelector selector = createFileSelector(includes, excludes);
+        Set<String> files = new LinkedHashSet<>();
+        try (ZipFile zipFile = new ZipFile(file)) {
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (entry.isDirectory()
+                        || (selector != null && !selector.isSelected(new ZipEntryInfo(zipFile, entry)))) {
+                    continue;
+                }
+                String name = entry.getName();
+                if (fileMappers != null) {
+                    for (FileMapper fileMapper : fileMappers) {
+                        name = fileMapper.getMappedFileName(name);
+                    }
+                }
+                files.add(new File(location, name)
+                        .toPath()
+                        .toAbsolutePath()
+                        .normalize()
+                        .toString());
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // not a zip archive, or with entry names in another encoding
+            return null;
+        }
+        return files;
+    }
+
+    /**
+     * Describes the configuration affecting which files are unpacked, and where, to record it in markers.
+     *
+     * @param includes    includes list.
+     * @param excludes    excludes list.
+     * @param fileMappers {@link FileMapper}s to be used for rewriting each target path, or {@code null} if no
+     *                    rewriting shall happen.
+     * @return a description of the configuration, equal for equal configurations, or {@code null} if a file mapper is
+     *         not one of the Plexus IO mappers and cannot be described
+     * @since 3.8.2
+     */
+    public static String getUnpackConfiguration(String includes, String excludes, FileMapper[] fileMappers) {
+        StringBuilder configuration = new StringBuilder();
+        configuration.append("includes=").append(includes == null ? "" : includes);
+        configuration.append(";excludes=").append(excludes == null ? "" : excludes);
+        configuration.append(";fileMappers=[");
+        if (fileMappers != null) {
+            for (FileMapper fileMapper : fileMappers) {
+                String description = describe(fileMapper);
+                if (description == null) {
+                    return null;
+                }
+                configuration.append(description).append(';');
+            }
+        }
+        return configuration.append(']').toString();
+    }
+
+    /**
+     * File mappers do not implement toString(): describe the Plexus IO mappers with their properties. Subclasses may
+     * have more state, they are not described.
+     */
+    private static String describe(FileMapper fileMapper) {
+        Class<?> type = fileMapper.getClass();
+        String name = type.getName();
+        if (type == IdentityMapper.class || type == DefaultFileMapper.class || type == FlattenFileMapper.class) {
+            return name;
+        } else if (type == FileExtensionMapper.class) {
+            return name + "{targetExtension=" + ((FileExtensionMapper) fileMapper).getTargetExtension() + '}';
+        } else if (type == MergeFileMapper.class) {
+            return name + "{targetName=" + ((MergeFileMapper) fileMapper).getTargetName() + '}';
+        } else if (type == PrefixFileMapper.class) {
+            return name + "{prefix=" + ((PrefixFileMapper) fileMapper).getPrefix() + '}';
+        } else if (type == SuffixFileMapper.class) {
+            return name + "{suffix=" + ((SuffixFileMapper) fileMapper).getSuffix() + '}';
+        } else if (type == RegExpFileMapper.class) {
+            RegExpFileMapper mapper = (RegExpFileMapper) fileMapper;
+            return name + "{pattern=" + mapper.getPattern() + ",replacement=" + mapper.getReplacement() + ",replaceAll="
+                    + mapper.getReplaceAll() + '}';
+        }
+        return null;
+    }
+
+    private static IncludeExcludeFileSelector createFileSelector(String includes, String excludes) {
+        if ((excludes == null || excludes.isEmpty()) && (includes == null || includes.isEmpty())) {
+            return null;
+        }
+
+        // Create the selector that will filter
+        // based on include/exclude parameters
+        // MDEP-47
+        IncludeExcludeFileSelector selector = new IncludeExcludeFileSelector();
+
+        if (excludes != null && !excludes.isEmpty()) {
+            selector.setExcludes(excludes.split(","));
+        }
+
+        if (includes != null && !includes.isEmpty()) {
+            selector.setIncludes(includes.split(","));
+        }
+        return selector;
+    }
+
     private void logUnpack(Log logger, File file, File location, String includes, String excludes) {
         if (logger.isInfoEnabled()) {
             return;
@@ -184,4 +346,41 @@ public class UnpackUtil {
 
         logger.info(msg.toString());
     }
+
+    private static class ZipEntryInfo implements FileInfo {
+
+        private final ZipFile zipFile;
+
+        private final ZipEntry entry;
+
+        ZipEntryInfo(ZipFile zipFile, ZipEntry entry) {
+            this.zipFile = zipFile;
+            this.entry = entry;
+        }
+
+        @Override
+        public String getName() {
+            return entry.getName();
+        }
+
+        @Override
+        public InputStream getContents() throws IOException {
+            return zipFile.getInputStream(entry);
+        }
+
+        @Override
+        public boolean isFile() {
+            return !entry.isDirectory();
+        }
+
+        @Override
+        public boolean isDirectory() {
+            return entry.isDirectory();
+        }
+
+        @Override
+        public boolean isSymbolicLink() {
+            return false;
+        }
+    }
 }
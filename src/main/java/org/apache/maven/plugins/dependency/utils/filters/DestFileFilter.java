@@ -40,6 +40,8 @@ public class DestFileFilter extends AbstractArtifactsFilter implements ArtifactI
 
     private boolean overWriteIfNewer;
 
+    private boolean compareContent;
+
     private boolean useSubDirectoryPerArtifact;
 
     private boolean useSubDirectoryPerType;
@@ -164,6 +166,25 @@ public class DestFileFilter extends AbstractArtifactsFilter implements ArtifactI
         this.overWriteIfNewer = overWriteIfNewer;
     }
 
+    /**
+     * @return Returns whether the destination files are compared by content.
+     * @since 3.8.2
+     */
+    public boolean isCompareContent() {
+        return this.compareContent;
+    }
+
+    /**
+     * Compares the size and SHA-1 digest of an existing destination file with the artifact file, instead of their
+     * timestamps: the artifact is copied again only when they differ, and <code>overWriteIfNewer</code> is ignored.
+     *
+     * @param compareContent true to compare the destination files by content
+     * @since 3.8.2
+     */
+    public void setCompareContent(boolean compareContent) {
+        this.compareContent = compareContent;
+    }
+
     /**
      * @return Returns the outputFileDirectory.
      */
@@ -291,9 +312,36 @@ public class DestFileFilter extends AbstractArtifactsFilter implements ArtifactI
             destFile = new File(destFolder, item.getDestFileName());
         }
 
-        return overWrite
-                || !destFile.exists()
-                || (overWriteIfNewer && getLastModified(artifact.getFile()) > getLastModified(destFile));
+        if (overWrite || !destFile.exists()) {
+            return true;
+        }
+        if (artifact.getFile() != null && isSameFile(artifact.getFile(), destFile)) {
+            // linked to the artifact file by the copy strategy: up to date
+            return false;
+        }
+        if (compareContent) {
+            // the copy is up to date while it has the content of the artifact, whatever the timestamps
+            return artifact.getFile() == null || !hasSameContent(artifact.getFile(), destFile);
+        }
+        // a link to another file, such as a previous version of the artifact, is compared through the linked file
+        return overWriteIfNewer && getLastModified(artifact.getFile()) > getLastModified(destFile);
+    }
+
+    private boolean hasSameContent(File file, File other) throws ArtifactFilterException {
+        try {
+            return file.length() == other.length()
+                    && DependencyUtil.getSha1(file).equals(DependencyUtil.getSha1(other));
+        } catch (IOException e) {
+            throw new ArtifactFilterException("IO Exception", e);
+        }
+    }
+
+    private boolean isSameFile(File file, File other) {
+        try {
+            return Files.isSameFile(file.toPath(), other.toPath());
+        } catch (IOException e) {
+            return false;
+        }
     }
 
     /**
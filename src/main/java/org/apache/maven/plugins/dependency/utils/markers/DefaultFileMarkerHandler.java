@@ -20,14 +20,25 @@ package org.apache.maven.plugins.dependency.utils.markers;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Properties;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.dependency.utils.DependencyUtil;
 
 /**
  * @author <a href="mailto:brianf@apache.org">Brian Fox</a>
  */
 public class DefaultFileMarkerHandler implements MarkerHandler {
+    private static final String SIZE = "size";
+
+    private static final String SHA1 = "sha1";
+
+    private static final String CONFIGURATION = "configuration";
+
     /**
      * The artifact.
      */
@@ -38,6 +49,24 @@ public class DefaultFileMarkerHandler implements MarkerHandler {
      */
     protected File markerFilesDirectory;
 
+    /**
+     * Whether markers record the size and digest of the artifact file instead of relying on timestamps.
+     */
+    private boolean useDigest;
+
+    /**
+     * The configuration used to process the artifact, recorded in digest markers, or {@code null} when it cannot be
+     * described.
+     */
+    private String configuration = "";
+
+    /**
+     * The last digested file and its digest, as a filter asks for the same artifact several times in a row.
+     */
+    private File digestedFile;
+
+    private String digest;
+
     /**
      * @param theMarkerFilesDirectory The marker directory.
      */
@@ -75,12 +104,18 @@ public class DefaultFileMarkerHandler implements MarkerHandler {
     @Override
     public boolean isMarkerSet() throws MojoExecutionException {
         File marker = getMarkerFile();
+        if (useDigest) {
+            return marker.exists() && isMarkerMatching(marker, this.artifact);
+        }
         return marker.exists();
     }
 
     @Override
     public boolean isMarkerOlder(Artifact artifact1) throws MojoExecutionException {
         File marker = getMarkerFile();
+        if (useDigest) {
+            return !marker.exists() || !isMarkerMatching(marker, artifact1);
+        }
         if (marker.exists()) {
             return artifact1.getFile().lastModified() > marker.lastModified();
         } else {
@@ -100,7 +135,11 @@ public class DefaultFileMarkerHandler implements MarkerHandler {
             // parent is null, ignore it.
         }
         try {
-            marker.createNewFile();
+            if (useDigest) {
+                Files.write(marker.toPath(), getMarkerContent(this.artifact).getBytes(StandardCharsets.UTF_8));
+            } else {
+                marker.createNewFile();
+            }
         } catch (IOException e) {
             throw new MojoExecutionException("Unable to create Marker: " + marker.getAbsolutePath(), e);
         }
@@ -122,6 +161,80 @@ public class DefaultFileMarkerHandler implements MarkerHandler {
         }
     }
 
+    /**
+     * Compares the content of a digest marker with the artifact file and the current configuration.
+     */
+    private boolean isMarkerMatching(File marker, Artifact theArtifact) throws MojoExecutionException {
+        Properties recorded = new Properties();
+        try (Reader reader = Files.newBufferedReader(marker.toPath(), StandardCharsets.UTF_8)) {
+            recorded.load(reader);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to read Marker: " + marker.getAbsolutePath(), e);
+        }
+        return isDigestMatching(recorded, theArtifact);
+    }
+
+    /**
+     * Compares a digest record with the artifact file and the current configuration. The artifact file is only
+     * digested when its size matches.
+     *
+     * @param recorded the record, as returned by {@link #getDigest(Artifact)}
+     * @param theArtifact the artifact
+     * @return true if the artifact file and the configuration are the recorded ones
+     * @throws MojoExecutionException if the artifact file could not be read
+     */
+    boolean isDigestMatching(Properties recorded, Artifact theArtifact) throws MojoExecutionException {
+        if (theArtifact == null || theArtifact.getFile() == null) {
+            return false;
+        }
+        if (configuration == null
+                || !String.valueOf(theArtifact.getFile().length()).equals(recorded.getProperty(SIZE))
+                || !DependencyUtil.getSha1(configuration).equals(recorded.getProperty(CONFIGURATION))) {
+            return false;
+        }
+        try {
+            return getSha1(theArtifact.getFile()).equals(recorded.getProperty(SHA1));
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to digest " + theArtifact.getFile(), e);
+        }
+    }
+
+    private String getSha1(File file) throws IOException {
+        if (!file.equals(digestedFile)) {
+            digest = DependencyUtil.getSha1(file);
+            digestedFile = file;
+        }
+        return digest;
+    }
+
+    /**
+     * @param theArtifact the artifact, may be null
+     * @return the size and SHA-1 of the artifact file, if any, and the SHA-1 of the configuration
+     * @throws IOException if the artifact file could not be read
+     */
+    Properties getDigest(Artifact theArtifact) throws IOException {
+        Properties record = new Properties();
+        if (theArtifact != null && theArtifact.getFile() != null) {
+            record.setProperty(SIZE, String.valueOf(theArtifact.getFile().length()));
+            record.setProperty(SHA1, getSha1(theArtifact.getFile()));
+        }
+        if (configuration != null) {
+            record.setProperty(CONFIGURATION, DependencyUtil.getSha1(configuration));
+        }
+        return record;
+    }
+
+    private String getMarkerContent(Artifact theArtifact) throws IOException {
+        Properties record = getDigest(theArtifact);
+        StringBuilder content = new StringBuilder();
+        for (String key : new String[] {SIZE, SHA1, CONFIGURATION}) {
+            if (record.containsKey(key)) {
+                content.append(key).append('=').append(record.getProperty(key)).append('\n');
+            }
+        }
+        return content.toString();
+    }
+
     /**
      * Deletes the file or directory denoted by this abstract pathname. If this pathname denotes a directory, then the
      * directory must be empty in order to be deleted.
@@ -152,6 +265,43 @@ public class DefaultFileMarkerHandler implements MarkerHandler {
         this.artifact = artifact;
     }
 
+    /**
+     * @return Returns whether markers record the size and digest of the artifact file.
+     * @since 3.8.2
+     */
+    public boolean isUseDigest() {
+        return this.useDigest;
+    }
+
+    /**
+     * Records the size and SHA-1 digest of the artifact file in the marker, along with the configuration: the marker
+     * is then set only while both match, whatever the timestamps of the files.
+     *
+     * @param useDigest true to record the size and digest of the artifact file
+     * @since 3.8.2
+     */
+    public void setUseDigest(boolean useDigest) {
+        this.useDigest = useDigest;
+    }
+
+    /**
+     * @return Returns the configuration recorded in digest markers, {@code null} if it cannot be described.
+     * @since 3.8.2
+     */
+    public String getConfiguration() {
+        return this.configuration;
+    }
+
+    /**
+     * @param configuration the configuration used to process the artifact, such as unpack includes and excludes,
+     *            recorded in digest markers, or {@code null} if it cannot be described: digest markers then never
+     *            match, and the artifact is always processed again
+     * @since 3.8.2
+     */
+    public void setConfiguration(String configuration) {
+        this.configuration = configuration;
+    }
+
     /**
      * @return Returns the markerFilesDirectory.
      */
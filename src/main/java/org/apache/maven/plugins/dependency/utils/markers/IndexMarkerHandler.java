@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.utils.markers;
+
+import java.io.IOException;
+import java.util.Properties;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Keeps markers in a {@link MarkerIndex} rather than in files. The markers are named, and compared, like the ones of
+ * the wrapped file handler, so switching from one to the other only means unpacking once more.
+ * <p>
+ * An entry records the timestamp of the artifact file, followed by its size and digest when the wrapped handler
+ * {@link DefaultFileMarkerHandler#isUseDigest() uses digests}.
+ *
+ * @since 3.8.2
+ */
+public class IndexMarkerHandler implements MarkerHandler {
+
+    private static final String SEPARATOR = ";";
+
+    private final DefaultFileMarkerHandler handler;
+
+    private final MarkerIndex index;
+
+    /**
+     * @param handler the file handler naming the markers
+     * @param index the index the markers are kept in
+     */
+    public IndexMarkerHandler(DefaultFileMarkerHandler handler, MarkerIndex index) {
+        this.handler = handler;
+        this.index = index;
+    }
+
+    private String getKey() {
+        return handler.getMarkerFile().getName();
+    }
+
+    @Override
+    public boolean isMarkerSet() throws MojoExecutionException {
+        String entry = index.get(getKey());
+        if (handler.isUseDigest()) {
+            return entry != null && isDigestMatching(entry, handler.getArtifact());
+        }
+        return entry != null;
+    }
+
+    @Override
+    public boolean isMarkerOlder(Artifact artifact) throws MojoExecutionException {
+        String entry = index.get(getKey());
+        if (entry == null) {
+            // if the marker doesn't exist, we want to copy so assume it is
+            // infinitely older
+            return true;
+        }
+        if (handler.isUseDigest()) {
+            return !isDigestMatching(entry, artifact);
+        }
+        return artifact.getFile().lastModified() > getTimestamp(entry);
+    }
+
+    @Override
+    public void setMarker() throws MojoExecutionException {
+        Artifact artifact = handler.getArtifact();
+        long timestamp;
+        if (artifact != null && artifact.getFile() != null) {
+            timestamp = artifact.getFile().lastModified();
+        } else {
+            timestamp = System.currentTimeMillis();
+        }
+
+        StringBuilder entry = new StringBuilder().append(timestamp);
+        if (handler.isUseDigest()) {
+            try {
+                Properties digest = handler.getDigest(artifact);
+                for (String key : digest.stringPropertyNames()) {
+                    entry.append(SEPARATOR).append(key).append('=').append(digest.getProperty(key));
+                }
+            } catch (IOException e) {
+                throw new MojoExecutionException("Unable to digest " + artifact.getFile(), e);
+            }
+        }
+        index.put(getKey(), entry.toString());
+    }
+
+    @Override
+    public boolean clearMarker() throws MojoExecutionException {
+        return index.remove(getKey());
+    }
+
+    @Override
+    public void setArtifact(Artifact artifact) {
+        handler.setArtifact(artifact);
+    }
+
+    private boolean isDigestMatching(String entry, Artifact artifact) throws MojoExecutionException {
+        Properties recorded = new Properties();
+        String[] fields = entry.split(SEPARATOR);
+        for (int i = 1; i < fields.length; i++) {
+            int equals = fields[i].indexOf('=');
+            if (equals > 0) {
+                recorded.setProperty(fields[i].substring(0, equals), fields[i].substring(equals + 1));
+            }
+        }
+        return handler.isDigestMatching(recorded, artifact);
+    }
+
+    private static long getTimestamp(String entry) {
+        int end = entry.indexOf(SEPARATOR);
+        try {
+            return Long.parseLong(end < 0 ? entry : entry.substring(0, end));
+        } catch (NumberFormatException e) {
+            // an unreadable entry is infinitely old
+            return Long.MIN_VALUE;
+        }
+    }
+}
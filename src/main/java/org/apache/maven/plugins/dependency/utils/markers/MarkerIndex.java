@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.utils.markers;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.dependency.utils.AtomicFileUtil;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * The markers of a mojo execution, kept in a single index file instead of one file per artifact. The index is read
+ * on first use and written, if it changed, by {@link #save()}: the file is replaced atomically so that an interrupted
+ * build never leaves a truncated index behind.
+ * <p>
+ * This class is thread safe.
+ *
+ * @since 3.8.2
+ */
+public class MarkerIndex {
+
+    private final File indexFile;
+
+    private Map<String, String> entries;
+
+    private boolean modified;
+
+    /**
+     * @param indexFile the index file, which does not need to exist
+     */
+    public MarkerIndex(File indexFile) {
+        this.indexFile = indexFile;
+    }
+
+    /**
+     * Returns the index file of a mojo execution of a project. The file name holds the project groupId and artifactId,
+     * the goal and the execution id: projects sharing a markers directory, and executions of a project, do not
+     * overwrite each other's markers.
+     *
+     * @param markersDirectory the markers directory
+     * @param project the project, may be null
+     * @param mojoExecution the mojo execution, may be null
+     * @return the index file in {@code markersDirectory}
+     */
+    public static File getIndexFile(File markersDirectory, MavenProject project, MojoExecution mojoExecution) {
+        StringBuilder name = new StringBuilder();
+        if (project != null) {
+            name.append(project.getGroupId())
+                    .append('.')
+                    .append(project.getArtifactId())
+                    .append('-');
+        }
+        if (mojoExecution == null) {
+            name.append("default");
+        } else {
+            name.append(mojoExecution.getGoal()).append('-').append(mojoExecution.getExecutionId());
+        }
+        return new File(markersDirectory, name.append(".index").toString());
+    }
+
+    /**
+     * @return the index file
+     */
+    public File getIndexFile() {
+        return indexFile;
+    }
+
+    /**
+     * @param key the marker name
+     * @return the recorded value, or null if the marker is not set
+     * @throws MojoExecutionException if the index could not be read
+     */
+    public synchronized String get(String key) throws MojoExecutionException {
+        return getEntries().get(key);
+    }
+
+    /**
+     * @param key the marker name
+     * @param value the value to record
+     * @throws MojoExecutionException if the index could not be read
+     */
+    public synchronized void put(String key, String value) throws MojoExecutionException {
+        if (!value.equals(getEntries().put(key, value))) {
+            modified = true;
+        }
+    }
+
+    /**
+     * @param key the marker name
+     * @return true if the marker was set
+     * @throws MojoExecutionException if the index could not be read
+     */
+    public synchronized boolean remove(String key) throws MojoExecutionException {
+        boolean removed = getEntries().remove(key) != null;
+        modified |= removed;
+        return removed;
+    }
+
+    /**
+     * Writes the index file, if a marker was set or cleared since it was read.
+     *
+     * @throws MojoExecutionException if the index could not be written
+     */
+    public synchronized void save() throws MojoExecutionException {
+        if (!modified) {
+            return;
+        }
+        Properties properties = new Properties();
+        properties.putAll(entries);
+        try {
+            AtomicFileUtil.write(indexFile, stream -> {
+                try (Writer writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8))) {
+                    properties.store(writer, null);
+                }
+            });
+            modified = false;
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to write Marker index: " + indexFile.getAbsolutePath(), e);
+        }
+    }
+
+    private Map<String, String> getEntries() throws MojoExecutionException {
+        if (entries == null) {
+            Map<String, String> loaded = new TreeMap<>();
+            if (indexFile.isFile()) {
+                Properties properties = new Properties();
+                try (Reader reader = Files.newBufferedReader(indexFile.toPath(), StandardCharsets.UTF_8)) {
+                    properties.load(reader);
+                } catch (IOException e) {
+                    throw new MojoExecutionException("Unable to read Marker index: " + indexFile.getAbsolutePath(), e);
+                }
+                for (String key : properties.stringPropertyNames()) {
+                    loaded.put(key, properties.getProperty(key));
+                }
+            }
+            entries = loaded;
+        }
+        return entries;
+    }
+}
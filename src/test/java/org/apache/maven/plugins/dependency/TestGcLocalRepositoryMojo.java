@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Extension;
+import org.apache.maven.model.InputLocation;
+import org.apache.maven.model.InputSource;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.ReportPlugin;
+import org.apache.maven.model.Reporting;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugins.dependency.testUtils.stubs.DependencyProjectStub;
+import org.apache.maven.project.MavenProject;
+
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class TestGcLocalRepositoryMojo extends AbstractDependencyMojoTestCase {
+
+    private GcLocalRepositoryMojo mojo;
+
+    private File localRepository;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp("gc-local-repository", false);
+
+        MavenProject project = new DependencyProjectStub();
+        getContainer().addComponent(project, MavenProject.class.getName());
+
+        MavenSession session = newMavenSession(project);
+        getContainer().addComponent(session, MavenSession.class.getName());
+        installLocalRepository(session.getRepositorySession());
+        localRepository = stubFactory.getWorkingDir();
+
+        File testPom = new File(getBasedir(), "target/test-classes/unit/gc-local-repository-test/plugin-config.xml");
+        mojo = (GcLocalRepositoryMojo) lookupMojo("gc-local-repository", testPom);
+        assertNotNull(mojo);
+    }
+
+    private File createFile(String path, int size, long lastUsed) throws IOException {
+        File file = new File(localRepository, path);
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.write(file.toPath(), new byte[size]);
+        Files.getFileAttributeView(file.toPath(), BasicFileAttributeView.class)
+                .setTimes(FileTime.fromMillis(lastUsed), FileTime.fromMillis(lastUsed), null);
+        return file;
+    }
+
+    public void testEvictsLeastRecentlyUsedVersions() throws Exception {
+        File old = createFile("org/example/old/1.0/old-1.0.jar", 200, 1000);
+        File used = createFile("org/example/used/1.0/used-1.0.jar", 200, 500);
+        File recent = createFile("org/example/recent/1.0/recent-1.0.jar", 200, 3000);
+        Artifact usedArtifact = stubFactory.createArtifact("org.example", "used", "1.0");
+        MavenProject reactorProject = new DependencyProjectStub();
+        reactorProject.setArtifacts(Collections.singleton(usedArtifact));
+        setVariableValueToObject(mojo, "reactorProjects", Collections.singletonList(reactorProject));
+        setVariableValueToObject(mojo, "pluginArtifacts", Collections.emptyList());
+        Log log = mock(Log.class);
+        mojo.setLog(log);
+
+        // the least recently used version not used by the reactor is listed
+        mojo.execute();
+
+        verify(log).info(startsWith("Would delete org" + File.separator + "example" + File.separator + "old"));
+        assertTrue(old.isFile());
+
+        mojo.setLog(mock(Log.class));
+        setVariableValueToObject(mojo, "dryRun", false);
+        mojo.execute();
+
+        assertFalse(old.getParentFile().exists());
+        assertTrue(used.isFile());
+        assertTrue(recent.isFile());
+    }
+
+    public void testKeepsPluginsExtensionsAndImportedPoms() throws Exception {
+        File old = createFile("org/example/old/1.0/old-1.0.jar", 200, 1000);
+        List<File> kept = Arrays.asList(
+                createFile("org/example/plugin/1.0/plugin-1.0.jar", 200, 1000),
+                createFile("org/example/plugin-dependency/1.0/plugin-dependency-1.0.jar", 200, 1000),
+                createFile("org/example/report/1.0/report-1.0.jar", 200, 1000),
+                createFile("org/example/extension/1.0/extension-1.0.jar", 200, 1000),
+                createFile("org/example/bom/1.0/bom-1.0.pom", 200, 1000),
+                createFile("org/example/imported-bom/1.0/imported-bom-1.0.pom", 200, 1000));
+
+        Model model = new Model();
+        model.setGroupId("org.example");
+        model.setArtifactId("project");
+        model.setVersion("1.0");
+        model.setBuild(new Build());
+        Plugin plugin = new Plugin();
+        plugin.setGroupId("org.example");
+        plugin.setArtifactId("plugin");
+        plugin.setVersion("1.0");
+        plugin.addDependency(createDependency("plugin-dependency", null));
+        model.getBuild().addPlugin(plugin);
+        Extension extension = new Extension();
+        extension.setGroupId("org.example");
+        extension.setArtifactId("extension");
+        extension.setVersion("1.0");
+        model.getBuild().addExtension(extension);
+        model.setReporting(new Reporting());
+        ReportPlugin report = new ReportPlugin();
+        report.setGroupId("org.example");
+        report.setArtifactId("report");
+        report.setVersion("1.0");
+        model.getReporting().addPlugin(report);
+        // a dependency managed by a POM imported by the imported POM
+        Dependency managed = createDependency("managed", null);
+        InputSource source = new InputSource();
+        source.setModelId("org.example:imported-bom:1.0");
+        managed.setLocation("", new InputLocation(1, 1, source));
+        model.setDependencyManagement(new DependencyManagement());
+        model.getDependencyManagement().addDependency(managed);
+
+        Model originalModel = model.clone();
+        originalModel.setDependencyManagement(new DependencyManagement());
+        originalModel.getDependencyManagement().addDependency(createDependency("bom", "import"));
+        MavenProject reactorProject = new MavenProject(model);
+        reactorProject.setOriginalModel(originalModel);
+        setVariableValueToObject(mojo, "reactorProjects", Collections.singletonList(reactorProject));
+        setVariableValueToObject(mojo, "pluginArtifacts", Collections.emptyList());
+        setVariableValueToObject(mojo, "maxSize", "0");
+        setVariableValueToObject(mojo, "dryRun", false);
+        mojo.setLog(mock(Log.class));
+
+        mojo.execute();
+
+        assertFalse(old.exists());
+        for (File file : kept) {
+            assertTrue(file.toString(), file.isFile());
+        }
+    }
+
+    public void testKeepsParentsImportedPomsAndTransitiveDependenciesOfDependencies() throws Exception {
+        File old = createFile("org/example/old/1.0/old-1.0.jar", 200, 1000);
+        createPom(
+                "lib",
+                "<parent><groupId>org.example</groupId><artifactId>lib-parent</artifactId>"
+                        + "<version>1.0</version></parent>");
+        createPom(
+                "lib-parent",
+                "<packaging>pom</packaging><dependencyManagement><dependencies><dependency>"
+                        + "<groupId>org.example</groupId><artifactId>lib-bom</artifactId><version>1.0</version>"
+                        + "<type>pom</type><scope>import</scope></dependency></dependencies></dependencyManagement>");
+        createPom("lib-bom", "<packaging>pom</packaging>");
+        createPom(
+                "plugin",
+                "<dependencies><dependency><groupId>org.example</groupId><artifactId>plugin-transitive</artifactId>"
+                        + "<version>1.0</version></dependency></dependencies>");
+        createPom("plugin-transitive", "");
+
+        Model model = new Model();
+        model.setGroupId("org.example");
+        model.setArtifactId("project");
+        model.setVersion("1.0");
+        model.setBuild(new Build());
+        model.addDependency(createDependency("lib", null));
+        Plugin plugin = new Plugin();
+        plugin.setGroupId("org.example");
+        plugin.setArtifactId("plugin");
+        plugin.setVersion("1.0");
+        model.getBuild().addPlugin(plugin);
+        setVariableValueToObject(mojo, "reactorProjects", Collections.singletonList(new MavenProject(model)));
+        setVariableValueToObject(mojo, "pluginArtifacts", Collections.emptyList());
+        setVariableValueToObject(mojo, "maxSize", "0");
+        setVariableValueToObject(mojo, "dryRun", false);
+        mojo.setLog(mock(Log.class));
+
+        mojo.execute();
+
+        assertFalse(old.exists());
+        for (String artifactId : Arrays.asList("lib", "lib-parent", "lib-bom", "plugin", "plugin-transitive")) {
+            assertTrue(artifactId, new File(localRepository, "org/example/" + artifactId + "/1.0").isDirectory());
+        }
+    }
+
+    private void createPom(String artifactId, String content) throws IOException {
+        File pom = createFile("org/example/" + artifactId + "/1.0/" + artifactId + "-1.0.pom", 0, 1000);
+        Files.write(
+                pom.toPath(),
+                ("<project><modelVersion>4.0.0</modelVersion><groupId>org.example</groupId><artifactId>" + artifactId
+                                + "</artifactId><version>1.0</version>" + content + "</project>")
+                        .getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Dependency createDependency(String artifactId, String scope) {
+        Dependency dependency = new Dependency();
+        dependency.setGroupId("org.example");
+        dependency.setArtifactId(artifactId);
+        dependency.setVersion("1.0");
+        dependency.setScope(scope);
+        if (scope != null) {
+            dependency.setType("pom");
+        }
+        return dependency;
+    }
+}
@@ -26,6 +26,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.plugins.dependency.testUtils.stubs.DependencyProjectStub;
 import org.apache.maven.plugins.dependency.utils.ResolverUtil;
@@ -164,4 +165,58 @@ public class TestListClassesMojo extends AbstractDependencyMojoTestCase {
         Mockito.verify(log, Mockito.times(expectedLogArgs.size())).info(infoArgsCaptor.capture());
         Assert.assertEquals(expectedLogArgs, infoArgsCaptor.getAllValues());
     }
+
+    public void testListClassesOutputFile() throws Exception {
+        Path path = Paths.get("src/test/resources/unit/list-test/testListClassesTransitive.txt");
+        List<String> expectedLines = Files.readAllLines(path);
+        File outputFile = new File(getBasedir(), "target/list-classes-test/classes.txt");
+
+        setVariableValueToObject(
+                mojo, "remoteRepositories", Arrays.asList("central::default::https://repo.maven.apache.org/maven2"));
+        mojo.setArtifact("org.apache.commons:commons-lang3:3.6");
+        setVariableValueToObject(mojo, "transitive", Boolean.TRUE);
+        setVariableValueToObject(mojo, "outputFile", outputFile);
+        setVariableValueToObject(mojo, "scanThreads", 4);
+
+        mojo.execute();
+
+        Assert.assertEquals(expectedLines, Files.readAllLines(outputFile.toPath()));
+    }
+
+    public void testListClassesSummary() throws Exception {
+        Path path = Paths.get("src/test/resources/unit/list-test/testListClassesNotTransitive.txt");
+        List<String> classes = Files.readAllLines(path);
+        long packages = classes.stream()
+                .map(c -> c.substring(0, c.lastIndexOf('.')))
+                .distinct()
+                .count();
+        ArgumentCaptor<String> infoArgsCaptor = ArgumentCaptor.forClass(String.class);
+
+        setVariableValueToObject(
+                mojo, "remoteRepositories", Arrays.asList("central::default::https://repo.maven.apache.org/maven2"));
+        mojo.setArtifact("org.apache.commons:commons-lang3:3.6");
+        setVariableValueToObject(mojo, "outputMode", "summary");
+
+        Log log = Mockito.mock(Log.class);
+        mojo.setLog(log);
+
+        mojo.execute();
+
+        Mockito.verify(log).info(infoArgsCaptor.capture());
+        Assert.assertEquals(
+                "org.apache.commons:commons-lang3:jar:3.6: " + classes.size() + " classes in " + packages + " packages",
+                infoArgsCaptor.getValue());
+    }
+
+    public void testListClassesUnknownOutputMode() throws Exception {
+        mojo.setArtifact("org.apache.commons:commons-lang3:3.6");
+        setVariableValueToObject(mojo, "outputMode", "jars");
+
+        try {
+            mojo.execute();
+            fail("Expected an unknown outputMode failure");
+        } catch (MojoExecutionException e) {
+            assertTrue(e.getMessage().contains("jars"));
+        }
+    }
 }
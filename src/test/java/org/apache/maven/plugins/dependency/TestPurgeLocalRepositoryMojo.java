@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import junit.framework.TestCase;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.resolver.ArtifactResolutionException;
+import org.apache.maven.model.Model;
+import org.apache.maven.plugin.testing.ArtifactStubFactory;
+import org.apache.maven.plugins.dependency.utils.ResolverUtil;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.util.artifact.SubArtifact;
+import org.mockito.ArgumentCaptor;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TestPurgeLocalRepositoryMojo extends TestCase {
+
+    private final ArtifactStubFactory stubFactory = new ArtifactStubFactory();
+
+    private final ResolverUtil resolverUtil = mock(ResolverUtil.class);
+
+    private MavenProject project;
+
+    private PurgeLocalRepositoryMojo mojo;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        Model model = new Model();
+        model.setGroupId("org.example");
+        model.setArtifactId("project");
+        model.setVersion("1.0");
+        project = new MavenProject(model);
+        project.setArtifact(stubFactory.createArtifact("org.example", "project", "1.0"));
+        mojo = new PurgeLocalRepositoryMojo(project, null, null, null, null, resolverUtil);
+    }
+
+    /**
+     * Resolves the requested artifacts, but those with the specified artifactId.
+     */
+    @SuppressWarnings("unchecked")
+    private ArgumentCaptor<Collection<org.eclipse.aether.artifact.Artifact>> resolveAllBut(String missingArtifactId) {
+        ArgumentCaptor<Collection<org.eclipse.aether.artifact.Artifact>> requests =
+                ArgumentCaptor.forClass(Collection.class);
+        when(resolverUtil.resolveArtifacts(requests.capture(), any())).thenAnswer(invocation -> {
+            List<ArtifactResult> results = new ArrayList<>();
+            for (org.eclipse.aether.artifact.Artifact artifact :
+                    invocation.<Collection<org.eclipse.aether.artifact.Artifact>>getArgument(0)) {
+                ArtifactResult result = new ArtifactResult(new ArtifactRequest(artifact, null, null));
+                if (!artifact.getArtifactId().equals(missingArtifactId)) {
+                    result.setArtifact(artifact.setFile(new File(artifact.getArtifactId())));
+                } else {
+                    result.addException(new Exception("not found: " + artifact));
+                }
+                results.add(result);
+            }
+            return results;
+        });
+        return requests;
+    }
+
+    public void testReResolvesPomsAndArtifacts() throws Exception {
+        ArgumentCaptor<Collection<org.eclipse.aether.artifact.Artifact>> requests = resolveAllBut(null);
+        Set<Artifact> artifacts = new LinkedHashSet<>();
+        artifacts.add(stubFactory.createArtifact("org.example", "lib", "1.0"));
+        artifacts.add(stubFactory.createArtifact("org.example", "parent", "1.0", null, "pom", null));
+
+        mojo.reResolveArtifacts(project, artifacts);
+
+        verify(resolverUtil).resolveArtifacts(any(), any());
+        List<String> requested = new ArrayList<>();
+        for (org.eclipse.aether.artifact.Artifact artifact : requests.getValue()) {
+            assertNull(artifact.getFile());
+            requested.add(artifact + (artifact instanceof SubArtifact ? " (sub)" : ""));
+        }
+        assertEquals(
+                Arrays.asList("org.example:lib:pom:1.0 (sub)", "org.example:lib:jar:1.0", "org.example:parent:pom:1.0"),
+                requested);
+    }
+
+    public void testReportsMissingArtifacts() throws Exception {
+        resolveAllBut("missing");
+        Set<Artifact> artifacts = new LinkedHashSet<>();
+        artifacts.add(stubFactory.createArtifact("org.example", "lib", "1.0"));
+        artifacts.add(stubFactory.createArtifact("org.example", "missing", "1.0"));
+
+        try {
+            mojo.reResolveArtifacts(project, artifacts);
+            fail("Expected ArtifactResolutionException");
+        } catch (ArtifactResolutionException e) {
+            assertTrue(e.getMessage().startsWith("required artifacts missing:"));
+            assertTrue(e.getMessage().contains("  org.example:missing:jar:1.0"));
+            assertFalse(e.getMessage().contains("org.example:lib:"));
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.analyze;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.stream.Stream;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Model;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugins.dependency.AbstractDependencyMojoTestCase;
+import org.apache.maven.plugins.dependency.testUtils.stubs.DependencyProjectStub;
+import org.apache.maven.plugins.dependency.utils.LogWriter;
+import org.apache.maven.project.MavenProject;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class TestAnalyzeAggregateMojo extends AbstractDependencyMojoTestCase {
+
+    private AnalyzeAggregateMojo mojo;
+
+    private Artifact pluginApi;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp("analyze-aggregate", false);
+
+        MavenProject project = new DependencyProjectStub();
+        getContainer().addComponent(project, MavenProject.class.getName());
+
+        MavenSession session = newMavenSession(project);
+        getContainer().addComponent(session, MavenSession.class.getName());
+
+        File testPom = new File(getBasedir(), "target/test-classes/unit/analyze-aggregate-test/plugin-config.xml");
+        mojo = (AnalyzeAggregateMojo) lookupMojo("analyze-aggregate", testPom);
+        assertNotNull(mojo);
+        setVariableValueToObject(mojo, "classesCache", new File(testDir, "analyze-classes.cache"));
+        setVariableValueToObject(mojo, "usagesCache", new File("dependency-usages.cache"));
+
+        pluginApi = stubFactory.createArtifact("org.apache.maven", "maven-plugin-api", "1.0");
+        pluginApi.setFile(new File(
+                Log.class.getProtectionDomain().getCodeSource().getLocation().toURI()));
+    }
+
+    /**
+     * @return a project whose classes are the classes of the utils package of this plugin, using the plugin API
+     */
+    private MavenProject createProject(String artifactId, Artifact... declaredArtifacts) throws Exception {
+        File buildDirectory = new File(testDir, artifactId + "/target");
+        File classesDirectory = new File(buildDirectory, "classes");
+        Path source = new File(LogWriter.class
+                        .getProtectionDomain()
+                        .getCodeSource()
+                        .getLocation()
+                        .toURI())
+                .toPath();
+        Path packagePath = source.resolve(LogWriter.class.getPackage().getName().replace('.', File.separatorChar));
+        Path target = classesDirectory.toPath().resolve(source.relativize(packagePath));
+        Files.createDirectories(target);
+        try (Stream<Path> paths = Files.list(packagePath)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                if (path.getFileName().toString().endsWith(".class")) {
+                    Files.copy(path, target.resolve(path.getFileName()));
+                }
+            }
+        }
+
+        Build build = new Build();
+        build.setDirectory(buildDirectory.getPath());
+        build.setOutputDirectory(classesDirectory.getPath());
+        build.setTestOutputDirectory(new File(buildDirectory, "test-classes").getPath());
+        Model model = new Model();
+        model.setGroupId("test");
+        model.setArtifactId(artifactId);
+        model.setVersion("1.0");
+        model.setPackaging("jar");
+        model.setBuild(build);
+        MavenProject project = new MavenProject(model);
+        project.setArtifacts(Collections.singleton(pluginApi));
+        project.setDependencyArtifacts(new LinkedHashSet<>(Arrays.asList(declaredArtifacts)));
+        return project;
+    }
+
+    public void testAnalyzeAggregate() throws Exception {
+        MavenProject clean = createProject("clean", pluginApi);
+        MavenProject undeclared = createProject("undeclared");
+        setVariableValueToObject(mojo, "reactorProjects", Arrays.asList(clean, undeclared));
+        Log log = mock(Log.class);
+        mojo.setLog(log);
+
+        mojo.execute();
+
+        verify(log).info("Dependencies of test:clean:jar:1.0:");
+        verify(log).info("Dependencies of test:undeclared:jar:1.0:");
+        verify(log).warn("Used undeclared dependencies found:");
+        verify(log).warn("Dependency problems found in 1 of 2 projects:");
+        verify(log).warn("   test:undeclared:jar:1.0");
+        assertTrue(new File(testDir, "analyze-classes.cache").isFile());
+        assertTrue(new File(testDir, "clean/target/dependency-usages.cache").isFile());
+        assertTrue(new File(testDir, "undeclared/target/dependency-usages.cache").isFile());
+
+        setVariableValueToObject(mojo, "failOnWarning", true);
+        try {
+            mojo.execute();
+            fail("Expected the dependency problems of a project to fail the build");
+        } catch (MojoExecutionException e) {
+            assertEquals("Dependency problems found", e.getMessage());
+        }
+    }
+
+    public void testAnalyzeAggregateReadsSharedJarsOnceWithoutCacheFile() throws Exception {
+        setVariableValueToObject(mojo, "classesCache", null);
+        MavenProject clean = createProject("clean", pluginApi);
+        MavenProject undeclared = createProject("undeclared");
+        setVariableValueToObject(mojo, "reactorProjects", Arrays.asList(clean, undeclared));
+        Log log = mock(Log.class);
+        mojo.setLog(log);
+
+        mojo.execute();
+
+        verify(log).warn("Dependency problems found in 1 of 2 projects:");
+        // the jar used by both projects is scanned once, and the classes are only cached in memory
+        verify(log).debug("Read 1 distinct dependency jars of 2 projects");
+        verify(log).debug("Scanned 1 released dependencies");
+        assertFalse(new File(testDir, "analyze-classes.cache").exists());
+    }
+}
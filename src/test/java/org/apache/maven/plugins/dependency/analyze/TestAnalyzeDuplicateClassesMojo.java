@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.analyze;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.dependency.AbstractDependencyMojoTestCase;
+import org.apache.maven.plugins.dependency.testUtils.stubs.DependencyProjectStub;
+import org.apache.maven.project.MavenProject;
+
+public class TestAnalyzeDuplicateClassesMojo extends AbstractDependencyMojoTestCase {
+
+    private AnalyzeDuplicateClassesMojo mojo;
+
+    private MavenProject project;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp("duplicate-classes", false);
+
+        project = new DependencyProjectStub();
+        getContainer().addComponent(project, MavenProject.class.getName());
+
+        MavenSession session = newMavenSession(project);
+        getContainer().addComponent(session, MavenSession.class.getName());
+
+        File testPom =
+                new File(getBasedir(), "target/test-classes/unit/analyze-duplicate-classes-test/plugin-config.xml");
+        mojo = (AnalyzeDuplicateClassesMojo) lookupMojo("analyze-duplicate-classes", testPom);
+        assertNotNull(mojo);
+        setVariableValueToObject(mojo, "classesCache", new File(testDir, "classes.cache"));
+
+        Set<Artifact> artifacts = new LinkedHashSet<>();
+        artifacts.add(createJar("a", "com/a/Same.class", "1", "com/shared/One.class", "1"));
+        artifacts.add(createJar("b", "com/a/Same.class", "2", "com/shared/Two.class", "2"));
+        artifacts.add(createJar("c", "com/c/Dup.class", "3", "META-INF/versions/9/com/a/Same.class", "3"));
+        artifacts.add(createJar("d", "com/c/Dup.class", "3", "module-info.class", "4"));
+        project.setArtifacts(artifacts);
+    }
+
+    private Artifact createJar(String artifactId, String... entries) throws IOException {
+        Artifact artifact = stubFactory.createArtifact("test", artifactId, "1.0");
+        File jar = new File(testDir, artifactId + ".jar");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(jar.toPath()))) {
+            for (int i = 0; i < entries.length; i += 2) {
+                zip.putNextEntry(new ZipEntry(entries[i]));
+                zip.write(entries[i + 1].getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        artifact.setFile(jar);
+        return artifact;
+    }
+
+    public void testDuplicateClasses() throws Exception {
+        TestAnalyzeDuplicateMojo.DuplicateLog log = new TestAnalyzeDuplicateMojo.DuplicateLog();
+        mojo.setLog(log);
+        mojo.execute();
+
+        String content = log.getContent();
+        assertTrue(content.contains("[warn] Conflicting classes found in several dependencies:"));
+        assertTrue(content.contains("[warn]    test:a:jar:1.0, test:b:jar:1.0"));
+        assertTrue(content.contains("[warn]       com.a.Same"));
+        assertTrue(content.contains("[info]    1 classes in test:c:jar:1.0, test:d:jar:1.0"));
+        assertTrue(content.contains("[warn]    com.shared: test:a:jar:1.0, test:b:jar:1.0"));
+        assertTrue(content.contains("[warn]    com.c: test:c:jar:1.0, test:d:jar:1.0"));
+        assertFalse(content.contains("com.a: test:a:jar:1.0, test:b:jar:1.0, test:c"));
+        assertFalse(content.contains("module-info"));
+        assertTrue(new File(testDir, "classes.cache").isFile());
+    }
+
+    public void testDuplicateClassesFromCache() throws Exception {
+        mojo.setLog(new TestAnalyzeDuplicateMojo.DuplicateLog());
+        mojo.execute();
+
+        TestAnalyzeDuplicateMojo.DuplicateLog log = new TestAnalyzeDuplicateMojo.DuplicateLog();
+        mojo.setLog(log);
+        mojo.execute();
+
+        assertTrue(log.getContent().contains("[warn]       com.a.Same"));
+    }
+
+    public void testFailOnWarning() throws Exception {
+        mojo.setLog(new TestAnalyzeDuplicateMojo.DuplicateLog());
+        setVariableValueToObject(mojo, "failOnWarning", true);
+
+        try {
+            mojo.execute();
+            fail("Expected a failure on conflicting classes");
+        } catch (MojoExecutionException e) {
+            assertEquals("Conflicting classes or split packages found", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.analyze;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Model;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugin.testing.stubs.DefaultArtifactHandlerStub;
+import org.apache.maven.plugins.dependency.testUtils.stubs.StubMarkerFile;
+import org.apache.maven.plugins.dependency.utils.ClassesCache;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.dependency.analyzer.ClassesPatterns;
+import org.apache.maven.shared.dependency.analyzer.DefaultClassAnalyzer;
+import org.apache.maven.shared.dependency.analyzer.ProjectDependencyAnalysis;
+import org.apache.maven.shared.dependency.analyzer.asm.ASMDependencyAnalyzer;
+import org.codehaus.plexus.util.ReflectionUtils;
+import org.codehaus.plexus.util.StringUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class TestCachingProjectDependencyAnalyzer {
+
+    @TempDir
+    File tempDir;
+
+    private static void createJar(File jar, String... classNames) throws IOException {
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(jar.toPath()))) {
+            for (String className : classNames) {
+                zip.putNextEntry(new ZipEntry(className.replace('.', '/') + ".class"));
+                zip.write(className.getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+    }
+
+    private static Artifact createArtifact(String artifactId, String version, File file) {
+        Artifact artifact = new DefaultArtifact(
+                "test",
+                artifactId,
+                VersionRange.createFromVersion(version),
+                Artifact.SCOPE_COMPILE,
+                "jar",
+                null,
+                new DefaultArtifactHandlerStub("jar", null),
+                false);
+        artifact.setFile(file);
+        return artifact;
+    }
+
+    private Map<Artifact, Set<String>> buildArtifactClassMap(MavenProject project, File cacheFile, int scanned)
+            throws IOException {
+        ClassesCache cache = new ClassesCache(cacheFile);
+        cache.load();
+        CachingProjectDependencyAnalyzer analyzer = new CachingProjectDependencyAnalyzer(new DefaultClassAnalyzer());
+        analyzer.setClassesCache(cache);
+
+        Map<Artifact, Set<String>> artifactClassMap =
+                analyzer.buildArtifactClassMap(project, new ClassesPatterns(Collections.singleton(".*Excluded")));
+
+        assertEquals(scanned, cache.getScanned());
+        cache.save();
+        return artifactClassMap;
+    }
+
+    private static File getLocation(Class<?> type) throws Exception {
+        return new File(type.getProtectionDomain().getCodeSource().getLocation().toURI());
+    }
+
+    private static void copyClasses(Class<?> type, File directory) throws Exception {
+        String packagePath = type.getPackage().getName().replace('.', File.separatorChar);
+        File source = new File(getLocation(type), packagePath);
+        File target = new File(directory, packagePath);
+        Files.createDirectories(target.toPath());
+        try (Stream<Path> paths = Files.list(source.toPath())) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                if (path.getFileName().toString().endsWith(".class")) {
+                    Files.copy(path, target.toPath().resolve(path.getFileName()));
+                }
+            }
+        }
+    }
+
+    private static ProjectDependencyAnalysis analyze(MavenProject project, ClassUsagesCache cache) throws Exception {
+        return analyze(new CachingProjectDependencyAnalyzer(new DefaultClassAnalyzer()), project, cache);
+    }
+
+    private static ProjectDependencyAnalysis analyze(
+            CachingProjectDependencyAnalyzer analyzer, MavenProject project, ClassUsagesCache cache) throws Exception {
+        // fields of the default analyzer, injected by the container
+        ReflectionUtils.setVariableValueInObject(analyzer, "classAnalyzer", new DefaultClassAnalyzer());
+        ReflectionUtils.setVariableValueInObject(analyzer, "dependencyAnalyzer", new ASMDependencyAnalyzer());
+        analyzer.setClassUsagesCache(cache);
+        return analyzer.analyze(project, Collections.singleton(".*ClassesUtil"));
+    }
+
+    private static void assertSameAnalysis(MavenProject project, ClassUsagesCache cache, int scanned) throws Exception {
+        ProjectDependencyAnalysis expected = analyze(project, null);
+        ProjectDependencyAnalysis actual = analyze(project, cache);
+
+        assertFalse(expected.getUsedDeclaredArtifacts().isEmpty());
+        assertEquals(expected, actual);
+        assertEquals(expected.getUsedDeclaredArtifactsWithUsages(), actual.getUsedDeclaredArtifactsWithUsages());
+        assertEquals(expected.getUsedUndeclaredArtifactsWithUsages(), actual.getUsedUndeclaredArtifactsWithUsages());
+        assertEquals(scanned, cache.getScanned());
+    }
+
+    private MavenProject createProject(File classesDirectory, File testClassesDirectory) throws Exception {
+        copyClasses(ClassesCache.class, classesDirectory);
+        copyClasses(TestCachingProjectDependencyAnalyzer.class, testClassesDirectory);
+        Build build = new Build();
+        build.setOutputDirectory(classesDirectory.getPath());
+        build.setTestOutputDirectory(testClassesDirectory.getPath());
+        Model model = new Model();
+        model.setBuild(build);
+        MavenProject project = new MavenProject(model);
+        Artifact pluginApi = createArtifact("maven-plugin-api", "1.0", getLocation(Log.class));
+        Artifact junit = createArtifact("junit-jupiter-api", "1.0", getLocation(Test.class));
+        Artifact plexusUtils = createArtifact("plexus-utils", "1.0", getLocation(StringUtils.class));
+        project.setArtifacts(new LinkedHashSet<>(Arrays.asList(pluginApi, junit, plexusUtils)));
+        project.setDependencyArtifacts(new LinkedHashSet<>(Arrays.asList(pluginApi, junit)));
+        return project;
+    }
+
+    /**
+     * @return the number of class files analyzed, the excluded classes being ignored
+     */
+    private int countClassFiles() throws IOException {
+        try (Stream<Path> paths = Files.walk(tempDir.toPath())) {
+            return (int) paths.filter(path -> path.toString().endsWith(".class"))
+                    .filter(path -> !path.toString().endsWith("ClassesUtil.class"))
+                    .count();
+        }
+    }
+
+    @Test
+    void parsesOnlyChangedClassFiles() throws Exception {
+        File classesDirectory = new File(tempDir, "classes");
+        MavenProject project = createProject(classesDirectory, new File(tempDir, "test-classes"));
+        File cacheFile = new File(tempDir, "dependency-usages.cache");
+        int classCount = countClassFiles();
+
+        ClassUsagesCache cache = new ClassUsagesCache(cacheFile, VisitorClassFileParser.INSTANCE);
+        cache.load();
+        assertSameAnalysis(project, cache, classCount);
+        cache.save();
+
+        cache = new ClassUsagesCache(cacheFile, VisitorClassFileParser.INSTANCE);
+        cache.load();
+        assertSameAnalysis(project, cache, 0);
+        cache.save();
+
+        // an added class is parsed, a removed class is dropped
+        File logWriter = new File(classesDirectory, "org/apache/maven/plugins/dependency/utils/LogWriter.class");
+        Files.delete(logWriter.toPath());
+        copyClasses(StubMarkerFile.class, classesDirectory);
+        cache = new ClassUsagesCache(cacheFile, VisitorClassFileParser.INSTANCE);
+        cache.load();
+        File[] added = new File(classesDirectory, "org/apache/maven/plugins/dependency/testUtils/stubs").listFiles();
+        assertSameAnalysis(project, cache, added.length);
+    }
+
+    @Test
+    void constantPoolAnalyzerFindsSameDependencies() throws Exception {
+        MavenProject project = createProject(new File(tempDir, "classes"), new File(tempDir, "test-classes"));
+        File cacheFile = new File(tempDir, "dependency-usages.cache");
+
+        ProjectDependencyAnalysis expected = analyze(project, null);
+        CachingProjectDependencyAnalyzer analyzer =
+                new ConstantPoolProjectDependencyAnalyzer(new DefaultClassAnalyzer());
+        ProjectDependencyAnalysis actual = analyze(analyzer, project, null);
+
+        assertFalse(expected.getUsedDeclaredArtifacts().isEmpty());
+        assertEquals(expected, actual);
+        assertEquals(expected.getUsedDeclaredArtifactsWithUsages(), actual.getUsedDeclaredArtifactsWithUsages());
+        assertEquals(expected.getUsedUndeclaredArtifactsWithUsages(), actual.getUsedUndeclaredArtifactsWithUsages());
+
+        // the usages cached by the default analyzer are not reused
+        ClassUsagesCache cache = new ClassUsagesCache(cacheFile, VisitorClassFileParser.INSTANCE);
+        analyze(project, cache);
+        cache.save();
+        cache = new ClassUsagesCache(cacheFile, analyzer.getClassFileParser());
+        cache.load();
+        assertEquals(actual, analyze(analyzer, project, cache));
+        assertEquals(countClassFiles(), cache.getScanned());
+    }
+
+    @Test
+    void readsOnlyReleasedJarsFromCache() throws IOException {
+        File releaseJar = new File(tempDir, "release-1.0.jar");
+        createJar(releaseJar, "org.example.Release", "org.example.Excluded");
+        File snapshotJar = new File(tempDir, "snapshot-1.0-SNAPSHOT.jar");
+        createJar(snapshotJar, "org.example.SnapshotA");
+        File classesDirectory = new File(tempDir, "classes");
+        File classFile = new File(classesDirectory, "org/example/Directory.class");
+        Files.createDirectories(classFile.getParentFile().toPath());
+        Files.write(classFile.toPath(), new byte[0]);
+
+        Artifact release = createArtifact("release", "1.0", releaseJar);
+        Artifact snapshot = createArtifact("snapshot", "1.0-SNAPSHOT", snapshotJar);
+        Artifact directory = createArtifact("directory", "1.0-SNAPSHOT", classesDirectory);
+        MavenProject project = new MavenProject(new Model());
+        project.setArtifacts(new LinkedHashSet<>(Arrays.asList(snapshot, release, directory)));
+        File cacheFile = new File(tempDir, "cache/analyze-classes.cache");
+
+        Map<Artifact, Set<String>> artifactClassMap = buildArtifactClassMap(project, cacheFile, 1);
+        assertEquals(Arrays.asList(snapshot, release, directory), new ArrayList<>(artifactClassMap.keySet()));
+        assertEquals(Collections.singleton("org.example.SnapshotA"), artifactClassMap.get(snapshot));
+        assertEquals(Collections.singleton("org.example.Release"), artifactClassMap.get(release));
+        assertEquals(Collections.singleton("org.example.Directory"), artifactClassMap.get(directory));
+
+        // a SNAPSHOT is scanned again even with the same size and timestamp
+        long lastModified = snapshotJar.lastModified();
+        createJar(snapshotJar, "org.example.SnapshotB");
+        snapshotJar.setLastModified(lastModified);
+
+        artifactClassMap = buildArtifactClassMap(project, cacheFile, 0);
+        assertEquals(Collections.singleton("org.example.SnapshotB"), artifactClassMap.get(snapshot));
+        assertEquals(Collections.singleton("org.example.Release"), artifactClassMap.get(release));
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.analyze;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.maven.plugins.dependency.utils.ClassesCache;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TestConstantPoolClassFileParser {
+
+    private static void assertSameUsages(File directory) throws Exception {
+        Path root = directory.toPath();
+        List<Path> classFiles;
+        try (Stream<Path> paths = Files.walk(root)) {
+            classFiles =
+                    paths.filter(path -> path.toString().endsWith(".class")).collect(Collectors.toList());
+        }
+        assertFalse(classFiles.isEmpty());
+        for (Path classFile : classFiles) {
+            String relativePath = root.relativize(classFile).toString();
+            String className = relativePath
+                    .substring(0, relativePath.length() - ".class".length())
+                    .replace(File.separatorChar, '.');
+            ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(classFile));
+            assertEquals(
+                    new HashSet<>(VisitorClassFileParser.INSTANCE.parse(className, bytes)),
+                    new HashSet<>(ConstantPoolClassFileParser.INSTANCE.parse(className, bytes)),
+                    className);
+        }
+    }
+
+    @Test
+    void findsSameUsagesAsDefaultAnalyzer() throws Exception {
+        // the classes of this plugin, with generics, annotations, lambdas and inner classes
+        assertSameUsages(new File(ClassesCache.class
+                .getProtectionDomain()
+                .getCodeSource()
+                .getLocation()
+                .toURI()));
+        assertSameUsages(new File(
+                getClass().getProtectionDomain().getCodeSource().getLocation().toURI()));
+    }
+
+    @Test
+    void rejectsInvalidClassFiles() {
+        // a constant pool of 2 entries, truncated after the magic number, the versions and the count
+        ByteBuffer truncated =
+                ByteBuffer.wrap(new byte[] {(byte) 0xca, (byte) 0xfe, (byte) 0xba, (byte) 0xbe, 0, 0, 0, 52, 0, 2});
+        assertThrows(IOException.class, () -> ConstantPoolClassFileParser.INSTANCE.parse("Truncated", truncated));
+        ByteBuffer text = ByteBuffer.wrap("not a class file".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IOException.class, () -> ConstantPoolClassFileParser.INSTANCE.parse("Text", text));
+    }
+}
@@ -20,7 +20,11 @@ package org.apache.maven.plugins.dependency.fromDependencies;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.maven.artifact.Artifact;
@@ -33,11 +37,13 @@ import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugin.testing.stubs.ArtifactStub;
 import org.apache.maven.plugins.dependency.AbstractDependencyMojoTestCase;
 import org.apache.maven.plugins.dependency.testUtils.stubs.DependencyProjectStub;
+import org.apache.maven.plugins.dependency.utils.CopyUtil;
 import org.apache.maven.plugins.dependency.utils.DependencyUtil;
 import org.apache.maven.plugins.dependency.utils.ResolverUtil;
 import org.apache.maven.plugins.dependency.utils.markers.DefaultFileMarkerHandler;
 import org.apache.maven.project.MavenProject;
 import org.eclipse.aether.RepositorySystem;
+import org.sonatype.plexus.build.incremental.DefaultBuildContext;
 
 public class TestCopyDependenciesMojo extends AbstractDependencyMojoTestCase {
 
@@ -119,6 +125,97 @@ public class TestCopyDependenciesMojo extends AbstractDependencyMojoTestCase {
         }
     }
 
+    public void testCopyThreads() throws Exception {
+        for (int threads : new int[] {1, 4}) {
+            mojo.copyThreads = threads;
+            mojo.outputDirectory = new File(this.testDir, "outputDirectory" + threads);
+            mojo.execute();
+
+            Set<Artifact> artifacts = mojo.getProject().getArtifacts();
+            for (Artifact artifact : artifacts) {
+                String fileName = DependencyUtil.getFormattedFileName(artifact, false);
+                File file = new File(mojo.outputDirectory, fileName);
+                assertTrue(file.exists());
+            }
+        }
+    }
+
+    public void testCopyThreadsSameDestination() throws Exception {
+        mojo.copyThreads = 4;
+        mojo.stripVersion = true;
+        mojo.stripClassifier = true;
+        mojo.execute();
+
+        Set<Artifact> artifacts = mojo.getProject().getArtifacts();
+        for (Artifact artifact : artifacts) {
+            String fileName = DependencyUtil.getFormattedFileName(artifact, true, false, false, true);
+            File file = new File(mojo.outputDirectory, fileName);
+            assertTrue(file.exists());
+        }
+    }
+
+    public void testCopyThreadsLastArtifactWins() throws Exception {
+        File dest = new File(mojo.outputDirectory, "shared.jar");
+        Map<Artifact, File> copies = new LinkedHashMap<>();
+        for (int i = 0; i < 8; i++) {
+            Artifact artifact = stubFactory.createArtifact("org.apache.maven.plugins", "shared", "1." + i);
+            Files.write(artifact.getFile().toPath(), ("content " + i).getBytes(StandardCharsets.UTF_8));
+            copies.put(artifact, dest);
+        }
+
+        new CopyUtil(new DefaultBuildContext()).copyArtifactFiles(copies, 4);
+
+        assertEquals("content 7", new String(Files.readAllBytes(dest.toPath()), StandardCharsets.UTF_8));
+        assertEquals(1, mojo.outputDirectory.list().length);
+    }
+
+    public void testCopyThreadsFailure() throws Exception {
+        Artifact missing = stubFactory.createArtifact("org.apache.maven.plugins", "missing", "1.0");
+        assertTrue(missing.getFile().delete());
+
+        Set<Artifact> artifacts = new HashSet<>(mojo.getProject().getArtifacts());
+        artifacts.add(missing);
+        mojo.getProject().setArtifacts(artifacts);
+        mojo.copyThreads = 4;
+        try {
+            mojo.execute();
+            fail("Expected a failing copy to be reported");
+        } catch (MojoExecutionException e) {
+            assertTrue(e.getMessage().startsWith("Failed to copy artifact"));
+            assertTrue(e.getMessage().contains(missing.getFile().getPath()));
+            assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    public void testCopyStrategyLinks() throws Exception {
+        for (String strategy : new String[] {"hardlink", "symlink", "reflink"}) {
+            mojo.copyStrategy = strategy;
+            mojo.outputDirectory = new File(this.testDir, strategy);
+            mojo.execute();
+
+            Set<Artifact> artifacts = mojo.getProject().getArtifacts();
+            for (Artifact artifact : artifacts) {
+                String fileName = DependencyUtil.getFormattedFileName(artifact, false);
+                File file = new File(mojo.outputDirectory, fileName);
+                assertTrue(file.exists());
+                assertEquals(artifact.getFile().length(), file.length());
+                if ("symlink".equals(strategy)) {
+                    assertTrue(Files.isSymbolicLink(file.toPath()));
+                }
+            }
+        }
+    }
+
+    public void testCopyStrategyUnknown() throws Exception {
+        mojo.copyStrategy = "teleport";
+        try {
+            mojo.execute();
+            fail("Expected an unknown copyStrategy to fail");
+        } catch (MojoExecutionException e) {
+            assertTrue(e.getMessage().contains("teleport"));
+        }
+    }
+
     public void testStripVersion() throws Exception {
         mojo.stripVersion = true;
         mojo.execute();
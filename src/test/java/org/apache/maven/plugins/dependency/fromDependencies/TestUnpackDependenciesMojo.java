@@ -20,8 +20,13 @@ package org.apache.maven.plugins.dependency.fromDependencies;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.handler.manager.ArtifactHandlerManager;
@@ -37,8 +42,11 @@ import org.apache.maven.plugins.dependency.testUtils.stubs.DependencyProjectStub
 import org.apache.maven.plugins.dependency.utils.DependencyUtil;
 import org.apache.maven.plugins.dependency.utils.ResolverUtil;
 import org.apache.maven.plugins.dependency.utils.markers.DefaultFileMarkerHandler;
+import org.apache.maven.plugins.dependency.utils.markers.IndexMarkerHandler;
+import org.apache.maven.plugins.dependency.utils.markers.MarkerIndex;
 import org.apache.maven.project.MavenProject;
 import org.codehaus.plexus.archiver.manager.ArchiverManager;
+import org.codehaus.plexus.util.FileUtils;
 import org.eclipse.aether.RepositorySystem;
 
 public class TestUnpackDependenciesMojo extends AbstractDependencyMojoTestCase {
@@ -135,6 +143,92 @@ public class TestUnpackDependenciesMojo extends AbstractDependencyMojoTestCase {
         }
     }
 
+    public void testUnpackThreads() throws Exception {
+        for (int threads : new int[] {1, 4}) {
+            setVariableValueToObject(mojo, "unpackThreads", threads);
+            mojo.outputDirectory = new File(this.testDir, "outputDirectory" + threads);
+            mojo.markersDirectory = new File(this.testDir, "markers" + threads);
+            mojo.execute();
+            for (Artifact artifact : mojo.getProject().getArtifacts()) {
+                assertUnpacked(artifact);
+            }
+        }
+    }
+
+    public void testUnpackThreadsSameFile() throws Exception {
+        Set<Artifact> artifacts = new LinkedHashSet<>();
+        for (int i = 0; i < 8; i++) {
+            Artifact artifact = stubFactory.createArtifact("test", "collide" + i, "1.0");
+            File archive = new File(this.testDir, "collide" + i + ".jar");
+            try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(archive.toPath()))) {
+                zip.putNextEntry(new ZipEntry("same.txt"));
+                zip.write(String.valueOf(i).getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+                zip.putNextEntry(new ZipEntry("own" + i + ".txt"));
+                zip.closeEntry();
+            }
+            artifact.setFile(archive);
+            artifacts.add(artifact);
+        }
+        mojo.getProject().setArtifacts(artifacts);
+        setVariableValueToObject(mojo, "unpackThreads", 4);
+
+        mojo.execute();
+
+        String content = new String(
+                Files.readAllBytes(new File(mojo.outputDirectory, "same.txt").toPath()), StandardCharsets.UTF_8);
+        assertEquals("7", content);
+        for (int i = 0; i < 8; i++) {
+            assertTrue(new File(mojo.outputDirectory, "own" + i + ".txt").exists());
+        }
+        for (Artifact artifact : artifacts) {
+            assertMarkerFile(true, artifact);
+        }
+    }
+
+    public void testUnpackThreadsFailure() throws Exception {
+        Set<Artifact> artifacts = new LinkedHashSet<>();
+        for (int i = 0; i < 8; i++) {
+            Artifact artifact = stubFactory.createArtifact("test", "broken" + i, "1.0");
+            File archive = new File(this.testDir, "broken" + i + ".jar");
+            Files.write(archive.toPath(), "not a zip".getBytes(StandardCharsets.UTF_8));
+            artifact.setFile(archive);
+            artifacts.add(artifact);
+        }
+        mojo.getProject().setArtifacts(artifacts);
+        setVariableValueToObject(mojo, "unpackThreads", 4);
+
+        try {
+            mojo.execute();
+            fail("Expected a failing unpack to be reported");
+        } catch (MojoExecutionException e) {
+            assertTrue(e.getMessage().contains("broken0.jar"));
+        }
+        assertMarkerFile(false, artifacts.iterator().next());
+    }
+
+    public void testUseMarkersIndex() throws Exception {
+        setVariableValueToObject(mojo, "useMarkersIndex", true);
+        setVariableValueToObject(mojo, "unpackThreads", 4);
+        mojo.execute();
+
+        File[] markers = mojo.markersDirectory.listFiles();
+        assertNotNull(markers);
+        assertEquals(1, markers.length);
+        assertTrue(markers[0].getName().endsWith(".index"));
+        MarkerIndex index = new MarkerIndex(markers[0]);
+        for (Artifact artifact : mojo.getProject().getArtifacts()) {
+            assertMarkerFile(false, artifact);
+            assertTrue(new IndexMarkerHandler(new DefaultFileMarkerHandler(artifact, mojo.markersDirectory), index)
+                    .isMarkerSet());
+        }
+
+        // a second run reads the markers from the index
+        FileUtils.deleteDirectory(mojo.outputDirectory);
+        mojo.execute();
+        assertFalse(mojo.outputDirectory.exists());
+    }
+
     public void testNoTransitive() throws Exception {
         mojo.excludeTransitive = true;
         mojo.execute();
@@ -19,17 +19,36 @@
 package org.apache.maven.plugins.dependency.resolvers;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
 import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.plugin.testing.stubs.ArtifactStub;
 import org.apache.maven.plugins.dependency.AbstractDependencyMojoTestCase;
 import org.apache.maven.plugins.dependency.testUtils.stubs.DependencyProjectStub;
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuildingRequest;
 import org.apache.maven.shared.artifact.filter.collection.FilterArtifacts;
+import org.apache.maven.shared.transfer.artifact.resolve.ArtifactResult;
+import org.apache.maven.shared.transfer.dependencies.DependableCoordinate;
+import org.apache.maven.shared.transfer.dependencies.resolve.DependencyResolver;
+import org.apache.maven.shared.transfer.dependencies.resolve.DependencyResolverException;
 import org.junit.jupiter.api.Disabled;
+import org.mockito.Mockito;
+
+import static org.mockito.ArgumentMatchers.any;
 
 public class GoOfflineMojoTest extends AbstractDependencyMojoTestCase {
     private GoOfflineMojo subject;
@@ -402,4 +421,141 @@ public class GoOfflineMojoTest extends AbstractDependencyMojoTestCase {
         assertTrue(artifacts.contains(artifact2));
         assertFalse(artifacts.contains(artifact3));
     }
+
+    private DependencyResolver mockDependencyResolver(MavenProject project) throws Exception {
+        File testPom = new File(getBasedir(), "target/test-classes/unit/go-offline-test/exclude-plugin-config.xml");
+        subject = (GoOfflineMojo) lookupMojo("go-offline", testPom);
+        assertNotNull(subject);
+
+        List<Dependency> dependencies = new ArrayList<>();
+        for (String artifactId : new String[] {"first", "second", "third"}) {
+            Dependency dependency = new Dependency();
+            dependency.setGroupId("dont.skip.me");
+            dependency.setArtifactId(artifactId);
+            dependency.setVersion("1.0");
+            dependency.setType("jar");
+            dependency.setScope("compile");
+            dependencies.add(dependency);
+        }
+        project.setDependencies(dependencies);
+
+        DependencyResolver dependencyResolver = Mockito.mock(DependencyResolver.class);
+        setVariableValueToObject(subject, "dependencyResolver", dependencyResolver);
+        setVariableValueToObject(subject, "remoteRepositories", new ArrayList<>());
+        setVariableValueToObject(subject, "remotePluginRepositories", new ArrayList<>());
+        setVariableValueToObject(subject, "resolveThreads", 4);
+        return dependencyResolver;
+    }
+
+    private static ArtifactResult result(String artifactId) {
+        Artifact artifact = new DefaultArtifact(
+                "dont.skip.me", artifactId, "1.0", "compile", "jar", null, new DefaultArtifactHandler("jar"));
+        return () -> artifact;
+    }
+
+    public void testResolveThreads() throws Exception {
+        MavenProject project = (MavenProject) getContainer().lookup(MavenProject.class.getName());
+        DependencyResolver dependencyResolver = mockDependencyResolver(project);
+        Mockito.when(dependencyResolver.resolveDependencies(
+                        any(ProjectBuildingRequest.class), any(DependableCoordinate.class), any()))
+                .thenAnswer(invocation -> {
+                    DependableCoordinate coordinate = invocation.getArgument(1);
+                    return Arrays.asList(result(coordinate.getArtifactId()), result("shared"));
+                });
+        Log log = Mockito.mock(Log.class);
+        subject.setLog(log);
+
+        subject.execute();
+
+        Mockito.verify(dependencyResolver, Mockito.times(3))
+                .resolveDependencies(any(ProjectBuildingRequest.class), any(DependableCoordinate.class), any());
+        for (String artifactId : new String[] {"first", "second", "third", "shared"}) {
+            Mockito.verify(log).info("Resolved dependency: " + artifactId + "-1.0.jar");
+        }
+    }
+
+    public void testResolveThreadsFailure() throws Exception {
+        MavenProject project = (MavenProject) getContainer().lookup(MavenProject.class.getName());
+        DependencyResolver dependencyResolver = mockDependencyResolver(project);
+        Mockito.when(dependencyResolver.resolveDependencies(
+                        any(ProjectBuildingRequest.class), any(DependableCoordinate.class), any()))
+                .thenAnswer(invocation -> {
+                    DependableCoordinate coordinate = invocation.getArgument(1);
+                    if ("second".equals(coordinate.getArtifactId())) {
+                        throw new DependencyResolverException("Unable to resolve second", new Exception());
+                    }
+                    return Collections.singletonList(result(coordinate.getArtifactId()));
+                });
+
+        try {
+            subject.execute();
+            fail("Expected a resolution failure");
+        } catch (MojoExecutionException e) {
+            assertEquals("Unable to resolve second", e.getMessage());
+            assertTrue(e.getCause() instanceof DependencyResolverException);
+        }
+    }
+
+    public void testResolveThreadsError() throws Exception {
+        MavenProject project = (MavenProject) getContainer().lookup(MavenProject.class.getName());
+        DependencyResolver dependencyResolver = mockDependencyResolver(project);
+        Mockito.when(dependencyResolver.resolveDependencies(
+                        any(ProjectBuildingRequest.class), any(DependableCoordinate.class), any()))
+                .thenThrow(new LinkageError("broken resolver"));
+
+        try {
+            subject.execute();
+            fail("Expected the error of the resolver");
+        } catch (LinkageError e) {
+            assertEquals("broken resolver", e.getMessage());
+        }
+    }
+
+    public void testAggregate() throws Exception {
+        MavenProject project = (MavenProject) getContainer().lookup(MavenProject.class.getName());
+        DependencyResolver dependencyResolver = mockDependencyResolver(project);
+        Mockito.when(dependencyResolver.resolveDependencies(
+                        any(ProjectBuildingRequest.class), any(DependableCoordinate.class), any()))
+                .thenAnswer(invocation -> {
+                    DependableCoordinate coordinate = invocation.getArgument(1);
+                    return Arrays.asList(result(coordinate.getArtifactId()), result("shared"));
+                });
+
+        MavenProject other = new DependencyProjectStub();
+        Dependency shared = project.getDependencies().get(0).clone();
+        Dependency fourth = shared.clone();
+        fourth.setArtifactId("fourth");
+        other.setDependencies(Arrays.asList(shared, fourth));
+
+        File manifestFile = new File(testDir, "go-offline.manifest");
+        setVariableValueToObject(subject, "aggregate", true);
+        setVariableValueToObject(subject, "manifestFile", manifestFile);
+        setVariableValueToObject(subject, "reactorProjects", Arrays.asList(project, other));
+
+        subject.execute();
+
+        // "first" is declared by both projects but resolved once
+        Mockito.verify(dependencyResolver, Mockito.times(4))
+                .resolveDependencies(any(ProjectBuildingRequest.class), any(DependableCoordinate.class), any());
+        List<String> manifest = Files.readAllLines(manifestFile.toPath(), StandardCharsets.UTF_8);
+        assertEquals(
+                Arrays.asList(
+                        "dependency dont.skip.me:first:jar:1.0",
+                        "dependency dont.skip.me:fourth:jar:1.0",
+                        "dependency dont.skip.me:second:jar:1.0",
+                        "dependency dont.skip.me:shared:jar:1.0",
+                        "dependency dont.skip.me:third:jar:1.0"),
+                manifest);
+    }
+
+    public void testAggregateSkipsOtherProjects() throws Exception {
+        MavenProject project = (MavenProject) getContainer().lookup(MavenProject.class.getName());
+        DependencyResolver dependencyResolver = mockDependencyResolver(project);
+        setVariableValueToObject(subject, "aggregate", true);
+        setVariableValueToObject(subject, "reactorProjects", Arrays.asList(new DependencyProjectStub(), project));
+
+        subject.execute();
+
+        Mockito.verifyNoInteractions(dependencyResolver);
+    }
 }
@@ -18,7 +18,6 @@
  */
 package org.apache.maven.plugins.dependency.resolvers;
 
-import java.io.IOException;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -34,22 +33,22 @@ public class ResolveDependenciesMojoTest extends AbstractDependencyMojoTestCase
         super.setUp("dss", true);
     }
 
-    public void testDependencyStatusLog() throws IOException {
+    public void testDependencyStatusLog() throws Exception {
         Set<Artifact> artifacts = this.stubFactory.getMixedArtifacts();
         doTestDependencyStatusLog(artifacts);
     }
 
-    public void testDependencyStatusLogNullFiles() throws IOException {
+    public void testDependencyStatusLogNullFiles() throws Exception {
         this.stubFactory.setCreateFiles(false);
         Set<Artifact> artifacts = this.stubFactory.getMixedArtifacts();
         doTestDependencyStatusLog(artifacts);
     }
 
-    public void testDependencyStatusEmptySet() {
+    public void testDependencyStatusEmptySet() throws Exception {
         doTestDependencyStatusLog(new HashSet<>());
     }
 
-    public void testOptionalDependencyFormatting() throws IOException {
+    public void testOptionalDependencyFormatting() throws Exception {
         Set<Artifact> set = new HashSet<>();
         Artifact artifact =
                 stubFactory.createArtifact("g", "a", VersionRange.createFromVersion("1.0"), "test", "jar", null, true);
@@ -61,7 +60,7 @@ public class ResolveDependenciesMojoTest extends AbstractDependencyMojoTestCase
         assertTrue(output.contains("g:a:jar:1.0:test (optional)" + System.lineSeparator()));
     }
 
-    private void doTestDependencyStatusLog(Set<Artifact> artifacts) {
+    private void doTestDependencyStatusLog(Set<Artifact> artifacts) throws Exception {
         // this test is just looking for unexpected exceptions.
 
         ResolveDependenciesMojo mojo = newMojo(new DependencyStatusSets());
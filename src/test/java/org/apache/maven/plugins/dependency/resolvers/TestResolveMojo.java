@@ -19,6 +19,9 @@
 package org.apache.maven.plugins.dependency.resolvers;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 import org.apache.maven.artifact.Artifact;
@@ -27,7 +30,15 @@ import org.apache.maven.plugins.dependency.AbstractDependencyMojoTestCase;
 import org.apache.maven.plugins.dependency.testUtils.stubs.DependencyProjectStub;
 import org.apache.maven.plugins.dependency.utils.DependencySilentLog;
 import org.apache.maven.plugins.dependency.utils.DependencyStatusSets;
+import org.apache.maven.plugins.dependency.utils.ResolverUtil;
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuilder;
+import org.apache.maven.project.ProjectBuildingRequest;
+import org.apache.maven.project.ProjectBuildingResult;
+import org.mockito.Mockito;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 
 public class TestResolveMojo extends AbstractDependencyMojoTestCase {
 
@@ -76,6 +87,65 @@ public class TestResolveMojo extends AbstractDependencyMojoTestCase {
         assertEquals(directArtifacts.size(), results.getResolvedDependencies().size());
     }
 
+    public void testIncludeParentsBuildsSharedParentsOnce() throws Exception {
+        File testPom = new File(getBasedir(), "target/test-classes/unit/resolve-test/plugin-config.xml");
+        ResolveDependenciesMojo mojo = (ResolveDependenciesMojo) lookupMojo("resolve", testPom);
+        MavenProject project = mojo.getProject();
+
+        Artifact first = stubFactory.createArtifact("test", "first", "1.0");
+        Artifact second = stubFactory.createArtifact("test", "second", "1.0");
+        Set<Artifact> artifacts = new LinkedHashSet<>(Arrays.asList(first, second));
+        project.setArtifacts(artifacts);
+        project.setDependencyArtifacts(new LinkedHashSet<>(artifacts));
+
+        // both dependencies share the same parent chain
+        MavenProject grandParent = newProject("grand-parent", null);
+        MavenProject parent = newProject("parent", grandParent);
+        ProjectBuilder projectBuilder = Mockito.mock(ProjectBuilder.class);
+        Mockito.when(projectBuilder.build(any(Artifact.class), any(ProjectBuildingRequest.class)))
+                .thenAnswer(invocation -> {
+                    Artifact artifact = invocation.getArgument(0);
+                    ProjectBuildingResult result = Mockito.mock(ProjectBuildingResult.class);
+                    Mockito.when(result.getProject()).thenReturn(newProject(artifact.getArtifactId(), parent));
+                    return result;
+                });
+        ResolverUtil resolverUtil = Mockito.mock(ResolverUtil.class);
+        Mockito.when(resolverUtil.resolveArtifact(any(), anyList())).thenAnswer(invocation -> {
+            org.eclipse.aether.artifact.Artifact artifact = invocation.getArgument(0);
+            return artifact.setFile(new File(testDir, artifact.getArtifactId() + ".pom"));
+        });
+        setVariableValueToObject(mojo, "projectBuilder", projectBuilder);
+        setVariableValueToObject(mojo, "resolverUtil", resolverUtil);
+        setVariableValueToObject(mojo, "includeParents", true);
+        setVariableValueToObject(mojo, "resolveThreads", 1);
+
+        mojo.execute();
+
+        Set<String> resolved = new LinkedHashSet<>();
+        for (Artifact artifact : mojo.getResults().getResolvedDependencies()) {
+            resolved.add(artifact.getArtifactId());
+        }
+        assertEquals(new LinkedHashSet<>(Arrays.asList("first", "second", "parent", "grand-parent")), resolved);
+        Mockito.verify(projectBuilder, Mockito.times(2)).build(any(Artifact.class), any(ProjectBuildingRequest.class));
+        Mockito.verify(resolverUtil, Mockito.times(2)).resolveArtifact(any(), anyList());
+
+        // the parents are cached for the session
+        project.setArtifacts(new LinkedHashSet<>(Arrays.asList(first, second)));
+        mojo.execute();
+        Mockito.verify(projectBuilder, Mockito.times(2)).build(any(Artifact.class), any(ProjectBuildingRequest.class));
+        Mockito.verify(resolverUtil, Mockito.times(2)).resolveArtifact(any(), anyList());
+    }
+
+    private MavenProject newProject(String artifactId, MavenProject parent) throws IOException {
+        DependencyProjectStub project = new DependencyProjectStub();
+        project.setGroupId("test");
+        project.setArtifactId(artifactId);
+        project.setVersion("1.0");
+        project.setArtifact(stubFactory.createArtifact("test", artifactId, "1.0", null, "pom", null));
+        project.setParent(parent);
+        return project;
+    }
+
     public void testSilent() throws Exception {
         File testPom = new File(getBasedir(), "target/test-classes/unit/resolve-test/plugin-config.xml");
         ResolveDependenciesMojo mojo = (ResolveDependenciesMojo) lookupMojo("resolve", testPom);
@@ -23,11 +23,13 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.StringReader;
+import java.io.StringWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
@@ -38,13 +40,35 @@ import jakarta.json.JsonArray;
 import jakarta.json.JsonObject;
 import jakarta.json.JsonReader;
 import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.resolver.filter.ArtifactFilter;
 import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Model;
 import org.apache.maven.plugin.LegacySupport;
+import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.testing.stubs.MavenProjectStub;
 import org.apache.maven.plugins.dependency.AbstractDependencyMojoTestCase;
+import org.apache.maven.plugins.dependency.utils.DependencyUtil;
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuildingRequest;
+import org.apache.maven.shared.artifact.filter.StrictPatternExcludesArtifactFilter;
+import org.apache.maven.shared.artifact.filter.StrictPatternIncludesArtifactFilter;
+import org.apache.maven.shared.dependency.graph.DependencyGraphBuilder;
+import org.apache.maven.shared.dependency.graph.DependencyGraphBuilderException;
 import org.apache.maven.shared.dependency.graph.DependencyNode;
+import org.apache.maven.shared.dependency.graph.filter.AncestorOrSelfDependencyNodeFilter;
+import org.apache.maven.shared.dependency.graph.filter.ArtifactDependencyNodeFilter;
+import org.apache.maven.shared.dependency.graph.filter.DependencyNodeFilter;
 import org.apache.maven.shared.dependency.graph.internal.DefaultDependencyNode;
+import org.apache.maven.shared.dependency.graph.traversal.DependencyNodeVisitor;
+import org.apache.maven.shared.dependency.graph.traversal.FilteringDependencyNodeVisitor;
+import org.apache.maven.shared.dependency.graph.traversal.SerializingDependencyNodeVisitor;
+import org.apache.maven.shared.dependency.graph.traversal.SerializingDependencyNodeVisitor.GraphTokens;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * Tests <code>TreeMojo</code>.
@@ -230,6 +254,399 @@ public class TestTreeMojo extends AbstractDependencyMojoTestCase {
         }
     }
 
+    /**
+     * Test parsing of NDJSON output line by line and resolving interned coordinates
+     */
+    public void testTreeNdjsonParsing() throws Exception {
+        List<String> contents = runTreeMojo("tree.ndjson", "ndjson");
+
+        System.setProperty("jakarta.json.provider", "org.glassfish.json.JsonProviderImpl");
+        List<String> strings = new ArrayList<>();
+        List<String> nodes = new ArrayList<>();
+        try (JsonReader reader = Json.createReader(new StringReader(contents.get(0)))) {
+            assertEquals("testGroupId:project:1.0", reader.readObject().getString("tree"));
+        }
+        for (String line : contents.subList(1, contents.size())) {
+            try (JsonReader reader = Json.createReader(new StringReader(line))) {
+                JsonObject object = reader.readObject();
+                if (object.containsKey("string")) {
+                    assertEquals(strings.size(), object.getInt("string"));
+                    strings.add(object.getString("value"));
+                } else {
+                    assertEquals(nodes.size(), object.getInt("id"));
+                    String coordinates = strings.get(object.getInt("g")) + ":" + strings.get(object.getInt("a"))
+                            + ":" + strings.get(object.getInt("t")) + ":" + strings.get(object.getInt("v"))
+                            + ":" + strings.get(object.getInt("s"));
+                    if (nodes.isEmpty()) {
+                        assertFalse(object.containsKey("parent"));
+                    } else {
+                        assertEquals(0, object.getInt("parent"));
+                    }
+                    assertFalse(object.containsKey("c"));
+                    assertFalse(object.containsKey("o"));
+                    nodes.add(coordinates);
+                }
+            }
+        }
+
+        assertEquals(3, nodes.size());
+        assertEquals("testGroupId:project:jar:1.0:compile", nodes.get(0));
+        assertTrue(nodes.contains("testGroupId:release:jar:1.0:compile"));
+        assertTrue(nodes.contains("testGroupId:snapshot:jar:2.0-SNAPSHOT:compile"));
+        // testGroupId, jar and compile are defined once
+        assertEquals(8, strings.size());
+    }
+
+    /**
+     * Test the NDJSON serialization escapes strings
+     */
+    public void testTreeNdjsonEscaping() throws IOException {
+        Artifact artifact = this.stubFactory.createArtifact("testGroupId", "project", "1.0", null, "jar", "a\"b\\c");
+        DefaultDependencyNode node = new DefaultDependencyNode(artifact);
+        node.setChildren(new ArrayList<>());
+
+        StringWriter writer = new StringWriter();
+        node.accept(new NdjsonDependencyNodeVisitor(writer));
+
+        System.setProperty("jakarta.json.provider", "org.glassfish.json.JsonProviderImpl");
+        List<String> lines = Arrays.asList(writer.toString().split("\\R"));
+        List<String> strings = new ArrayList<>();
+        for (String line : lines.subList(1, lines.size() - 1)) {
+            try (JsonReader reader = Json.createReader(new StringReader(line))) {
+                strings.add(reader.readObject().getString("value"));
+            }
+        }
+        try (JsonReader reader = Json.createReader(new StringReader(lines.get(lines.size() - 1)))) {
+            assertEquals("a\"b\\c", strings.get(reader.readObject().getInt("c")));
+        }
+    }
+
+    /**
+     * Test the NDJSON trees written to the same output are delimited, with their own ids and string indexes
+     */
+    public void testTreeNdjsonSeveralTrees() throws IOException {
+        StringWriter writer = new StringWriter();
+        for (String artifactId : new String[] {"first", "second"}) {
+            Artifact artifact = this.stubFactory.createArtifact("testGroupId", artifactId, "1.0");
+            DefaultDependencyNode node = new DefaultDependencyNode(artifact);
+            node.setChildren(new ArrayList<>());
+            node.accept(new NdjsonDependencyNodeVisitor(writer));
+        }
+
+        System.setProperty("jakarta.json.provider", "org.glassfish.json.JsonProviderImpl");
+        List<String> trees = new ArrayList<>();
+        List<String> strings = new ArrayList<>();
+        for (String line : writer.toString().split("\\R")) {
+            try (JsonReader reader = Json.createReader(new StringReader(line))) {
+                JsonObject object = reader.readObject();
+                if (object.containsKey("tree")) {
+                    trees.add(object.getString("tree"));
+                    strings.clear();
+                } else if (object.containsKey("string")) {
+                    assertEquals(strings.size(), object.getInt("string"));
+                    strings.add(object.getString("value"));
+                } else {
+                    assertEquals(0, object.getInt("id"));
+                    assertEquals(
+                            trees.get(trees.size() - 1),
+                            strings.get(object.getInt("g")) + ":" + strings.get(object.getInt("a")) + ":"
+                                    + strings.get(object.getInt("v")));
+                }
+            }
+        }
+        assertEquals(Arrays.asList("testGroupId:first:1.0", "testGroupId:second:1.0"), trees);
+    }
+
+    /**
+     * Test the dependency graph is reused from the cache until the dependencies change
+     */
+    public void testTreeGraphCache() throws Exception {
+        File testPom = new File(getBasedir(), "target/test-classes/unit/tree-test/plugin-config.xml");
+        File outputFile = new File(testDir, "tree-cached.txt");
+        File cacheFile = new File(testDir, "dependency-graph.cache");
+        TreeMojo mojo = (TreeMojo) lookupMojo("tree", testPom);
+        setVariableValueToObject(mojo, "outputEncoding", "UTF-8");
+        setVariableValueToObject(mojo, "outputFile", outputFile);
+        setVariableValueToObject(mojo, "graphCache", true);
+        setVariableValueToObject(mojo, "graphCacheFile", cacheFile);
+
+        MavenProject project = mojo.getProject();
+        project.setArtifact(this.stubFactory.createArtifact("testGroupId", "project", "1.0"));
+        Set<Artifact> artifacts = this.stubFactory.getScopedArtifacts();
+        Set<Artifact> directArtifacts = this.stubFactory.getReleaseAndSnapshotArtifacts();
+        artifacts.addAll(directArtifacts);
+        project.setArtifacts(artifacts);
+        project.setDependencyArtifacts(directArtifacts);
+
+        mojo.execute();
+        assertTrue(cacheFile.isFile());
+        List<String> expected = Files.readAllLines(outputFile.toPath());
+
+        DependencyGraphBuilder failingBuilder = mock(DependencyGraphBuilder.class);
+        when(failingBuilder.buildDependencyGraph(any(), any()))
+                .thenThrow(new DependencyGraphBuilderException("graph is not cached"));
+        setVariableValueToObject(mojo, "dependencyGraphBuilder", failingBuilder);
+
+        mojo.execute();
+        assertEquals(expected, Files.readAllLines(outputFile.toPath()));
+
+        setVariableValueToObject(mojo, "scope", "compile");
+        try {
+            mojo.execute();
+            fail("graph should be rebuilt when options change");
+        } catch (MojoExecutionException e) {
+            assertEquals("graph is not cached", e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Test the fingerprint of the dependency graph changes with the dependencies of the project and of the reactor
+     * projects it depends on
+     */
+    public void testTreeGraphFingerprint() {
+        MavenProject project = createProject("project", "module");
+        MavenProject module = createProject("module", "release");
+        MavenProject other = createProject("other", "snapshot");
+        List<MavenProject> reactor = Arrays.asList(project, module, other);
+
+        String fingerprint = DependencyGraphCache.getFingerprint(project, reactor, "");
+        assertEquals(fingerprint, DependencyGraphCache.getFingerprint(project, reactor, ""));
+        assertFalse(fingerprint.equals(DependencyGraphCache.getFingerprint(project, reactor, "verbose")));
+
+        other.getDependencies().get(0).setVersion("2.0");
+        assertEquals(fingerprint, DependencyGraphCache.getFingerprint(project, reactor, ""));
+
+        module.getDependencies().get(0).setVersion("2.0");
+        String changed = DependencyGraphCache.getFingerprint(project, reactor, "");
+        assertFalse(fingerprint.equals(changed));
+
+        Dependency managed = new Dependency();
+        managed.setGroupId("testGroupId");
+        managed.setArtifactId("release");
+        managed.setVersion("3.0");
+        project.getModel().setDependencyManagement(new DependencyManagement());
+        project.getModel().getDependencyManagement().addDependency(managed);
+        assertFalse(changed.equals(DependencyGraphCache.getFingerprint(project, reactor, "")));
+    }
+
+    private static MavenProject createProject(String artifactId, String dependencyArtifactId) {
+        Model model = new Model();
+        model.setGroupId("testGroupId");
+        model.setArtifactId(artifactId);
+        model.setVersion("1.0");
+        Dependency dependency = new Dependency();
+        dependency.setGroupId("testGroupId");
+        dependency.setArtifactId(dependencyArtifactId);
+        dependency.setVersion("1.0");
+        model.addDependency(dependency);
+        return new MavenProject(model);
+    }
+
+    /**
+     * Test the aggregated tree lists the dependencies shared by the reactor projects once
+     */
+    public void testTreeAggregate() throws Exception {
+        File outputFile = new File(testDir, "tree-aggregate.txt");
+        // the first tree overwrites the file, the next ones are appended
+        Files.write(outputFile.toPath(), Collections.singletonList("stale"));
+        TreeAggregateMojo mojo = runTreeAggregateMojo(outputFile, "text");
+
+        List<String> contents = Files.readAllLines(outputFile.toPath());
+        assertEquals(
+                Arrays.asList(
+                        "testGroupId:module1:jar:1.0:compile",
+                        "+- testGroupId:lib-a:jar:1.0:compile",
+                        "|  \\- testGroupId:lib-c:jar:1.0:compile",
+                        "\\- testGroupId:lib-b:jar:1.0:compile",
+                        "testGroupId:module2:jar:1.0:compile",
+                        "\\- testGroupId:lib-a:jar:1.0:compile" + SubtreeDeduplicator.OMITTED),
+                contents);
+        assertEquals("module2", mojo.getDependencyGraph().getArtifact().getArtifactId());
+    }
+
+    /**
+     * Test the aggregated NDJSON trees list the shared dependencies in full, as they cannot mark omitted ones
+     */
+    public void testTreeAggregateNdjson() throws Exception {
+        File outputFile = new File(testDir, "tree-aggregate.ndjson");
+        runTreeAggregateMojo(outputFile, "ndjson");
+
+        List<String> contents = Files.readAllLines(outputFile.toPath());
+        assertEquals(
+                2,
+                contents.stream().filter(line -> line.startsWith("{\"tree\":")).count());
+        // lib-c is listed under lib-a in both trees
+        assertEquals(
+                2,
+                contents.stream()
+                        .filter(line -> line.startsWith("{\"id\":2,\"parent\":1,"))
+                        .count());
+        assertFalse(String.join("\n", contents).contains(SubtreeDeduplicator.OMITTED));
+    }
+
+    private TreeAggregateMojo runTreeAggregateMojo(File outputFile, String outputType) throws Exception {
+        File testPom = new File(getBasedir(), "target/test-classes/unit/tree-test/plugin-config.xml");
+        TreeAggregateMojo mojo = (TreeAggregateMojo) lookupMojo("tree-aggregate", testPom);
+        setVariableValueToObject(mojo, "outputEncoding", "UTF-8");
+        setVariableValueToObject(mojo, "outputFile", outputFile);
+        setVariableValueToObject(mojo, "outputType", outputType);
+
+        MavenProject module1 = createProject("module1", "lib-a");
+        MavenProject module2 = createProject("module2", "lib-a");
+        setVariableValueToObject(mojo, "reactorProjects", Arrays.asList(module1, module2));
+
+        DependencyNode graph1 = createNode(null, "module1");
+        createNode(createNode(graph1, "lib-a"), "lib-c");
+        createNode(graph1, "lib-b");
+        DependencyNode graph2 = createNode(null, "module2");
+        createNode(createNode(graph2, "lib-a"), "lib-c");
+
+        DependencyGraphBuilder builder = mock(DependencyGraphBuilder.class);
+        when(builder.buildDependencyGraph(any(), any())).thenAnswer(invocation -> {
+            // the graphs are built without holding the lock of the output file
+            assertFalse(Thread.holdsLock(DependencyUtil.getFileLock(outputFile)));
+            return invocation.getArgument(0, ProjectBuildingRequest.class).getProject() == module1 ? graph1 : graph2;
+        });
+        setVariableValueToObject(mojo, "dependencyGraphBuilder", builder);
+
+        mojo.execute();
+        assertSame(graph2, mojo.getDependencyGraph());
+        return mojo;
+    }
+
+    /**
+     * Test the text serialization in a single pass gives the same tree as the serializer of maven-dependency-tree
+     * applied on a copy of the filtered tree.
+     */
+    public void testTreeTextSerializingInSinglePass() throws IOException {
+        DependencyNode root = createNode(null, "root");
+        DependencyNode a = createNode(root, "a");
+        DependencyNode a1 = createNode(a, "a1");
+        createNode(a, "a2");
+        createNode(root, "b");
+        DependencyNode c = createNode(root, "c");
+        DependencyNode c1 = createNode(c, "c1");
+        DependencyNode c1x = createNode(c1, "c1x");
+        createNode(c, "c2");
+
+        for (GraphTokens tokens : Arrays.asList(
+                SerializingDependencyNodeVisitor.STANDARD_TOKENS,
+                SerializingDependencyNodeVisitor.WHITESPACE_TOKENS,
+                SerializingDependencyNodeVisitor.EXTENDED_TOKENS)) {
+            assertEquals(serializeWithCopy(root, tokens, null), serializeInSinglePass(root, tokens, null));
+
+            DependencyNodeFilter filter = new AncestorOrSelfDependencyNodeFilter(Arrays.asList(a1, c1x));
+            String expected = serializeWithCopy(root, tokens, filter);
+            assertEquals(expected, serializeInSinglePass(root, tokens, filter));
+            assertFalse(expected.contains("a2"));
+            assertFalse(expected.contains(":b:"));
+        }
+    }
+
+    /**
+     * Test the precompiled patterns match the same artifacts as the strict pattern filters.
+     */
+    public void testTreeArtifactPatternFilter() throws IOException {
+        List<Artifact> artifacts = Arrays.asList(
+                this.stubFactory.createArtifact("org.example", "foo-api", "1.0"),
+                this.stubFactory.createArtifact("org.example", "foo-impl", "2.1-SNAPSHOT"),
+                this.stubFactory.createArtifact("org.example.other", "bar", "1.5", null, "pom", null),
+                this.stubFactory.createArtifact("com.example", "baz", "3.0", null, "war", null));
+        List<String> patterns = Arrays.asList(
+                "org.example",
+                "org.example:*",
+                "*.example:foo*",
+                "*example*:*:pom",
+                "::war",
+                ":*-api",
+                "*:*:*:[1.0,2.0)",
+                "*:*:*:(,bad",
+                "*:*:*:2.1-SNAPSHOT",
+                "org.example:foo-impl:jar:2.1-SNAPSHOT:compile",
+                "com.*:baz");
+
+        for (String pattern : patterns) {
+            List<String> list = Arrays.asList(pattern);
+            ArtifactFilter included = new ArtifactPatternFilter(list, null);
+            ArtifactFilter excluded = new ArtifactPatternFilter(null, list);
+            for (Artifact artifact : artifacts) {
+                assertEquals(
+                        pattern + " includes " + artifact,
+                        new StrictPatternIncludesArtifactFilter(list).include(artifact),
+                        included.include(artifact));
+                assertEquals(
+                        pattern + " excludes " + artifact,
+                        new StrictPatternExcludesArtifactFilter(list).include(artifact),
+                        excluded.include(artifact));
+            }
+        }
+
+        ArtifactFilter filter =
+                new ArtifactPatternFilter(Arrays.asList("org.example*"), Arrays.asList(":foo-impl", "::pom"));
+        assertTrue(filter.include(artifacts.get(0)));
+        assertFalse(filter.include(artifacts.get(1)));
+        assertFalse(filter.include(artifacts.get(2)));
+        assertFalse(filter.include(artifacts.get(3)));
+    }
+
+    /**
+     * Test the pruning filter keeps the same nodes as the ancestors of the matching nodes.
+     */
+    public void testTreePruningFilter() throws IOException {
+        DependencyNode root = createNode(null, "root");
+        DependencyNode a = createNode(root, "a");
+        DependencyNode a1 = createNode(a, "match-a1");
+        DependencyNode a2 = createNode(a, "a2");
+        DependencyNode b = createNode(root, "b");
+        DependencyNode c = createNode(root, "match-c");
+        DependencyNode c1 = createNode(c, "c1");
+        DependencyNode c1x = createNode(c1, "match-c1x");
+
+        DependencyNodeFilter matches =
+                new ArtifactDependencyNodeFilter(new ArtifactPatternFilter(Arrays.asList(":match-*"), null));
+        PruningDependencyNodeFilter filter = new PruningDependencyNodeFilter(root, matches);
+        DependencyNodeFilter expected = new AncestorOrSelfDependencyNodeFilter(Arrays.asList(a1, c, c1x));
+
+        for (DependencyNode node : Arrays.asList(root, a, a1, a2, b, c, c1, c1x)) {
+            assertEquals(node.toNodeString(), expected.accept(node), filter.accept(node));
+        }
+        assertFalse(filter.accept(a2));
+        assertTrue(filter.accept(c1));
+    }
+
+    private DependencyNode createNode(DependencyNode parent, String artifactId) throws IOException {
+        Artifact artifact = this.stubFactory.createArtifact("testGroupId", artifactId, "1.0");
+        DefaultDependencyNode node = new DefaultDependencyNode(parent, artifact, null, null, null);
+        node.setChildren(new ArrayList<>());
+        if (parent != null) {
+            parent.getChildren().add(node);
+        }
+        return node;
+    }
+
+    private static String serializeWithCopy(DependencyNode root, GraphTokens tokens, DependencyNodeFilter filter) {
+        StringWriter writer = new StringWriter();
+        DependencyNodeVisitor visitor =
+                new BuildingDependencyNodeVisitor(new SerializingDependencyNodeVisitor(writer, tokens));
+        if (filter != null) {
+            visitor = new FilteringDependencyNodeVisitor(visitor, filter);
+        }
+        root.accept(visitor);
+        return writer.toString();
+    }
+
+    private static String serializeInSinglePass(DependencyNode root, GraphTokens tokens, DependencyNodeFilter filter) {
+        StringWriter writer = new StringWriter();
+        TextDependencyNodeVisitor serializer = new TextDependencyNodeVisitor(writer, tokens);
+        DependencyNodeVisitor visitor = serializer;
+        if (filter != null) {
+            serializer.setNodeFilter(filter);
+            visitor = new FilteringDependencyNodeVisitor(visitor, filter);
+        }
+        root.accept(visitor);
+        return writer.toString();
+    }
+
     /**
      * Help finding content in the given list of string
      *
@@ -20,13 +20,24 @@ package org.apache.maven.plugins.dependency.utils;
 
 import javax.inject.Provider;
 
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.stream.Stream;
 
 import org.apache.maven.execution.MavenExecutionRequest;
 import org.apache.maven.execution.MavenSession;
+import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
 import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.repository.RepositoryPolicy;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.transfer.ArtifactNotFoundException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -39,11 +50,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.junit.jupiter.params.provider.Arguments.of;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class ResolverUtilTest {
 
+    @Mock
+    private RepositorySystem repositorySystem;
+
     @Mock
     private MavenExecutionRequest executionRequest;
 
@@ -105,4 +121,30 @@ class ResolverUtilTest {
                 .isExactlyInstanceOf(NullPointerException.class)
                 .hasMessage("repository must be not null");
     }
+
+    @Test
+    void resolveArtifactsReturnsEveryResult() throws Exception {
+        when(sessionProvider.get()).thenReturn(mavenSession);
+        when(mavenSession.getRepositorySession()).thenReturn(repositorySystemSession);
+
+        Artifact found = new DefaultArtifact("org.example:found:1.0");
+        Artifact missing = new DefaultArtifact("org.example:missing:1.0");
+        when(repositorySystem.resolveArtifacts(any(), anyList())).thenAnswer(invocation -> {
+            List<ArtifactRequest> requests = invocation.getArgument(1);
+            assertThat(requests).hasSize(2);
+            ArtifactResult foundResult = new ArtifactResult(requests.get(0));
+            foundResult.setArtifact(found.setFile(new File("found-1.0.jar")));
+            ArtifactResult missingResult = new ArtifactResult(requests.get(1));
+            missingResult.addException(new ArtifactNotFoundException(missing, null));
+            throw new ArtifactResolutionException(Arrays.asList(foundResult, missingResult));
+        });
+
+        List<ArtifactResult> results =
+                resolverUtil.resolveArtifacts(Arrays.asList(found, missing), Collections.emptyList());
+
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0).isResolved()).isTrue();
+        assertThat(results.get(1).isResolved()).isFalse();
+        assertThat(results.get(1).getRequest().getArtifact()).isEqualTo(missing);
+    }
 }
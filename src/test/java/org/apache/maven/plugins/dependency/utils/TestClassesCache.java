@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TestClassesCache {
+
+    @TempDir
+    File tempDir;
+
+    private static void createJar(File jar, String className) throws IOException {
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(jar.toPath()))) {
+            zip.putNextEntry(new ZipEntry(className.replace('.', '/') + ".class"));
+            zip.write(className.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+            zip.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+            zip.closeEntry();
+        }
+    }
+
+    @Test
+    void scansOnlyNewOrChangedJars() throws IOException {
+        File jar = new File(tempDir, "test.jar");
+        File cacheFile = new File(tempDir, "cache/classes.cache");
+        createJar(jar, "org.example.Foo");
+
+        ClassesCache cache = new ClassesCache(cacheFile);
+        cache.load();
+        assertEquals(
+                Arrays.asList("org.example.Foo"),
+                new ArrayList<>(cache.getClassChecksums(jar).keySet()));
+        assertEquals(1, cache.getScanned());
+        cache.save();
+
+        // unchanged
+        cache = new ClassesCache(cacheFile);
+        cache.load();
+        assertEquals(
+                Arrays.asList("org.example.Foo"),
+                new ArrayList<>(cache.getClassChecksums(jar).keySet()));
+        assertEquals(0, cache.getScanned());
+
+        // touched: the central directory is read again rather than the whole jar digested
+        jar.setLastModified(jar.lastModified() + 60000);
+        cache.getClassChecksums(jar);
+        assertEquals(1, cache.getScanned());
+        cache.save();
+
+        // changed
+        createJar(jar, "org.example.Bar");
+        jar.setLastModified(jar.lastModified() + 120000);
+        cache = new ClassesCache(cacheFile);
+        cache.load();
+        assertEquals(
+                Arrays.asList("org.example.Bar"),
+                new ArrayList<>(cache.getClassChecksums(jar).keySet()));
+        assertEquals(1, cache.getScanned());
+    }
+
+    @Test
+    void mergesConcurrentSaves() throws IOException {
+        File foo = new File(tempDir, "foo.jar");
+        File bar = new File(tempDir, "bar.jar");
+        File cacheFile = new File(tempDir, "cache/classes.cache");
+        createJar(foo, "org.example.Foo");
+        createJar(bar, "org.example.Bar");
+
+        // two builds load the same cache, each scans its own jar
+        ClassesCache first = new ClassesCache(cacheFile);
+        first.load();
+        ClassesCache second = new ClassesCache(cacheFile);
+        second.load();
+        first.getClassChecksums(foo);
+        second.getClassChecksums(bar);
+        first.save();
+        second.save();
+
+        ClassesCache cache = new ClassesCache(cacheFile);
+        cache.load();
+        cache.getClassChecksums(foo);
+        cache.getClassChecksums(bar);
+        assertEquals(0, cache.getScanned());
+    }
+
+    @Test
+    void cachesInMemoryWithoutFile() throws IOException {
+        File jar = new File(tempDir, "test.jar");
+        createJar(jar, "org.example.Foo");
+
+        ClassesCache cache = new ClassesCache(null);
+        cache.load();
+        cache.getClassChecksums(jar);
+        cache.getClassChecksums(jar);
+        cache.save();
+        assertEquals(1, cache.getScanned());
+        assertEquals(Arrays.asList("test.jar"), Arrays.asList(tempDir.list()));
+    }
+
+    @Test
+    void unreadableCache() throws IOException {
+        File cacheFile = new File(tempDir, "classes.cache");
+        Files.write(cacheFile.toPath(), "not a cache".getBytes(StandardCharsets.UTF_8));
+
+        ClassesCache cache = new ClassesCache(cacheFile);
+        assertThrows(IOException.class, cache::load);
+
+        File jar = new File(tempDir, "test.jar");
+        createJar(jar, "org.example.Foo");
+        assertEquals(1, cache.getClassChecksums(jar).size());
+    }
+}
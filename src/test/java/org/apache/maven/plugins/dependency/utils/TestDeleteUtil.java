@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestDeleteUtil {
+
+    @TempDir
+    File tempDir;
+
+    private File createFile(String path, int size) throws IOException {
+        File file = new File(tempDir, path);
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.write(file.toPath(), new byte[size]);
+        return file;
+    }
+
+    @Test
+    void removesNestedTargets() {
+        File group = new File(tempDir, "org/example");
+        File artifact = new File(group, "foo");
+        File other = new File(tempDir, "org/other/bar");
+
+        assertEquals(
+                Arrays.asList(group.toPath(), other.toPath()),
+                DeleteUtil.removeNested(Arrays.asList(new File(artifact, "1.0"), other, artifact, group, group)));
+    }
+
+    @Test
+    void deletesTargetsAndReportsFreedSpace() throws Exception {
+        createFile("org/example/foo/1.0/foo-1.0.jar", 100);
+        createFile("org/example/foo/1.0/foo-1.0.pom", 10);
+        createFile("org/example/bar/2.0/bar-2.0.jar", 1000);
+        File kept = createFile("org/other/baz/1.0/baz-1.0.jar", 1);
+        File single = createFile("org/single/qux/1.0/qux-1.0.jar", 5);
+
+        DeleteUtil.Result result = DeleteUtil.delete(
+                Arrays.asList(
+                        new File(tempDir, "org/example/foo/1.0"),
+                        new File(tempDir, "org/example"),
+                        single,
+                        new File(tempDir, "org/missing")),
+                4);
+
+        assertEquals(4, result.getFiles());
+        assertEquals(1115, result.getBytes());
+        assertTrue(result.getFailures().isEmpty());
+        assertFalse(new File(tempDir, "org/example").exists());
+        assertFalse(single.exists());
+        assertTrue(single.getParentFile().isDirectory());
+        assertTrue(kept.isFile());
+    }
+
+    @Test
+    void deletesSequentially() throws Exception {
+        createFile("org/example/foo/1.0/foo-1.0.jar", 100);
+
+        DeleteUtil.Result result = DeleteUtil.delete(Collections.singletonList(new File(tempDir, "org/example")), 1);
+
+        assertEquals(1, result.getFiles());
+        assertEquals(100, result.getBytes());
+        assertFalse(new File(tempDir, "org/example").exists());
+    }
+
+    @Test
+    void formatsSize() {
+        assertEquals("512 B", DeleteUtil.formatSize(512));
+        assertEquals("1.5 kB", DeleteUtil.formatSize(1536));
+        assertEquals("60.0 GB", DeleteUtil.formatSize(60L * 1024 * 1024 * 1024));
+    }
+}
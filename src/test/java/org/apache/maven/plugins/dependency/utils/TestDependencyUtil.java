@@ -343,4 +343,14 @@ class TestDependencyUtil {
         DependencyUtil.write(TEST_CONTENT, file, true, "UTF-8");
         assertThat(file).hasContent(TEST_CONTENT + TEST_CONTENT);
     }
+
+    @Test
+    void fileLockIsSharedByThePathsOfTheSameFile() {
+        File file = new File(temDir, "file3.out");
+        File samePath = new File(new File(temDir, "sub/.."), "file3.out");
+
+        assertThat(DependencyUtil.getFileLock(samePath)).isSameAs(DependencyUtil.getFileLock(file));
+        assertThat(DependencyUtil.getFileLock(new File(temDir, "file4.out")))
+                .isNotSameAs(DependencyUtil.getFileLock(file));
+    }
 }
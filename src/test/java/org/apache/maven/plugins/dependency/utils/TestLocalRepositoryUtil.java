@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.maven.plugins.dependency.utils.LocalRepositoryUtil.VersionDirectory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TestLocalRepositoryUtil {
+
+    @TempDir
+    File tempDir;
+
+    private void createFile(String path, int size, long lastModified, long lastAccess) throws IOException {
+        Path file = tempDir.toPath().resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, new byte[size]);
+        Files.getFileAttributeView(file, BasicFileAttributeView.class)
+                .setTimes(FileTime.fromMillis(lastModified), FileTime.fromMillis(lastAccess), null);
+    }
+
+    private Path path(String path) {
+        return tempDir.toPath().toAbsolutePath().normalize().resolve(path);
+    }
+
+    private List<VersionDirectory> scan() throws Exception {
+        createFile("org/example/foo/1.0/foo-1.0.jar", 100, 1000, 1000);
+        createFile("org/example/foo/1.0/foo-1.0.pom", 10, 1000, 5000);
+        createFile("org/example/foo/2.0/foo-2.0.jar", 200, 2000, 2000);
+        createFile("org/example/foo/maven-metadata-central.xml", 1, 9000, 9000);
+        createFile("org/example/bar/1.0/bar-1.0.jar", 1000, 3000, 3000);
+        createFile("org/example/gone/maven-metadata-local.xml", 1, 9000, 9000);
+        createFile(".cache/maven-dependency-plugin/analyze-classes.cache", 1, 0, 0);
+
+        List<VersionDirectory> versions = LocalRepositoryUtil.scan(tempDir, 2, new DependencySilentLog());
+        versions.sort(Comparator.comparing(VersionDirectory::getPath));
+        return versions;
+    }
+
+    @Test
+    void scansVersionDirectories() throws Exception {
+        List<VersionDirectory> versions = scan();
+
+        assertEquals(
+                Arrays.asList(path("org/example/bar/1.0"), path("org/example/foo/1.0"), path("org/example/foo/2.0")),
+                versions.stream().map(VersionDirectory::getPath).collect(Collectors.toList()));
+        assertEquals(
+                Arrays.asList(1000L, 110L, 200L),
+                versions.stream().map(VersionDirectory::getSize).collect(Collectors.toList()));
+        // the latest access or modification time
+        assertEquals(
+                Arrays.asList(3000L, 5000L, 2000L),
+                versions.stream().map(VersionDirectory::getLastUsed).collect(Collectors.toList()));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedVersions() throws Exception {
+        List<VersionDirectory> versions = scan();
+
+        assertEquals(
+                Collections.emptyList(), LocalRepositoryUtil.selectEvictions(versions, 1310, Collections.emptySet()));
+        assertEquals(
+                Arrays.asList(path("org/example/foo/2.0"), path("org/example/bar/1.0")),
+                LocalRepositoryUtil.selectEvictions(versions, 300, Collections.emptySet()).stream()
+                        .map(VersionDirectory::getPath)
+                        .collect(Collectors.toList()));
+        // a protected version is kept, even if the budget is exceeded
+        assertEquals(
+                Arrays.asList(path("org/example/foo/2.0"), path("org/example/foo/1.0")),
+                LocalRepositoryUtil.selectEvictions(versions, 0, Collections.singleton(path("org/example/bar/1.0")))
+                        .stream()
+                        .map(VersionDirectory::getPath)
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    void parsesSizes() {
+        assertEquals(512, LocalRepositoryUtil.parseSize("512"));
+        assertEquals(2048, LocalRepositoryUtil.parseSize("2k"));
+        assertEquals(3L * 1024 * 1024, LocalRepositoryUtil.parseSize("3 MB"));
+        assertEquals(40L * 1024 * 1024 * 1024, LocalRepositoryUtil.parseSize("40G"));
+        assertThrows(IllegalArgumentException.class, () -> LocalRepositoryUtil.parseSize("lots"));
+        assertThrows(IllegalArgumentException.class, () -> LocalRepositoryUtil.parseSize("-1G"));
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.utils;
+
+import java.io.Writer;
+
+import org.apache.maven.plugin.logging.Log;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+class TestLogWriter {
+
+    @Test
+    void logsCompleteLinesOnly() throws Exception {
+        Log log = mock(Log.class);
+
+        Writer writer = new LogWriter(log);
+        writer.write("first line\r\nsecond");
+        verify(log).info("first line");
+        verify(log, never()).info("second");
+
+        writer.write(" line\n\nthird");
+        writer.flush();
+        verify(log, never()).info("third");
+        writer.close();
+
+        InOrder inOrder = inOrder(log);
+        inOrder.verify(log).info("first line");
+        inOrder.verify(log).info("second line");
+        inOrder.verify(log).info("");
+        inOrder.verify(log).info("third");
+        verifyNoMoreInteractions(log);
+    }
+
+    @Test
+    void logsSameLinesAsDependencyUtil() throws Exception {
+        String text = "a\nb\r\n\nc\n";
+        Log expected = mock(Log.class);
+        Log actual = mock(Log.class);
+
+        DependencyUtil.log(text, expected);
+        try (Writer writer = new LogWriter(actual)) {
+            for (char c : text.toCharArray()) {
+                writer.write(c);
+            }
+        }
+
+        InOrder inOrder = inOrder(expected, actual);
+        for (String line : new String[] {"a", "b", "", "c"}) {
+            inOrder.verify(expected).info(line);
+        }
+        for (String line : new String[] {"a", "b", "", "c"}) {
+            inOrder.verify(actual).info(line);
+        }
+        verifyNoMoreInteractions(expected, actual);
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.maven.plugins.dependency.utils.ModuleUtil.ModuleDescriptor;
+import org.codehaus.plexus.util.IOUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestModuleUtil {
+
+    @TempDir
+    File tempDir;
+
+    private static void createJar(File jar, Map<String, byte[]> entries) throws IOException {
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(jar.toPath()))) {
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue());
+                zip.closeEntry();
+            }
+        }
+    }
+
+    private static byte[] manifest(String... attributes) {
+        StringBuilder manifest = new StringBuilder("Manifest-Version: 1.0\r\n");
+        for (String attribute : attributes) {
+            manifest.append(attribute).append("\r\n");
+        }
+        return manifest.append("\r\n").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the module-info.class of the JUnit API, an explicit module
+     */
+    private static byte[] junitModuleInfo() throws Exception {
+        File junitJar = new File(
+                Test.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        try (ZipFile zipFile = new ZipFile(junitJar);
+                InputStream in = zipFile.getInputStream(zipFile.getEntry("module-info.class"))) {
+            return IOUtil.toByteArray(in);
+        }
+    }
+
+    @Test
+    void explicitModule() throws Exception {
+        File junitJar = new File(
+                Test.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+
+        ModuleDescriptor descriptor = ModuleUtil.getModuleDescriptor(junitJar);
+
+        assertEquals("org.junit.jupiter.api", descriptor.getName());
+        assertFalse(descriptor.isAutomatic());
+        assertNull(descriptor.getError());
+    }
+
+    @Test
+    void versionedModuleInfo() throws Exception {
+        File jar = new File(tempDir, "versioned-1.0.jar");
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("META-INF/MANIFEST.MF", manifest("Multi-Release: true"));
+        entries.put("org/example/Foo.class", new byte[0]);
+        entries.put("META-INF/versions/9/module-info.class", junitModuleInfo());
+        createJar(jar, entries);
+
+        ModuleDescriptor descriptor = ModuleUtil.getModuleDescriptor(jar);
+
+        assertEquals("org.junit.jupiter.api", descriptor.getName());
+        assertFalse(descriptor.isAutomatic());
+    }
+
+    @Test
+    void automaticModuleFromManifest() throws Exception {
+        File jar = new File(tempDir, "whatever-1.0.jar");
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("META-INF/MANIFEST.MF", manifest("Automatic-Module-Name: org.example.foo"));
+        entries.put("org/example/Foo.class", new byte[0]);
+        createJar(jar, entries);
+
+        ModuleDescriptor descriptor = ModuleUtil.getModuleDescriptor(jar);
+
+        assertEquals("org.example.foo", descriptor.getName());
+        assertTrue(descriptor.isAutomatic());
+        assertEquals(ModuleUtil.MANIFEST, descriptor.getModuleNameSource());
+    }
+
+    @Test
+    void automaticModuleFromFileName() throws Exception {
+        File jar = new File(tempDir, "foo-bar_baz-1.2.3-SNAPSHOT.jar");
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("org/example/Foo.class", new byte[0]);
+        createJar(jar, entries);
+
+        ModuleDescriptor descriptor = ModuleUtil.getModuleDescriptor(jar);
+
+        assertEquals("foo.bar.baz", descriptor.getName());
+        assertEquals(ModuleUtil.FILENAME, descriptor.getModuleNameSource());
+    }
+
+    @Test
+    void invalidModules() throws Exception {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("org/example/Foo.class", new byte[0]);
+        File invalidName = new File(tempDir, "geronimo-servlet_2.4_spec-1.1.1.jar");
+        createJar(invalidName, entries);
+
+        entries.put("Foo.class", new byte[0]);
+        File unnamedPackage = new File(tempDir, "unnamed-1.0.jar");
+        createJar(unnamedPackage, entries);
+
+        ModuleDescriptor descriptor = ModuleUtil.getModuleDescriptor(invalidName);
+        assertNull(descriptor.getName());
+        assertEquals(
+                "geronimo.servlet.2.4.spec: Invalid module name: '2' is not a Java identifier", descriptor.getError());
+
+        descriptor = ModuleUtil.getModuleDescriptor(unnamedPackage);
+        assertNull(descriptor.getName());
+        assertEquals(
+                "Foo.class found in top-level directory (unnamed package not allowed in module)",
+                descriptor.getError());
+    }
+
+    @Test
+    void notModules() throws Exception {
+        File pom = new File(tempDir, "foo-1.0.pom");
+        Files.write(pom.toPath(), "<project/>".getBytes(StandardCharsets.UTF_8));
+
+        assertNull(ModuleUtil.getModuleDescriptor(pom));
+        assertNull(ModuleUtil.getModuleDescriptor(tempDir));
+    }
+
+    @Test
+    void cacheReadsOnlyNewOrChangedJars() throws Exception {
+        File jar = new File(tempDir, "foo-1.0.jar");
+        File cacheFile = new File(tempDir, "cache/modules.cache");
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("org/example/Foo.class", new byte[0]);
+        createJar(jar, entries);
+
+        ModuleCache cache = new ModuleCache(cacheFile);
+        cache.load();
+        assertEquals("foo", cache.getModuleDescriptor(jar).getName());
+        assertEquals(1, cache.getScanned());
+        cache.save();
+
+        cache = new ModuleCache(cacheFile);
+        cache.load();
+        ModuleDescriptor descriptor = cache.getModuleDescriptor(jar);
+        assertEquals("foo", descriptor.getName());
+        assertEquals(ModuleUtil.FILENAME, descriptor.getModuleNameSource());
+        assertEquals(0, cache.getScanned());
+
+        entries.put("META-INF/MANIFEST.MF", manifest("Automatic-Module-Name: org.example.foo"));
+        createJar(jar, entries);
+        jar.setLastModified(jar.lastModified() + 60000);
+        assertEquals("org.example.foo", cache.getModuleDescriptor(jar).getName());
+        assertEquals(1, cache.getScanned());
+    }
+
+    @Test
+    void cacheMergesConcurrentSaves() throws Exception {
+        File foo = new File(tempDir, "foo-1.0.jar");
+        File bar = new File(tempDir, "bar-1.0.jar");
+        File cacheFile = new File(tempDir, "cache/modules.cache");
+        createJar(foo, Collections.singletonMap("org/example/Foo.class", new byte[0]));
+        createJar(bar, Collections.singletonMap("org/example/Bar.class", new byte[0]));
+
+        ModuleCache first = new ModuleCache(cacheFile);
+        first.load();
+        ModuleCache second = new ModuleCache(cacheFile);
+        second.load();
+        first.getModuleDescriptor(foo);
+        second.getModuleDescriptor(bar);
+        first.save();
+        second.save();
+
+        ModuleCache cache = new ModuleCache(cacheFile);
+        cache.load();
+        assertEquals("foo", cache.getModuleDescriptor(foo).getName());
+        assertEquals("bar", cache.getModuleDescriptor(bar).getName());
+        assertEquals(0, cache.getScanned());
+    }
+
+    @Test
+    void cacheEntriesDependOnRuntimeVersion() throws Exception {
+        File jar = new File(tempDir, "foo-1.0.jar");
+        File cacheFile = new File(tempDir, "cache/modules.cache");
+        createJar(jar, Collections.singletonMap("org/example/Foo.class", new byte[0]));
+
+        String javaVersion = System.getProperty("java.specification.version");
+        ModuleCache cache = new ModuleCache(cacheFile);
+        cache.load();
+        cache.getModuleDescriptor(jar);
+        cache.save();
+        try {
+            System.setProperty("java.specification.version", String.valueOf(ModuleUtil.getRuntimeVersion() + 1));
+            cache = new ModuleCache(cacheFile);
+            cache.load();
+            assertEquals("foo", cache.getModuleDescriptor(jar).getName());
+            assertEquals(1, cache.getScanned());
+        } finally {
+            System.setProperty("java.specification.version", javaVersion);
+        }
+    }
+}
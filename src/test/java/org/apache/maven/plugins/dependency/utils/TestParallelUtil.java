@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.utils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TestParallelUtil {
+
+    @Test
+    void returnsResultsInIterationOrder() throws Exception {
+        List<Integer> items = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+
+        List<Integer> results = ParallelUtil.apply(items, 4, "test", item -> item * 2);
+
+        assertEquals(items.stream().map(item -> item * 2).collect(Collectors.toList()), results);
+    }
+
+    @Test
+    void handsResultsInIterationOrder() throws Exception {
+        List<Integer> items = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        List<Integer> handled = new ArrayList<>();
+
+        ParallelUtil.apply(items, 4, "test", item -> item * 2, handled::add);
+
+        assertEquals(items.stream().map(item -> item * 2).collect(Collectors.toList()), handled);
+    }
+
+    @Test
+    void skipsPendingItemsAfterFailure() {
+        Set<Integer> started = ConcurrentHashMap.newKeySet();
+
+        ExecutionException e = assertThrows(
+                ExecutionException.class,
+                () -> ParallelUtil.apply(Arrays.asList(0, 1, 2, 3, 4, 5), 2, "test", item -> {
+                    started.add(item);
+                    if (item == 0) {
+                        throw new IOException("failure");
+                    }
+                    // runs until interrupted, once the failure has been reported
+                    Thread.sleep(60_000);
+                    return item;
+                }));
+
+        assertInstanceOf(IOException.class, e.getCause());
+        // the second worker may have started item 1 before the failure, none of the next items is started
+        started.remove(1);
+        assertEquals(Collections.singleton(0), started);
+    }
+
+    @Test
+    void neverReportsSkippedItems() {
+        List<Integer> items = IntStream.range(0, 64).boxed().collect(Collectors.toList());
+        for (int run = 0; run < 200; run++) {
+            // the items before the failing one may start after it failed: they must run, not be skipped
+            ExecutionException e = assertThrows(
+                    ExecutionException.class,
+                    () -> ParallelUtil.apply(items, 8, "test", item -> {
+                        if (item == 7) {
+                            throw new IOException("failure");
+                        }
+                        return item;
+                    }));
+
+            assertInstanceOf(IOException.class, e.getCause());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.utils;
+
+import org.codehaus.plexus.components.io.filemappers.FileMapper;
+import org.codehaus.plexus.components.io.filemappers.FlattenFileMapper;
+import org.codehaus.plexus.components.io.filemappers.PrefixFileMapper;
+import org.codehaus.plexus.components.io.filemappers.RegExpFileMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TestUnpackUtil {
+
+    private static RegExpFileMapper regExpMapper(String pattern, String replacement) {
+        RegExpFileMapper mapper = new RegExpFileMapper();
+        mapper.setPattern(pattern);
+        mapper.setReplacement(replacement);
+        return mapper;
+    }
+
+    @Test
+    void describesPlexusFileMappers() {
+        FileMapper[] mappers = {new FlattenFileMapper(), regExpMapper("^lib/", "")};
+
+        String configuration = UnpackUtil.getUnpackConfiguration("**/*.class", null, mappers);
+
+        assertEquals(configuration, UnpackUtil.getUnpackConfiguration("**/*.class", null, new FileMapper[] {
+            new FlattenFileMapper(), regExpMapper("^lib/", "")
+        }));
+        assertNotEquals(configuration, UnpackUtil.getUnpackConfiguration("**/*.class", null, new FileMapper[] {
+            new FlattenFileMapper(), regExpMapper("^lib/", "x/")
+        }));
+    }
+
+    @Test
+    void doesNotDescribeOtherFileMappers() {
+        FileMapper custom = name -> "custom/" + name;
+        PrefixFileMapper subclass = new PrefixFileMapper() {};
+
+        assertNull(UnpackUtil.getUnpackConfiguration(null, null, new FileMapper[] {custom}));
+        assertNull(UnpackUtil.getUnpackConfiguration(null, null, new FileMapper[] {subclass}));
+    }
+}
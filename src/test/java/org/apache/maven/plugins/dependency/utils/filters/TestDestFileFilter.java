@@ -20,6 +20,7 @@ package org.apache.maven.plugins.dependency.utils.filters;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -193,6 +194,61 @@ public class TestDestFileFilter {
         assertFalse(filter.isArtifactIncluded(artifact));
     }
 
+    @Test
+    public void testDestFileSymbolicLink() throws IOException, ArtifactFilterException {
+        DestFileFilter filter = new DestFileFilter(outputFolder);
+        filter.setOverWriteIfNewer(true);
+
+        fact.setCreateFiles(true);
+        Artifact artifact = fact.getReleaseArtifact();
+        File destFile = new File(outputFolder, DependencyUtil.getFormattedFileName(artifact, false));
+
+        // a link to the artifact file is up to date
+        Files.createSymbolicLink(destFile.toPath(), artifact.getFile().toPath());
+        assertFalse(filter.isArtifactIncluded(artifact));
+
+        // a link to another file follows the rules of a regular file, applied to the linked file
+        File otherFile = new File(outputFolder, "other.jar");
+        assertTrue(otherFile.createNewFile());
+        assertTrue(otherFile.setLastModified(artifact.getFile().lastModified() + 1000));
+        Files.delete(destFile.toPath());
+        Files.createSymbolicLink(destFile.toPath(), otherFile.toPath());
+        assertFalse(filter.isArtifactIncluded(artifact));
+
+        assertTrue(otherFile.setLastModified(artifact.getFile().lastModified() - 1000));
+        assertTrue(filter.isArtifactIncluded(artifact));
+
+        filter.setOverWriteIfNewer(false);
+        assertFalse(filter.isArtifactIncluded(artifact));
+
+        filter.setOverWriteReleases(true);
+        assertTrue(filter.isArtifactIncluded(artifact));
+    }
+
+    @Test
+    public void testDestFileCompareContent() throws IOException, ArtifactFilterException {
+        DestFileFilter filter = new DestFileFilter(outputFolder);
+        filter.setOverWriteIfNewer(true);
+        filter.setCompareContent(true);
+
+        fact.setCreateFiles(true);
+        Artifact artifact = fact.getReleaseArtifact();
+        File destFile = new File(outputFolder, DependencyUtil.getFormattedFileName(artifact, false));
+        Files.write(artifact.getFile().toPath(), new byte[] {1, 2, 3});
+        Files.copy(artifact.getFile().toPath(), destFile.toPath());
+
+        // the same content is up to date, whatever the timestamps
+        assertTrue(destFile.setLastModified(artifact.getFile().lastModified() - 10000));
+        assertFalse(filter.isArtifactIncluded(artifact));
+
+        // a different content of the same size is copied again, even if the copy is newer
+        byte[] content = Files.readAllBytes(artifact.getFile().toPath());
+        content[0]++;
+        Files.write(destFile.toPath(), content);
+        assertTrue(destFile.setLastModified(artifact.getFile().lastModified() + 10000));
+        assertTrue(filter.isArtifactIncluded(artifact));
+    }
+
     @Test
     public void testGettersSetters() {
         DestFileFilter filter = new DestFileFilter(null);
@@ -20,6 +20,8 @@ package org.apache.maven.plugins.dependency.utils.markers;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -128,6 +130,52 @@ public class TestDefaultMarkerFileHandler {
         assertFalse(handler.isMarkerSet());
     }
 
+    @Test
+    public void testMarkerDigest() throws MojoExecutionException, IOException {
+        File theFile = new File(outputFolder, "theFile.jar");
+        Files.write(theFile.toPath(), "content".getBytes(StandardCharsets.UTF_8));
+        Artifact theArtifact = artifacts.get(0);
+        theArtifact.setFile(theFile);
+        DefaultFileMarkerHandler handler = new DefaultFileMarkerHandler(theArtifact, this.outputFolder);
+        handler.setUseDigest(true);
+        handler.setConfiguration("includes=**/*.class");
+        assertFalse(handler.isMarkerSet());
+        assertTrue(handler.isMarkerOlder(theArtifact));
+
+        handler.setMarker();
+        assertTrue(handler.isMarkerSet());
+        assertFalse(handler.isMarkerOlder(theArtifact));
+
+        // a touched but unchanged artifact is still up to date
+        assertTrue(theFile.setLastModified(theFile.lastModified() + 60000));
+        handler = new DefaultFileMarkerHandler(theArtifact, this.outputFolder);
+        handler.setUseDigest(true);
+        handler.setConfiguration("includes=**/*.class");
+        assertTrue(handler.isMarkerSet());
+        assertFalse(handler.isMarkerOlder(theArtifact));
+
+        // another configuration needs another unpack
+        handler.setConfiguration("includes=**/*.properties");
+        assertFalse(handler.isMarkerSet());
+        assertTrue(handler.isMarkerOlder(theArtifact));
+
+        // so does a changed artifact of the same size
+        Files.write(theFile.toPath(), "CONTENT".getBytes(StandardCharsets.UTF_8));
+        handler = new DefaultFileMarkerHandler(theArtifact, this.outputFolder);
+        handler.setUseDigest(true);
+        handler.setConfiguration("includes=**/*.class");
+        assertFalse(handler.isMarkerSet());
+        assertTrue(handler.isMarkerOlder(theArtifact));
+
+        // a configuration which cannot be described never matches
+        handler.setMarker();
+        assertTrue(handler.isMarkerSet());
+        handler.setConfiguration(null);
+        assertFalse(handler.isMarkerSet());
+        handler.setMarker();
+        assertFalse(handler.isMarkerSet());
+    }
+
     @Test
     public void testMarkerFileException() {
         // this stub wraps the file with an object to throw exceptions
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.maven.plugins.dependency.utils.markers;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestIndexMarkerHandler {
+
+    @TempDir
+    File outputFolder;
+
+    private Artifact artifact;
+
+    private File indexFile;
+
+    @BeforeEach
+    protected void setUp() throws Exception {
+        artifact = new DefaultArtifact(
+                "test",
+                "1",
+                VersionRange.createFromVersion("1.1"),
+                Artifact.SCOPE_COMPILE,
+                "jar",
+                "",
+                new DefaultArtifactHandler(),
+                false);
+        File file = new File(outputFolder, "theFile.jar");
+        Files.write(file.toPath(), "content".getBytes(StandardCharsets.UTF_8));
+        artifact.setFile(file);
+        indexFile = new File(outputFolder, "markers/test.index");
+    }
+
+    private IndexMarkerHandler newHandler(MarkerIndex index, boolean useDigest) {
+        DefaultFileMarkerHandler handler = new DefaultFileMarkerHandler(artifact, new File(outputFolder, "markers"));
+        handler.setUseDigest(useDigest);
+        return new IndexMarkerHandler(handler, index);
+    }
+
+    @Test
+    public void testSetMarker() throws Exception {
+        MarkerIndex index = new MarkerIndex(indexFile);
+        IndexMarkerHandler handler = newHandler(index, false);
+        assertFalse(handler.isMarkerSet());
+        assertTrue(handler.isMarkerOlder(artifact));
+
+        handler.setMarker();
+        assertTrue(handler.isMarkerSet());
+        assertFalse(handler.isMarkerOlder(artifact));
+        // nothing is written before the index is saved
+        assertFalse(indexFile.exists());
+
+        index.save();
+        assertTrue(indexFile.exists());
+        assertEquals(1, indexFile.getParentFile().list().length);
+
+        index = new MarkerIndex(indexFile);
+        handler = newHandler(index, false);
+        assertTrue(handler.isMarkerSet());
+        assertTrue(artifact.getFile().setLastModified(artifact.getFile().lastModified() + 60000));
+        assertTrue(handler.isMarkerOlder(artifact));
+
+        assertTrue(handler.clearMarker());
+        assertFalse(handler.isMarkerSet());
+        assertFalse(handler.clearMarker());
+        index.save();
+        assertFalse(newHandler(new MarkerIndex(indexFile), false).isMarkerSet());
+    }
+
+    @Test
+    public void testMarkerDigest() throws Exception {
+        MarkerIndex index = new MarkerIndex(indexFile);
+        newHandler(index, true).setMarker();
+        index.save();
+
+        IndexMarkerHandler handler = newHandler(new MarkerIndex(indexFile), true);
+        assertTrue(artifact.getFile().setLastModified(artifact.getFile().lastModified() + 60000));
+        assertTrue(handler.isMarkerSet());
+        assertFalse(handler.isMarkerOlder(artifact));
+
+        Files.write(artifact.getFile().toPath(), "CONTENT".getBytes(StandardCharsets.UTF_8));
+        handler = newHandler(new MarkerIndex(indexFile), true);
+        assertFalse(handler.isMarkerSet());
+        assertTrue(handler.isMarkerOlder(artifact));
+    }
+
+    @Test
+    public void testIndexFilePerProject() {
+        File markers = new File(outputFolder, "markers");
+        MavenProject first = newProject("org.example", "first");
+        MavenProject second = newProject("org.example", "second");
+
+        File firstIndex = MarkerIndex.getIndexFile(markers, first, null);
+        assertEquals(firstIndex, MarkerIndex.getIndexFile(markers, newProject("org.example", "first"), null));
+        assertNotEquals(firstIndex, MarkerIndex.getIndexFile(markers, second, null));
+        assertNotEquals(firstIndex, MarkerIndex.getIndexFile(markers, newProject("org.other", "first"), null));
+    }
+
+    private static MavenProject newProject(String groupId, String artifactId) {
+        Model model = new Model();
+        model.setGroupId(groupId);
+        model.setArtifactId(artifactId);
+        return new MavenProject(model);
+    }
+}